@@ -0,0 +1,75 @@
+package org.deimos.projects.bloggingplatformapi.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Bloom filter over {@code long} keys, safe for concurrent use.
+ * <p>
+ * The bit array is sized from the expected number of keys and the target false positive rate, about 9.6 bits
+ * per key at 1%. Each key sets {@code k} bits derived from two 64-bit hashes of the key (double hashing), so
+ * adding or testing a key allocates nothing. Keys can be added but never removed.
+ */
+final class BloomFilter {
+
+    private static final LongBinaryOperator OR = (word, mask) -> word | mask;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(final long expectedKeys, final double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("The false positive rate must be in ]0, 1[: " + falsePositiveRate);
+        }
+
+        long keys = Math.max(1, expectedKeys);
+        long optimalBits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / keys * Math.log(2)));
+    }
+
+    void put(final long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            words.getAndAccumulate((int) (bit >>> 6), 1L << bit, OR);
+        }
+    }
+
+    boolean mightContain(final long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads sequential ids over the whole 64-bit range.
+     */
+    private static long mix(final long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,439 @@
+package org.deimos.projects.bloggingplatformapi.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.deimos.projects.bloggingplatformapi.configuration.DiskCacheProperties;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostVersion;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * {@link PostCache} persisting blog posts in an append-only, memory-mapped segment file, so a restarted
+ * node can serve hot posts straight from disk instead of hammering the database.
+ * <p>
+ * Record layout, all integers big-endian:
+ * <pre>
+ * int  bodyLength
+ * long id | byte type (PUT/TOMBSTONE) | long updatedAt (epoch millis) | long cachedAt (epoch millis) | payload
+ * int  crc32 of the body
+ * </pre>
+ * Crash consistency relies on the checksum: when the segment is opened, records are scanned from the start
+ * and the scan stops at the first incomplete or corrupted record. The file is truncated there, so a torn
+ * write can neither be served nor be mistaken for a valid record once new records are appended after it.
+ * <p>
+ * The positions of the live records are kept in an in-memory index, along with the tenant owning each post,
+ * read from the payload. Lookups are keyed by tenant and id: the post of another tenant is a miss, found
+ * without decoding the record. Entries recovered from disk are not
+ * served until {@link #validateRecoveredEntries()} checked them against the {@code updatedAt} stored in the
+ * database, and every entry expires after the configured time to live, which bounds the staleness of posts
+ * modified by other nodes. Superseded records are reclaimed by {@link #compact()}, which rewrites the live
+ * records into a new segment and atomically replaces the old one. Posts put while the segment is full are
+ * not cached, and counted in {@link #droppedPuts()}.
+ */
+@Slf4j
+public class DiskPostCache implements PostCache, AutoCloseable {
+
+    private static final byte PUT = 1;
+    private static final byte TOMBSTONE = 2;
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int BODY_HEADER_BYTES = Long.BYTES + Byte.BYTES + Long.BYTES + Long.BYTES;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+    private static final int RECORD_OVERHEAD = LENGTH_BYTES + BODY_HEADER_BYTES + CHECKSUM_BYTES;
+
+    private final Path path;
+    private final DiskCacheProperties properties;
+    private final BlogRepository blogRepository;
+    private final int capacity;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<Long, Entry> recovered = new ConcurrentHashMap<>();
+    private final Map<String, String> tenantIds = new ConcurrentHashMap<>();
+    private final AtomicLong droppedPuts = new AtomicLong();
+
+    private volatile Segment segment;
+
+    public DiskPostCache(final DiskCacheProperties properties, final BlogRepository blogRepository) {
+        this.path = properties.getPath();
+        this.properties = properties;
+        this.blogRepository = blogRepository;
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, properties.getCapacity().toBytes());
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            this.segment = recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open post cache segment " + path, e);
+        }
+    }
+
+    @Override
+    public Optional<BlogPostResponse> get(final String tenantId, final Long id) {
+        Segment current = segment;
+        Entry entry = current.index.get(id);
+        if (entry == null || !entry.tenantId().equals(tenantId) || isExpired(entry, System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+
+        byte[] payload = new byte[entry.length() - RECORD_OVERHEAD];
+        current.buffer.get(entry.offset() + LENGTH_BYTES + BODY_HEADER_BYTES, payload);
+
+        try {
+            return Optional.of(PostResponseCodec.decode(payload));
+        } catch (IOException e) {
+            log.warn("Discarding unreadable cache entry for post {}", id, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Appends the blog post to the segment. The call never waits for a running compaction: the post
+     * is simply not cached in that case.
+     */
+    @Override
+    public void put(final BlogPostResponse blogPostResponse) {
+        if (blogPostResponse.getId() == null || blogPostResponse.getTenantId() == null
+                || blogPostResponse.getUpdatedAt() == null || !writeLock.tryLock()) {
+            return;
+        }
+
+        try {
+            recovered.remove(blogPostResponse.getId());
+            append(segment, blogPostResponse.getId(), PUT, blogPostResponse.getUpdatedAt().toEpochMilli(),
+                    System.currentTimeMillis(), PostResponseCodec.encode(blogPostResponse),
+                    canonicalTenantId(blogPostResponse.getTenantId()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a tombstone for the blog post. Unlike {@link #put}, eviction always waits for the lock,
+     * so an evicted post can never be served again.
+     */
+    @Override
+    public void evict(final Long id) {
+        writeLock.lock();
+        try {
+            recovered.remove(id);
+            Segment current = segment;
+            if (current.index.containsKey(id)) {
+                append(current, id, TOMBSTONE, 0L, System.currentTimeMillis(), new byte[0], null);
+                removeFromIndex(current, id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Checks the entries recovered from disk against the database, in batches, and starts serving
+     * the ones whose {@code updatedAt} is unchanged. Deleted or modified posts are dropped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateRecoveredEntries() {
+        List<Long> ids = new ArrayList<>(recovered.keySet());
+        int validated = 0;
+
+        try {
+            validated = validate(ids);
+        } catch (RuntimeException e) {
+            log.warn("Failed to validate the recovered post cache entries, dropping them", e);
+            recovered.clear();
+        }
+
+        log.info("Post cache warmed up with {} of {} recovered entries", validated, ids.size());
+    }
+
+    private int validate(final List<Long> ids) {
+        int validated = 0;
+
+        for (int from = 0; from < ids.size(); from += properties.getValidationBatchSize()) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + properties.getValidationBatchSize()));
+            Map<Long, Instant> versions = blogRepository.findVersionsByIdIn(batch).stream()
+                    .collect(Collectors.toMap(BlogPostVersion::id, BlogPostVersion::updatedAt));
+
+            writeLock.lock();
+            try {
+                Segment current = segment;
+                for (Long id : batch) {
+                    Entry entry = recovered.remove(id);
+                    Instant updatedAt = versions.get(id);
+                    if (entry != null && updatedAt != null && updatedAt.toEpochMilli() == entry.updatedAt()) {
+                        current.index.put(id, entry);
+                        current.liveBytes += entry.length();
+                        validated++;
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        return validated;
+    }
+
+    /**
+     * Rewrites the live, non-expired records into a fresh segment once enough of the current one is
+     * made of superseded records, or once it is close to its capacity and the rewrite would free at least
+     * {@code compactionMinReclaimable} bytes. A full segment of live posts is left as is: rewriting it would
+     * not make room for new posts.
+     */
+    @Scheduled(fixedDelayString = "${blog.cache.disk.compaction-interval:1m}")
+    public void compact() {
+        writeLock.lock();
+        try {
+            Segment current = segment;
+            if (!recovered.isEmpty() || !needsCompaction(current, System.currentTimeMillis())) {
+                return;
+            }
+
+            Path compactedPath = path.resolveSibling(path.getFileName() + ".compact");
+            Files.deleteIfExists(compactedPath);
+            Segment compacted = open(compactedPath);
+
+            long now = System.currentTimeMillis();
+            List<Map.Entry<Long, Entry>> live = current.index.entrySet().stream()
+                    .filter(indexed -> !isExpired(indexed.getValue(), now))
+                    .sorted(Comparator.comparingInt(indexed -> indexed.getValue().offset()))
+                    .toList();
+
+            for (Map.Entry<Long, Entry> indexed : live) {
+                Entry entry = indexed.getValue();
+                byte[] record = new byte[entry.length()];
+                current.buffer.get(entry.offset(), record);
+                compacted.buffer.put(compacted.end, record);
+
+                compacted.index.put(indexed.getKey(), new Entry(compacted.end, entry.length(), entry.updatedAt(),
+                        entry.cachedAt(), entry.tenantId()));
+                compacted.end += entry.length();
+                compacted.liveBytes += entry.length();
+            }
+
+            compacted.buffer.force();
+            Files.move(compactedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            log.debug("Compacted post cache from {} to {} bytes", current.end, compacted.end);
+            segment = compacted;
+            current.channel.close();
+        } catch (IOException e) {
+            log.warn("Post cache compaction failed", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            segment.buffer.force();
+            segment.channel.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of posts that were not cached because the segment was full
+     */
+    public long droppedPuts() {
+        return droppedPuts.get();
+    }
+
+    Entry indexEntry(final Long id) {
+        return segment.index.get(id);
+    }
+
+    private Segment recover() throws IOException {
+        int validLength;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = Math.min(channel.size(), capacity);
+            MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            validLength = scan(existing, (int) size);
+
+            // Cut off whatever follows the last valid record, so the space is zero-filled again when remapped
+            channel.truncate(validLength);
+        }
+
+        Segment recoveredSegment = open(path);
+        recoveredSegment.end = validLength;
+        log.info("Recovered {} post cache entries from {}", recovered.size(), path);
+
+        return recoveredSegment;
+    }
+
+    private int scan(final MappedByteBuffer buffer, final int size) {
+        long now = System.currentTimeMillis();
+        int position = 0;
+
+        while (position + RECORD_OVERHEAD <= size) {
+            int bodyLength = buffer.getInt(position);
+            if (bodyLength < BODY_HEADER_BYTES || position + LENGTH_BYTES + bodyLength + CHECKSUM_BYTES > size) {
+                break;
+            }
+
+            int bodyOffset = position + LENGTH_BYTES;
+            if (checksum(buffer, bodyOffset, bodyLength) != buffer.getInt(bodyOffset + bodyLength)) {
+                break;
+            }
+
+            long id = buffer.getLong(bodyOffset);
+            byte type = buffer.get(bodyOffset + Long.BYTES);
+            long updatedAt = buffer.getLong(bodyOffset + Long.BYTES + Byte.BYTES);
+            long cachedAt = buffer.getLong(bodyOffset + Long.BYTES + Byte.BYTES + Long.BYTES);
+            int recordLength = LENGTH_BYTES + bodyLength + CHECKSUM_BYTES;
+
+            String tenantId = type == PUT ? PostResponseCodec.decodeTenantId(buffer,
+                    bodyOffset + BODY_HEADER_BYTES, bodyLength - BODY_HEADER_BYTES) : null;
+            Entry entry = new Entry(position, recordLength, updatedAt, cachedAt,
+                    tenantId == null ? null : canonicalTenantId(tenantId));
+            if (tenantId != null && !isExpired(entry, now)) {
+                recovered.put(id, entry);
+            } else {
+                recovered.remove(id);
+            }
+
+            position += recordLength;
+        }
+
+        return position;
+    }
+
+    private Segment open(final Path segmentPath) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+    }
+
+    private void append(final Segment target, final long id, final byte type, final long updatedAt,
+                        final long cachedAt, final byte[] payload, final String tenantId) {
+        int bodyLength = BODY_HEADER_BYTES + payload.length;
+        int recordLength = LENGTH_BYTES + bodyLength + CHECKSUM_BYTES;
+        if ((long) target.end + recordLength > capacity) {
+            // Full until the next compaction; a tombstone is not needed for the entry to stop being served
+            if (type == TOMBSTONE) {
+                removeFromIndex(target, id);
+            } else {
+                droppedPuts.incrementAndGet();
+                if (!target.full) {
+                    target.full = true;
+                    log.warn("Post cache segment {} is full, posts are not cached until it is compacted", path);
+                }
+            }
+            return;
+        }
+
+        int position = target.end;
+        int bodyOffset = position + LENGTH_BYTES;
+        MappedByteBuffer buffer = target.buffer;
+
+        buffer.putInt(position, bodyLength);
+        buffer.putLong(bodyOffset, id);
+        buffer.put(bodyOffset + Long.BYTES, type);
+        buffer.putLong(bodyOffset + Long.BYTES + Byte.BYTES, updatedAt);
+        buffer.putLong(bodyOffset + Long.BYTES + Byte.BYTES + Long.BYTES, cachedAt);
+        buffer.put(bodyOffset + BODY_HEADER_BYTES, payload);
+        buffer.putInt(bodyOffset + bodyLength, checksum(buffer, bodyOffset, bodyLength));
+        target.end += recordLength;
+
+        if (type == PUT) {
+            Entry previous = target.index.put(id, new Entry(position, recordLength, updatedAt, cachedAt, tenantId));
+            target.liveBytes += recordLength - (previous == null ? 0 : previous.length());
+        }
+    }
+
+    private void removeFromIndex(final Segment target, final long id) {
+        Entry previous = target.index.remove(id);
+        if (previous != null) {
+            target.liveBytes -= previous.length();
+        }
+    }
+
+    private boolean needsCompaction(final Segment current, final long now) {
+        long reclaimable = current.end - current.liveBytes;
+        boolean mostlyDead = current.end >= properties.getCompactionMinSize().toBytes()
+                && reclaimable > current.end * properties.getCompactionThreshold();
+        if (mostlyDead || current.end <= capacity * 0.9) {
+            return mostlyDead;
+        }
+
+        // Expired records are only reclaimed by a compaction too, so they count towards the room it frees
+        long expiredBytes = current.index.values().stream()
+                .filter(entry -> isExpired(entry, now))
+                .mapToLong(Entry::length)
+                .sum();
+        boolean worthRewriting = reclaimable + expiredBytes >= properties.getCompactionMinReclaimable().toBytes();
+        if (!worthRewriting) {
+            log.debug("Post cache segment is nearly full but only {} bytes could be reclaimed, {} puts dropped so far",
+                    reclaimable + expiredBytes, droppedPuts.get());
+        }
+        return worthRewriting;
+    }
+
+    /**
+     * @return the same instance for every entry of a tenant, instead of one string per recovered record
+     */
+    private String canonicalTenantId(final String tenantId) {
+        return tenantIds.computeIfAbsent(tenantId, Function.identity());
+    }
+
+    private boolean isExpired(final Entry entry, final long now) {
+        return now - entry.cachedAt() > properties.getTimeToLive().toMillis();
+    }
+
+    private static int checksum(final MappedByteBuffer buffer, final int offset, final int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Position of a record in the segment, along with the versioning data and the tenant needed without
+     * decoding it.
+     */
+    record Entry(int offset, int length, long updatedAt, long cachedAt, String tenantId) {
+    }
+
+    /**
+     * An open segment file with its mapping, write position and index.
+     * Mutable fields are only modified while holding the write lock.
+     */
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final Map<Long, Entry> index = new ConcurrentHashMap<>();
+        private int end;
+        private long liveBytes;
+        private boolean full;
+
+        private Segment(final FileChannel channel, final MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
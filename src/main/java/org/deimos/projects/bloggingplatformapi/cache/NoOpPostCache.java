@@ -0,0 +1,26 @@
+package org.deimos.projects.bloggingplatformapi.cache;
+
+import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+
+import java.util.Optional;
+
+/**
+ * {@link PostCache} used when caching is disabled: every lookup is a miss.
+ */
+public class NoOpPostCache implements PostCache {
+
+    @Override
+    public Optional<BlogPostResponse> get(final String tenantId, final Long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(final BlogPostResponse blogPostResponse) {
+        // Nothing to cache
+    }
+
+    @Override
+    public void evict(final Long id) {
+        // Nothing to evict
+    }
+}
@@ -0,0 +1,39 @@
+package org.deimos.projects.bloggingplatformapi.cache;
+
+import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+
+import java.util.Optional;
+
+/**
+ * Cache of blog post responses, consulted by the service layer before reaching the database.
+ * <p>
+ * Implementations must never return a post that was evicted, but they are free to drop any entry
+ * at any time, so a miss is always a valid answer. Posts are looked up on behalf of a tenant, and the
+ * posts of other tenants are misses. Post ids are unique across tenants, so puts and evictions only
+ * need the id.
+ */
+public interface PostCache {
+
+    /**
+     * Looks up a cached blog post of a tenant.
+     *
+     * @param tenantId the id of the tenant looking up the blog post
+     * @param id       the unique identifier of the blog post
+     * @return the cached blog post, or an empty {@code Optional} on a miss or if it belongs to another tenant
+     */
+    Optional<BlogPostResponse> get(String tenantId, Long id);
+
+    /**
+     * Caches a blog post, replacing any previous version of it.
+     *
+     * @param blogPostResponse the blog post to cache
+     */
+    void put(BlogPostResponse blogPostResponse);
+
+    /**
+     * Removes a blog post from the cache.
+     *
+     * @param id the unique identifier of the blog post
+     */
+    void evict(Long id);
+}
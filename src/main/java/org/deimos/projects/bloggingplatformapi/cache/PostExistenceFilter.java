@@ -0,0 +1,162 @@
+package org.deimos.projects.bloggingplatformapi.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.deimos.projects.bloggingplatformapi.configuration.NotFoundCacheProperties;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Answers, without querying the database, that most ids of missing blog posts do not exist.
+ * <p>
+ * Two structures are checked:
+ * <ol>
+ * <li> A {@link BloomFilter} over the ids of all the posts that are not deleted, rebuilt periodically from the
+ * database. An id it does not contain is certainly missing; an id it contains exists, or is a false positive.
+ * <li> A negative cache of the ids recently found missing in the database, which catches the false positives
+ * and the posts deleted since the last rebuild. It is a fixed-size direct-mapped table, so a busy client
+ * scanning for ids only ever evicts other missing ids.
+ * </ol>
+ * The filter only vouches for ids up to a watermark: the highest id of the posts created more than
+ * {@code commitGrace} ago when the filter was built. Newer ids, including the posts created by other
+ * application instances, are always looked up. Posts published by another instance can be reported missing
+ * for up to {@code negativeTimeToLive}; the ones published by this instance are cleared right away.
+ * <p>
+ * Ids are unique across tenants, so the filter is shared by all of them. The negative cache is not: an id
+ * missing for one tenant may well exist for another, so its entries are keyed by tenant and id.
+ * <p>
+ * Memory: about 1.2 MB per million posts at a 1% false positive rate (times {@code expectedGrowth}), plus the
+ * negative cache, around 50 bytes per slot once filled, plus the tenant ids it references.
+ */
+@Slf4j
+@Component
+public class PostExistenceFilter {
+
+    private static final long MIN_EXPECTED_KEYS = 1_024;
+    private static final Snapshot EMPTY = new Snapshot(new BloomFilter(1, 0.5), 0);
+
+    private final BlogRepository blogRepository;
+    private final NotFoundCacheProperties properties;
+    private final AtomicReferenceArray<MissingPost> missingPosts;
+    private final int slotMask;
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    public PostExistenceFilter(final BlogRepository blogRepository, final NotFoundCacheProperties properties) {
+        this.blogRepository = blogRepository;
+        this.properties = properties;
+
+        int slots = Integer.highestOneBit(Math.max(1, properties.getNegativeCacheSize() - 1)) << 1;
+        this.missingPosts = new AtomicReferenceArray<>(slots);
+        this.slotMask = slots - 1;
+    }
+
+    /**
+     * @param tenantId the id of the tenant looking up the blog post
+     * @param id       the id of a blog post
+     * @return {@code false} if the post certainly does not exist for the tenant, {@code true} if it must be looked up
+     */
+    public boolean mightExist(final String tenantId, final Long id) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        Snapshot current = snapshot;
+        if (id > current.watermark()) {
+            return true;
+        }
+        if (!current.filter().mightContain(id)) {
+            return false;
+        }
+
+        MissingPost missingPost = missingPosts.get(slot(tenantId, id));
+        return missingPost == null || !missingPost.matches(tenantId, id)
+                || missingPost.expiresAt() - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Remembers that a blog post was not found in the database for a tenant.
+     *
+     * @param tenantId the id of the tenant that looked up the blog post
+     * @param id       the id of the missing blog post
+     */
+    public void recordMissing(final String tenantId, final Long id) {
+        if (properties.isEnabled() && id <= snapshot.watermark()) {
+            missingPosts.set(slot(tenantId, id), new MissingPost(tenantId, id,
+                    System.nanoTime() + properties.getNegativeTimeToLive().toNanos()));
+        }
+    }
+
+    /**
+     * Forgets that a blog post was missing, because it has just been published.
+     *
+     * @param tenantId the id of the tenant owning the published blog post
+     * @param id       the id of the published blog post
+     */
+    public void recordPublished(final String tenantId, final Long id) {
+        int slot = slot(tenantId, id);
+        MissingPost missingPost = missingPosts.get(slot);
+        if (missingPost != null && missingPost.matches(tenantId, id)) {
+            missingPosts.compareAndSet(slot, missingPost, null);
+        }
+    }
+
+    /**
+     * Rebuilds the Bloom filter from the ids in the database, dropping the ids of the deleted posts.
+     * The first build runs as soon as the application starts; until it completes, every id is looked up.
+     */
+    @Scheduled(fixedDelayString = "${blog.cache.not-found.rebuild-interval:10m}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        // The watermark is read first, so every post at or below it is committed before the ids are scanned
+        Long watermark = blogRepository.findMaxIdCreatedBefore(Instant.now().minus(properties.getCommitGrace()));
+        if (watermark == null) {
+            snapshot = EMPTY;
+            return;
+        }
+
+        long expectedKeys = (long) (blogRepository.count() * properties.getExpectedGrowth());
+        BloomFilter filter = new BloomFilter(Math.max(MIN_EXPECTED_KEYS, expectedKeys),
+                properties.getFalsePositiveRate());
+
+        int batchSize = properties.getLoadBatchSize();
+        long afterId = 0;
+        long loaded = 0;
+        List<Long> ids;
+        do {
+            ids = blogRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+            for (Long id : ids) {
+                filter.put(id);
+                afterId = id;
+            }
+            loaded += ids.size();
+        } while (ids.size() == batchSize);
+
+        snapshot = new Snapshot(filter, watermark);
+        log.info("Built the existence filter of {} posts ({} KB, {} hashes) in {} ms", loaded,
+                filter.sizeInBytes() / 1024, filter.hashCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int slot(final String tenantId, final long id) {
+        return Long.hashCode((id ^ tenantId.hashCode()) * 0x9E3779B97F4A7C15L) & slotMask;
+    }
+
+    private record Snapshot(BloomFilter filter, long watermark) {
+    }
+
+    private record MissingPost(String tenantId, long id, long expiresAt) {
+
+        boolean matches(final String otherTenantId, final long otherId) {
+            return id == otherId && tenantId.equals(otherTenantId);
+        }
+    }
+}
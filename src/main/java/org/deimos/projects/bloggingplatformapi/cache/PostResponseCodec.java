@@ -0,0 +1,161 @@
+package org.deimos.projects.bloggingplatformapi.cache;
+
+import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of {@link BlogPostResponse} used by the on-disk post cache.
+ * <p>
+ * Every payload starts with a format version, so entries written by an incompatible version of the
+ * application are rejected instead of being decoded into wrong values.
+ */
+final class PostResponseCodec {
+
+    private static final byte FORMAT_VERSION = 3;
+    private static final int NULL_LENGTH = -1;
+
+    private PostResponseCodec() {
+    }
+
+    static byte[] encode(final BlogPostResponse post) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(post.getId());
+            writeString(out, post.getTenantId());
+            writeString(out, post.getTitle());
+            writeString(out, post.getContent());
+            writeString(out, post.getCategory());
+
+            Set<String> tags = post.getTags();
+            out.writeInt(tags == null ? NULL_LENGTH : tags.size());
+            if (tags != null) {
+                for (String tag : tags) {
+                    writeString(out, tag);
+                }
+            }
+
+            writeInteger(out, post.getWordCount());
+            writeInteger(out, post.getReadingTimeMinutes());
+            writeInstant(out, post.getPublishAt());
+            writeInstant(out, post.getCreatedAt());
+            writeInstant(out, post.getUpdatedAt());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode post " + post.getId(), e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    static BlogPostResponse decode(final byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported cache format version " + version);
+            }
+
+            BlogPostResponse post = new BlogPostResponse();
+            post.setId(in.readLong());
+            post.setTenantId(readString(in));
+            post.setTitle(readString(in));
+            post.setContent(readString(in));
+            post.setCategory(readString(in));
+
+            int tagCount = in.readInt();
+            if (tagCount != NULL_LENGTH) {
+                Set<String> tags = new LinkedHashSet<>(tagCount);
+                for (int i = 0; i < tagCount; i++) {
+                    tags.add(readString(in));
+                }
+                post.setTags(tags);
+            }
+
+            post.setWordCount(readInteger(in));
+            post.setReadingTimeMinutes(readInteger(in));
+            post.setPublishAt(readInstant(in));
+            post.setCreatedAt(readInstant(in));
+            post.setUpdatedAt(readInstant(in));
+
+            return post;
+        }
+    }
+
+    /**
+     * Reads the tenant id of an encoded post in place, without decoding the rest of it.
+     *
+     * @param buffer the buffer holding the payload
+     * @param offset the position of the payload in the buffer
+     * @param length the length of the payload
+     * @return the tenant id, or {@code null} if the payload is in another format or has no tenant id
+     */
+    static String decodeTenantId(final ByteBuffer buffer, final int offset, final int length) {
+        int lengthOffset = Byte.BYTES + Long.BYTES;
+        if (length < lengthOffset + Integer.BYTES || buffer.get(offset) != FORMAT_VERSION) {
+            return null;
+        }
+
+        int tenantIdLength = buffer.getInt(offset + lengthOffset);
+        if (tenantIdLength < 0 || tenantIdLength > length - lengthOffset - Integer.BYTES) {
+            return null;
+        }
+
+        byte[] utf8 = new byte[tenantIdLength];
+        buffer.get(offset + lengthOffset + Integer.BYTES, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(final DataOutputStream out, final Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeInstant(final DataOutputStream out, final Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static Instant readInstant(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
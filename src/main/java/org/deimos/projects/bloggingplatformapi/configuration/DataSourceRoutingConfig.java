@@ -0,0 +1,102 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.deimos.projects.bloggingplatformapi.datasource.ReadYourWritesFilter;
+import org.deimos.projects.bloggingplatformapi.datasource.ReadYourWritesTracker;
+import org.deimos.projects.bloggingplatformapi.datasource.ReplicaPool;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class routing read-only transactions to a pool of read replicas.
+ * <p>
+ * The datasource exposed to JPA is a {@link LazyConnectionDataSourceProxy}, which postpones fetching
+ * a physical connection until the first statement is executed. By then the transaction has already
+ * been flagged as read-only or not, so the proxy is able to pick the right target:
+ * <ol>
+ * <li> Read-write transactions always use the primary datasource configured by {@code spring.datasource}.
+ * <li> Read-only transactions ({@code @Transactional(readOnly = true)}) use the {@link ReplicaPool}, which
+ *    balances them across the healthy replicas according to their weights.
+ * </ol>
+ * The whole configuration is only active when {@code blog.datasource.routing.enabled} is {@code true};
+ * otherwise Spring Boot auto-configures the single datasource as usual.
+ * <p>
+ * The primary pool is tuned by {@code spring.datasource.hikari}, like the auto-configured one. Every pool,
+ * replicas included, reports its {@code hikaricp.*} metrics, tagged with the pool name.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "blog.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        return primary;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(final DataSourceRoutingProperties routingProperties) {
+        return new ReadYourWritesTracker(routingProperties.getStickinessWindow());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(final ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesFilter(readYourWritesTracker);
+    }
+
+    @Bean
+    public ReplicaPool replicaPool(final HikariDataSource primaryDataSource,
+                                   final ReadYourWritesTracker readYourWritesTracker,
+                                   final DataSourceRoutingProperties routingProperties,
+                                   final ObjectProvider<MeterRegistry> meterRegistry) {
+
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routingProperties.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + i;
+
+            HikariDataSource replicaDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            replicaDataSource.setPoolName(name);
+            replicaDataSource.setReadOnly(true);
+            meterRegistry.ifAvailable(replicaDataSource::setMetricRegistry);
+
+            replicas.add(new ReplicaPool.Replica(name, replicaDataSource, replica.getWeight()));
+        }
+
+        return new ReplicaPool(primaryDataSource, replicas, readYourWritesTracker,
+                routingProperties.getHealthCheckTimeout());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(final HikariDataSource primaryDataSource, final ReplicaPool replicaPool) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaPool);
+
+        return dataSource;
+    }
+}
@@ -0,0 +1,52 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the read/write datasource routing.
+ * <p>
+ * The primary datasource keeps being configured through {@code spring.datasource}; the properties
+ * bound here only describe the read replicas and how traffic is spread among them.
+ * <p>
+ * Fields:
+ * <li> enabled: Whether read-only transactions are routed to the replicas at all.
+ * <li> stickinessWindow: How long a client keeps reading from the primary after one of its writes.
+ * <li> healthCheckInterval: Delay between two consecutive replica health checks.
+ * <li> healthCheckTimeout: Maximum time a replica is given to validate a connection during a health check.
+ * <li> replicas: The replica datasources, each one with its own connection settings and weight.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    private Duration stickinessWindow = Duration.ofSeconds(5);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Connection settings of a single read replica.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Replica {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int weight = 1;
+    }
+}
@@ -0,0 +1,47 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the persistent on-disk post cache.
+ * <p>
+ * Fields:
+ * <li> enabled: Whether blog posts are cached on disk.
+ * <li> path: Location of the segment file.
+ * <li> capacity: Size of the memory-mapped segment; posts are not cached anymore once it is full until it is compacted.
+ * <li> timeToLive: Maximum age of a cached post, which bounds how stale a post modified by another node can be.
+ * <li> compactionInterval: Delay between two checks for compaction.
+ * <li> compactionMinSize: Segment size below which no compaction happens.
+ * <li> compactionThreshold: Fraction of superseded bytes above which the segment is compacted.
+ * <li> compactionMinReclaimable: Superseded or expired bytes a nearly full segment must hold to be compacted.
+ * <li> validationBatchSize: Number of recovered entries validated against the database per query on startup.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.cache.disk")
+public class DiskCacheProperties {
+
+    private boolean enabled = false;
+
+    private Path path = Path.of("cache", "posts.segment");
+
+    private DataSize capacity = DataSize.ofMegabytes(256);
+
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    private Duration compactionInterval = Duration.ofMinutes(1);
+
+    private DataSize compactionMinSize = DataSize.ofMegabytes(16);
+
+    private double compactionThreshold = 0.5;
+
+    private DataSize compactionMinReclaimable = DataSize.ofMegabytes(4);
+
+    private int validationBatchSize = 1_000;
+}
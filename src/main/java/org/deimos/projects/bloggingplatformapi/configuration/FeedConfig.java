@@ -0,0 +1,13 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import org.deimos.projects.bloggingplatformapi.feed.FeedService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the Atom feed and the sitemaps of the blog posts, see {@link FeedService}.
+ */
+@Configuration
+@EnableConfigurationProperties(FeedProperties.class)
+public class FeedConfig {
+}
@@ -0,0 +1,49 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Atom feed and the sitemaps of the published blog posts.
+ * <p>
+ * Fields:
+ * <li> baseUrl: Public URL of the API, context path included, from which the links to the posts are built.
+ * <li> title: Title of the Atom feed, also used as its author.
+ * <li> entries: Number of most recent posts listed in the Atom feed.
+ * <li> maxCachedEntries: Number of rendered feed entries kept in memory; the entries of the oldest posts are
+ * evicted first.
+ * <li> maxUrlsPerSitemap: Number of URLs above which the sitemap is split into several files listed by a
+ * sitemap index. The sitemaps protocol allows at most 50,000.
+ * <li> sitemapMaxAge: Age after which a request for a sitemap rescans the posts of its tenant, so the sitemaps
+ * show new, updated and deleted posts after at most this delay.
+ * <li> sitemapIdleTimeout: Age after which the sitemap of a tenant that was not rescanned since, because it was not
+ * requested, is dropped from memory.
+ * <li> sitemapEvictionInterval: Delay between two evictions of the idle sitemaps.
+ * <li> cursorBatchSize: Number of posts read per query when scanning the posts of a tenant.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.feed")
+public class FeedProperties {
+
+    private String baseUrl = "http://localhost:8080/v1/blogging-platform";
+
+    private String title = "Blogging Platform";
+
+    private int entries = 50;
+
+    private int maxCachedEntries = 10_000;
+
+    private int maxUrlsPerSitemap = 50_000;
+
+    private Duration sitemapMaxAge = Duration.ofMinutes(5);
+
+    private Duration sitemapIdleTimeout = Duration.ofMinutes(30);
+
+    private Duration sitemapEvictionInterval = Duration.ofMinutes(5);
+
+    private int cursorBatchSize = 1_000;
+}
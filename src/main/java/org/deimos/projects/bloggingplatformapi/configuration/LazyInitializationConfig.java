@@ -0,0 +1,43 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import org.deimos.projects.bloggingplatformapi.cache.PostCache;
+import org.deimos.projects.bloggingplatformapi.cache.PostExistenceFilter;
+import org.deimos.projects.bloggingplatformapi.datasource.ReplicaPool;
+import org.deimos.projects.bloggingplatformapi.index.PostMetadataIndex;
+import org.deimos.projects.bloggingplatformapi.pipeline.PostEventPipeline;
+import org.deimos.projects.bloggingplatformapi.publishing.PostPublicationScheduler;
+import org.deimos.projects.bloggingplatformapi.service.PostPurgeService;
+import org.deimos.projects.bloggingplatformapi.statistics.PostStatistics;
+import org.deimos.projects.bloggingplatformapi.tenant.TenantQuotas;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class listing the beans that must be created on startup even when lazy initialization
+ * is enabled ({@code spring.main.lazy-initialization}, as in the {@code prod} profile).
+ * <p>
+ * These beans do background work or must be warm before the first request:
+ * <ol>
+ * <li>{@link PostCache} - Recovers and validates the persistent cache as soon as the application is ready.
+ * <li>{@link PostEventPipeline} - Processes the post events left in the outbox by a previous run.
+ * <li>{@link ReplicaPool} - Starts health-checking the read replicas.
+ * <li>{@link PostMetadataIndex} - Loads the post metadata before the first request is served.
+ * <li>{@link PostPurgeService} - Purges the deleted posts in the background.
+ * <li>{@link PostPublicationScheduler} - Claims and fires the scheduled publications.
+ * <li>{@link PostExistenceFilter} - Builds the filter of existing post ids.
+ * <li>{@link PostStatistics} - Computes the post statistics, then reconciles them in the background.
+ * <li>{@link TenantQuotas} - Evicts the rate limiters of the idle tenants and recounts their stored posts.
+ * </ol>
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(PostCache.class, PostEventPipeline.class,
+                ReplicaPool.class, PostMetadataIndex.class, PostPurgeService.class,
+                PostPublicationScheduler.class, PostExistenceFilter.class,
+                PostStatistics.class, TenantQuotas.class);
+    }
+}
@@ -0,0 +1,20 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import org.deimos.projects.bloggingplatformapi.model.mapper.ListMappingExecutor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the {@link ListMappingExecutor}, which maps large lists of blog posts in parallel.
+ */
+@Configuration
+@EnableConfigurationProperties(MappingProperties.class)
+public class MappingConfig {
+
+    @Bean
+    public ListMappingExecutor listMappingExecutor(final MappingProperties mappingProperties) {
+        return new ListMappingExecutor(mappingProperties.getParallelThreshold(), mappingProperties.getParallelism(),
+                mappingProperties.getMinChunkSize());
+    }
+}
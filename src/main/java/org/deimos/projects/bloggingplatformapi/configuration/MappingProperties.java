@@ -0,0 +1,26 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the mapping of large lists of blog posts to responses.
+ * <p>
+ * Fields:
+ * <li> parallelThreshold: Number of posts from which a list is mapped in parallel; smaller lists are mapped on the
+ * request thread, where the fork-join overhead would outweigh the gain.
+ * <li> parallelism: Number of threads of the dedicated mapping pool, so large lists never use every core.
+ * <li> minChunkSize: Minimum number of posts mapped by a single fork-join task.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.mapping")
+public class MappingProperties {
+
+    private int parallelThreshold = 1_000;
+
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private int minChunkSize = 256;
+}
@@ -0,0 +1,45 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the short-circuiting of lookups of blog posts that do not exist.
+ * <p>
+ * Fields:
+ * <li> enabled: Whether missing posts are answered from the existence filter and the negative cache.
+ * <li> falsePositiveRate: Target false positive rate of the Bloom filter over the existing post ids.
+ * <li> expectedGrowth: Factor applied to the number of posts when sizing the Bloom filter, leaving room for the
+ * posts created until the next rebuild.
+ * <li> rebuildInterval: Delay between two rebuilds of the Bloom filter, which drop the ids of the deleted posts.
+ * <li> commitGrace: Age above which a post is assumed to be committed; only ids of posts older than this are
+ * trusted to be in the filter.
+ * <li> negativeCacheSize: Number of slots of the negative cache, rounded up to a power of two.
+ * <li> negativeTimeToLive: Time a missing id is remembered, which bounds how long a post published by another
+ * node can keep being reported missing.
+ * <li> loadBatchSize: Number of ids read per query when rebuilding the filter.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.cache.not-found")
+public class NotFoundCacheProperties {
+
+    private boolean enabled = true;
+
+    private double falsePositiveRate = 0.01;
+
+    private double expectedGrowth = 2.0;
+
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    private Duration commitGrace = Duration.ofMinutes(1);
+
+    private int negativeCacheSize = 65_536;
+
+    private Duration negativeTimeToLive = Duration.ofMinutes(1);
+
+    private int loadBatchSize = 10_000;
+}
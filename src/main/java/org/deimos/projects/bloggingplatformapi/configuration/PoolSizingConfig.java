@@ -0,0 +1,36 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.deimos.projects.bloggingplatformapi.datasource.PoolSizingCheck;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration class for the {@link PoolSizingCheck}, which warns on startup when the connection pools
+ * and the server threads are sized inconsistently.
+ */
+@Configuration
+@EnableConfigurationProperties(PoolSizingProperties.class)
+@ConditionalOnProperty(prefix = "blog.datasource.pool-check", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class PoolSizingConfig {
+
+    @Bean
+    public PoolSizingCheck poolSizingCheck(final ObjectProvider<HikariDataSource> pools,
+                                           final ServerProperties serverProperties,
+                                           final PostPipelineProperties pipelineProperties,
+                                           final PoolSizingProperties poolSizingProperties,
+                                           final Environment environment) {
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        int serverThreads = virtualThreads ? -1 : serverProperties.getTomcat().getThreads().getMax();
+        int backgroundThreads = pipelineProperties.getWorkers() + poolSizingProperties.getSchedulerThreads();
+
+        return new PoolSizingCheck(pools, serverThreads, backgroundThreads,
+                poolSizingProperties.getMaxThreadsPerConnection());
+    }
+}
@@ -0,0 +1,27 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the startup check of the connection pool size against the server threads.
+ * <p>
+ * Fields:
+ * <li> enabled: Whether the pool sizes are checked once the application is ready.
+ * <li> maxThreadsPerConnection: Number of server threads per pool connection above which requests are
+ * expected to queue for connections under load.
+ * <li> schedulerThreads: Number of scheduling threads running background jobs that use a connection, on top
+ * of the post pipeline workers.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.datasource.pool-check")
+public class PoolSizingProperties {
+
+    private boolean enabled = true;
+
+    private int maxThreadsPerConnection = 20;
+
+    private int schedulerThreads = 1;
+}
@@ -0,0 +1,35 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import org.deimos.projects.bloggingplatformapi.cache.DiskPostCache;
+import org.deimos.projects.bloggingplatformapi.cache.NoOpPostCache;
+import org.deimos.projects.bloggingplatformapi.cache.PostCache;
+import org.deimos.projects.bloggingplatformapi.cache.PostExistenceFilter;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class selecting the {@link PostCache} implementation.
+ * <p>
+ * The persistent {@link DiskPostCache} is used when {@code blog.cache.disk.enabled} is {@code true};
+ * otherwise caching is disabled. Lookups of missing posts are short-circuited by the {@link PostExistenceFilter}
+ * regardless of the implementation, unless {@code blog.cache.not-found.enabled} is {@code false}.
+ */
+@Configuration
+@EnableConfigurationProperties({DiskCacheProperties.class, NotFoundCacheProperties.class})
+public class PostCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.cache.disk", name = "enabled", havingValue = "true")
+    public PostCache diskPostCache(final DiskCacheProperties diskCacheProperties, final BlogRepository blogRepository) {
+        return new DiskPostCache(diskCacheProperties, blogRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.cache.disk", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public PostCache noOpPostCache() {
+        return new NoOpPostCache();
+    }
+}
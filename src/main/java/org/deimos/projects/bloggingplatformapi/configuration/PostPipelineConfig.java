@@ -0,0 +1,30 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.deimos.projects.bloggingplatformapi.pipeline.PostEventPipeline;
+import org.deimos.projects.bloggingplatformapi.pipeline.PostEventProcessor;
+import org.deimos.projects.bloggingplatformapi.repository.PostEventRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the asynchronous post-write processing pipeline.
+ * <p>
+ * Every {@link PostEventProcessor} bean found in the context is registered in the {@link PostEventPipeline},
+ * so adding a derived-data processor only requires declaring it as a bean.
+ */
+@Configuration
+@EnableConfigurationProperties(PostPipelineProperties.class)
+public class PostPipelineConfig {
+
+    @Bean
+    public PostEventPipeline postEventPipeline(final ObjectProvider<PostEventProcessor> processors,
+                                               final PostEventRepository postEventRepository,
+                                               final PostPipelineProperties pipelineProperties,
+                                               final MeterRegistry meterRegistry) {
+        return new PostEventPipeline(processors.orderedStream().toList(), postEventRepository,
+                pipelineProperties, meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the asynchronous post-write processing pipeline.
+ * <p>
+ * Fields:
+ * <li> workers: Number of worker threads, at least one; events of the same post are always handled by the same
+ * worker.
+ * <li> queueCapacity: Capacity of each worker queue. Events that do not fit are left in the outbox for redelivery.
+ * <li> batchSize: Maximum number of events handed to the processors at once.
+ * <li> maxAttempts: Number of times a failing batch is attempted before leaving it for redelivery.
+ * <li> retryBackoff: Delay before retrying a failing batch, doubled after every attempt.
+ * <li> redeliveryDelay: Age after which an unprocessed outbox event is dispatched again.
+ * <li> maxDeliveries: Number of failed deliveries after which an event is parked, and not redelivered anymore.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.pipeline")
+public class PostPipelineProperties {
+
+    private int workers = 2;
+
+    private int queueCapacity = 1_000;
+
+    private int batchSize = 50;
+
+    private int maxAttempts = 3;
+
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    private Duration redeliveryDelay = Duration.ofSeconds(30);
+
+    private int maxDeliveries = 5;
+}
@@ -0,0 +1,13 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import org.deimos.projects.bloggingplatformapi.service.PostPurgeService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the background purge of deleted blog posts, see {@link PostPurgeService}.
+ */
+@Configuration
+@EnableConfigurationProperties(PostPurgeProperties.class)
+public class PostPurgeConfig {
+}
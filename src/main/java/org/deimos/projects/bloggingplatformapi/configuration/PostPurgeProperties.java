@@ -0,0 +1,30 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the background purge of deleted blog posts.
+ * <p>
+ * Fields:
+ * <li> interval: Delay between two purge runs.
+ * <li> retention: Time a tombstone is kept before its row is physically deleted.
+ * <li> batchSize: Maximum number of rows deleted by a single statement.
+ * <li> maxBatchesPerRun: Maximum number of batches of a single run, so a backlog is purged over several runs.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.purge")
+public class PostPurgeProperties {
+
+    private Duration interval = Duration.ofMinutes(1);
+
+    private Duration retention = Duration.ofMinutes(10);
+
+    private int batchSize = 500;
+
+    private int maxBatchesPerRun = 20;
+}
@@ -0,0 +1,13 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import org.deimos.projects.bloggingplatformapi.statistics.PostStatistics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the aggregate statistics of the blog posts, see {@link PostStatistics}.
+ */
+@Configuration
+@EnableConfigurationProperties(PostStatisticsProperties.class)
+public class PostStatisticsConfig {
+}
@@ -0,0 +1,28 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the aggregate statistics of the published blog posts.
+ * <p>
+ * Fields:
+ * <li> reconcileInterval: Delay between two recomputations of the counters from the database, which fix the
+ * drift caused by writes of other application instances.
+ * <li> snapshotMaxAge: Age after which a read recomputes the ordered snapshot of the counters, if they changed.
+ * <li> maxTopTags: Maximum number of tags returned by a single request.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.stats")
+public class PostStatisticsProperties {
+
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+
+    private Duration snapshotMaxAge = Duration.ofSeconds(1);
+
+    private int maxTopTags = 100;
+}
@@ -0,0 +1,33 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import org.deimos.projects.bloggingplatformapi.cache.PostExistenceFilter;
+import org.deimos.projects.bloggingplatformapi.index.PostMetadataIndex;
+import org.deimos.projects.bloggingplatformapi.publishing.PostPublicationScheduler;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.deimos.projects.bloggingplatformapi.repository.PostPublicationRepository;
+import org.deimos.projects.bloggingplatformapi.statistics.PostStatistics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuration class for the scheduled publication of blog posts.
+ */
+@Configuration
+@EnableConfigurationProperties(PublishingProperties.class)
+public class PublishingConfig {
+
+    @Bean
+    public PostPublicationScheduler postPublicationScheduler(final PostPublicationRepository postPublicationRepository,
+                                                             final BlogRepository blogRepository,
+                                                             final PostMetadataIndex postMetadataIndex,
+                                                             final PostExistenceFilter postExistenceFilter,
+                                                             final PostStatistics postStatistics,
+                                                             final PlatformTransactionManager transactionManager,
+                                                             final PublishingProperties publishingProperties) {
+        return new PostPublicationScheduler(postPublicationRepository, blogRepository, postMetadataIndex,
+                postExistenceFilter, postStatistics, new TransactionTemplate(transactionManager), publishingProperties);
+    }
+}
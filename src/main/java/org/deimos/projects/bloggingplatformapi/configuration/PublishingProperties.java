@@ -0,0 +1,40 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuration properties for the scheduled publication of blog posts.
+ * <p>
+ * Fields:
+ * <li> nodeId: Identifier of this application instance in the publication leases, random by default.
+ * <li> tick: Precision of the timer wheel firing the publications.
+ * <li> wheelSize: Number of slots of each level of the timer wheel, a power of two.
+ * <li> wheelLevels: Number of levels of the timer wheel.
+ * <li> claimInterval: Delay between two claims of the upcoming publications, which also renew the leases.
+ * <li> horizon: How far ahead the upcoming publications are claimed and loaded into the timer wheel.
+ * <li> leaseDuration: Time after which the publications of an instance that stopped renewing them can be claimed.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.publishing")
+public class PublishingProperties {
+
+    private String nodeId = UUID.randomUUID().toString();
+
+    private Duration tick = Duration.ofMillis(100);
+
+    private int wheelSize = 64;
+
+    private int wheelLevels = 4;
+
+    private Duration claimInterval = Duration.ofSeconds(30);
+
+    private Duration horizon = Duration.ofMinutes(2);
+
+    private Duration leaseDuration = Duration.ofMinutes(2);
+}
@@ -0,0 +1,67 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Configuration class for the connection-level tuning of the embedded Tomcat, enabled by the
+ * {@code high-throughput} profile.
+ * <p>
+ * The standard {@code server.*} properties cover the connector threads, keep-alive and compression; this
+ * class tunes what they do not expose:
+ * <ol>
+ * <li> The HTTP/2 protocol added by {@code server.http2.enabled}: concurrent streams, flow-control window
+ * and keep-alive.
+ * <li> The response buffer size, applied to every request by a filter.
+ * </ol>
+ */
+@Configuration
+@EnableConfigurationProperties(ServerTuningProperties.class)
+@ConditionalOnProperty(prefix = "blog.server.tuning", name = "enabled", havingValue = "true")
+public class ServerTuningConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2TuningCustomizer(
+            final ServerTuningProperties tuningProperties) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol upgradeProtocol : connector.findUpgradeProtocols()) {
+                if (upgradeProtocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(tuningProperties.getHttp2MaxConcurrentStreams());
+                    http2.setMaxConcurrentStreamExecution(tuningProperties.getHttp2MaxConcurrentStreams());
+                    http2.setInitialWindowSize((int) tuningProperties.getHttp2InitialWindowSize().toBytes());
+                    http2.setKeepAliveTimeout(tuningProperties.getHttp2KeepAliveTimeout().toMillis());
+                }
+            }
+        });
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public OncePerRequestFilter responseBufferSizeFilter(final ServerTuningProperties tuningProperties) {
+        int bufferSize = (int) tuningProperties.getResponseBufferSize().toBytes();
+
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                            final FilterChain filterChain) throws ServletException, IOException {
+                response.setBufferSize(bufferSize);
+                filterChain.doFilter(request, response);
+            }
+        };
+    }
+}
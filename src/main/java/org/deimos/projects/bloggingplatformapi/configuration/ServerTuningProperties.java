@@ -0,0 +1,37 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the connection-level tuning of the embedded Tomcat, applied on top of
+ * the standard {@code server.*} properties by the {@code high-throughput} profile.
+ * <p>
+ * Fields:
+ * <li> enabled: Whether the tuning is applied.
+ * <li> http2MaxConcurrentStreams: Maximum number of requests in flight on a single HTTP/2 connection.
+ * <li> http2InitialWindowSize: Flow-control window of each HTTP/2 stream, bounding the data sent before
+ * the client acknowledges it.
+ * <li> http2KeepAliveTimeout: Time an idle HTTP/2 connection is kept open.
+ * <li> responseBufferSize: Size of the response buffer of each request. Larger bodies are streamed to the
+ * client once it is full, which bounds the memory held by responses with a large content.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.server.tuning")
+public class ServerTuningProperties {
+
+    private boolean enabled;
+
+    private int http2MaxConcurrentStreams = 128;
+
+    private DataSize http2InitialWindowSize = DataSize.ofKilobytes(256);
+
+    private Duration http2KeepAliveTimeout = Duration.ofSeconds(60);
+
+    private DataSize responseBufferSize = DataSize.ofKilobytes(16);
+}
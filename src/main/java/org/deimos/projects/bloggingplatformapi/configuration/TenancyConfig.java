@@ -0,0 +1,30 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.deimos.projects.bloggingplatformapi.tenant.TenantFilter;
+import org.deimos.projects.bloggingplatformapi.tenant.TenantQuotas;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the tenants sharing the application.
+ * <p>
+ * The {@link TenantFilter} is registered without an explicit order, so it runs after the security filter
+ * chain and sees the authenticated principal.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+
+    @Bean
+    public TenantQuotas tenantQuotas(final TenancyProperties tenancyProperties) {
+        return new TenantQuotas(tenancyProperties);
+    }
+
+    @Bean
+    public TenantFilter tenantFilter(final TenantQuotas tenantQuotas, final TenancyProperties tenancyProperties,
+                                     final ObjectMapper objectMapper) {
+        return new TenantFilter(tenantQuotas, tenancyProperties, objectMapper);
+    }
+}
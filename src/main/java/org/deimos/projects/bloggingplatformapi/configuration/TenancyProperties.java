@@ -0,0 +1,66 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the tenants sharing the application, and their quotas.
+ * <p>
+ * Fields:
+ * <li> defaults: Quota of the tenants that have none of their own.
+ * <li> tenants: Quotas of specific tenants, by tenant id; they replace the defaults as a whole.
+ * <li> trustTenantHeader: Whether anonymous requests may choose their tenant with the {@code X-Tenant-Id} header,
+ * which is only safe behind a gateway that sets it.
+ * <li> idleEvictionInterval: Delay between two evictions of the rate limiters of the idle tenants.
+ * <li> storageRecountInterval: Delay after which the posts stored by the tenants are counted again.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "blog.tenancy")
+public class TenancyProperties {
+
+    private Quota defaults = new Quota();
+
+    private Map<String, Quota> tenants = new HashMap<>();
+
+    private boolean trustTenantHeader = false;
+
+    private Duration idleEvictionInterval = Duration.ofMinutes(1);
+
+    private Duration storageRecountInterval = Duration.ofMinutes(5);
+
+    /**
+     * @param tenantId the id of a tenant
+     * @return the quota of the tenant
+     */
+    public Quota quotaOf(final String tenantId) {
+        return tenants.getOrDefault(tenantId, defaults);
+    }
+
+    /**
+     * Limits of a single tenant; a limit of {@code 0} disables it.
+     * <p>
+     * Fields:
+     * <li> requestsPerSecond: Sustained number of requests per second.
+     * <li> burst: Number of requests that can be sent at once, above the sustained rate.
+     * <li> maxConcurrentRequests: Number of requests served at the same time.
+     * <li> maxPosts: Number of posts stored, deleted ones excluded.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Quota {
+
+        private int requestsPerSecond;
+
+        private int burst;
+
+        private int maxConcurrentRequests;
+
+        private long maxPosts;
+    }
+}
@@ -9,13 +9,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostBatchResponse;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostQuery;
 import org.deimos.projects.bloggingplatformapi.model.BlogPostRequest;
 import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+import org.deimos.projects.bloggingplatformapi.model.PostStatisticsResponse;
 import org.deimos.projects.bloggingplatformapi.service.BlogService;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.deimos.projects.bloggingplatformapi.utils.Constants.*;
 
@@ -52,22 +57,74 @@ public class BlogPostController {
     }
 
     /**
-     * Retrieves all blog posts.
+     * Retrieves all blog posts, optionally filtered by search term, category and tags, and sorted.
      *
+     * @param searchTerm The optional search term.
+     * @param category   The optional category the blog posts must belong to.
+     * @param tags       The optional tags the blog posts must all have.
+     * @param sort       The optional order, e.g. {@code sort=updatedAt,desc}.
      * @return List of BlogPostResponse containing all blog posts.
      */
     @Operation(summary = "Get blog posts")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found all blog posts", 
                         content = @Content(schema = @Schema(implementation = BlogPostResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<BlogPostResponse> getBlogPosts(
             @Parameter(description = "Optional search term to filter blog posts")
-            @RequestParam(value = "term", required = false) final String searchTerm) {
-        return blogPostService.getBlogPosts(searchTerm);
+            @RequestParam(value = "term", required = false) final String searchTerm,
+            @Parameter(description = "Optional category to filter blog posts")
+            @RequestParam(value = "category", required = false) final String category,
+            @Parameter(description = "Optional tags the blog posts must all have")
+            @RequestParam(value = "tags", required = false) final Set<String> tags,
+            @Parameter(description = "Optional order: id, createdAt or updatedAt, followed by asc or desc")
+            final Sort sort) {
+        return blogPostService.getBlogPosts(searchTerm, new BlogPostQuery(category, tags, sort));
+    }
+
+    /**
+     * Retrieves many blog posts by their IDs in a single round trip, e.g. {@code ids=1,2,3}.
+     *
+     * @param ids The unique identifiers of the blog posts.
+     * @return BlogPostBatchResponse containing the blog posts found, in the requested order, and the missing ids.
+     */
+    @Operation(summary = "Get blog posts by their ids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the blog posts, missing ids are listed",
+                        content = @Content(schema = @Schema(implementation = BlogPostBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many ids"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public BlogPostBatchResponse getBlogPostsByIds(
+            @Parameter(description = "Comma-separated ids of the blog posts to retrieve")
+            @RequestParam("ids") final List<Long> ids) {
+        return blogPostService.getBlogPostsByIds(ids);
+    }
+
+    /**
+     * Retrieves the number of published blog posts, per category and for the most used tags.
+     *
+     * @param top The number of most used tags to return.
+     * @return PostStatisticsResponse containing the statistics.
+     */
+    @Operation(summary = "Get blog post statistics")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Computed the statistics",
+                        content = @Content(schema = @Schema(implementation = PostStatisticsResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(STATS_PATH)
+    @ResponseStatus(HttpStatus.OK)
+    public PostStatisticsResponse getPostStatistics(
+            @Parameter(description = "Number of most used tags to return")
+            @RequestParam(value = "top", defaultValue = "10") final int top) {
+        return blogPostService.getPostStatistics(top);
     }
 
     /**
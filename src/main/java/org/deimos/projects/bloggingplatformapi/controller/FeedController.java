@@ -0,0 +1,87 @@
+package org.deimos.projects.bloggingplatformapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.deimos.projects.bloggingplatformapi.feed.FeedService;
+import org.deimos.projects.bloggingplatformapi.feed.XmlDocument;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.*;
+
+/**
+ * Serves the Atom feed and the sitemaps of the published posts, for feed readers and crawlers.
+ * <p>
+ * Responses carry an {@code ETag} and a {@code Last-Modified} header; conditional requests for a document that
+ * did not change are answered with 304, without a body.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Feed API", description = "Atom feed and sitemaps of the blog posts")
+public class FeedController {
+
+    private final FeedService feedService;
+
+    /**
+     * Retrieves the Atom feed of the most recent blog posts.
+     *
+     * @param request The request, checked for the {@code If-None-Match} and {@code If-Modified-Since} headers.
+     * @return The Atom feed, or nothing if the client already has it.
+     */
+    @Operation(summary = "Get the Atom feed of the most recent blog posts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rendered the feed"),
+            @ApiResponse(responseCode = "304", description = "The feed did not change")
+    })
+    @GetMapping(value = FEED_PATH, produces = MediaType.APPLICATION_ATOM_XML_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAtomFeed(final WebRequest request) {
+        return xml(feedService.getAtomFeed(), MediaType.APPLICATION_ATOM_XML, request);
+    }
+
+    /**
+     * Retrieves the sitemap of the blog posts, or one of its pages when it is split by a sitemap index.
+     *
+     * @param page    The optional number of the page, from 1.
+     * @param request The request, checked for the {@code If-None-Match} and {@code If-Modified-Since} headers.
+     * @return The sitemap, or nothing if the client already has it.
+     */
+    @Operation(summary = "Get the sitemap of the blog posts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rendered the sitemap or the sitemap index"),
+            @ApiResponse(responseCode = "304", description = "The sitemap did not change"),
+            @ApiResponse(responseCode = "404", description = "No such sitemap page")
+    })
+    @GetMapping(value = SITEMAP_PATH, produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<StreamingResponseBody> getSitemap(
+            @Parameter(description = "Optional page of the sitemap, as listed by the sitemap index")
+            @RequestParam(value = "page", required = false) final Integer page,
+            final WebRequest request) {
+        return feedService.getSitemap(page)
+                .map(sitemap -> xml(sitemap, MediaType.APPLICATION_XML, request))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * @return the document, or {@code null} once the response is marked as not modified
+     */
+    private static ResponseEntity<StreamingResponseBody> xml(final XmlDocument document, final MediaType mediaType,
+                                                             final WebRequest request) {
+        if (request.checkNotModified(document.etag(), document.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .varyBy(TENANT_ID_HEADER)
+                .body(document::writeTo);
+    }
+}
@@ -4,6 +4,8 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.deimos.projects.bloggingplatformapi.exceptions.BlogPostNotFoundException;
+import org.deimos.projects.bloggingplatformapi.exceptions.InvalidBlogPostQueryException;
+import org.deimos.projects.bloggingplatformapi.exceptions.TenantQuotaExceededException;
 import org.deimos.projects.bloggingplatformapi.model.ErrorResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -51,11 +54,39 @@ class GlobalExceptionHandler {
         return new ErrorResponse(HttpResponseStatus.NOT_FOUND.code(), ex.getMessage());
     }
 
+    /**
+     * Handles the {@code InvalidBlogPostQueryException} and returns a standardized error response
+     * with an HTTP 400 Bad Request status code and a descriptive error message.
+     *
+     * @param ex the exception that was thrown and needs to be handled
+     * @return a {@code ErrorResponse} object containing the HTTP 400 status code and the exception message
+     */
+    @ExceptionHandler(InvalidBlogPostQueryException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidQuery(final Exception ex) {
+        return new ErrorResponse(HttpResponseStatus.BAD_REQUEST.code(), ex.getMessage());
+    }
+
+    /**
+     * Handles the {@code TenantQuotaExceededException} and returns a standardized error response
+     * with an HTTP 429 Too Many Requests status code and a descriptive error message.
+     *
+     * @param ex the exception that was thrown and needs to be handled
+     * @return a {@code ErrorResponse} object containing the HTTP 429 status code and the exception message
+     */
+    @ExceptionHandler(TenantQuotaExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ErrorResponse handleTenantQuotaExceeded(final Exception ex) {
+        return new ErrorResponse(HttpResponseStatus.TOO_MANY_REQUESTS.code(), ex.getMessage());
+    }
+
     /**
      * Handles validation errors triggered by method argument constraints,
      * such as validation annotations on fields. It processes the validation
      * exception to extract error messages for each invalid field and returns
      * a structured response containing the field-specific error details.
+     * <p>
+     * The map is sized for the number of errors up front, so it is never rehashed while being filled.
      *
      * @param ex the exception thrown when method argument validation fails,
      *           containing details about the validation errors
@@ -65,10 +96,11 @@ class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleValidationErrors(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        Map<String, String> errors = HashMap.newHashMap(fieldErrors.size());
 
         // Extract field-specific validation messages
-        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+        for (FieldError error : fieldErrors) {
             errors.put(error.getField(), error.getDefaultMessage());
         }
 
@@ -88,10 +120,9 @@ class GlobalExceptionHandler {
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleConstraintViolation(ConstraintViolationException ex) {
-        Map<String, String> errors = new HashMap<>();
-
         // Extract and format constraint violations
         Set<ConstraintViolation<?>> violations = ex.getConstraintViolations();
+        Map<String, String> errors = HashMap.newHashMap(violations.size());
         for (ConstraintViolation<?> violation : violations) {
             String field = violation.getPropertyPath().toString();
             String message = violation.getMessage();
@@ -0,0 +1,75 @@
+package org.deimos.projects.bloggingplatformapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warns on startup when the size of a connection pool does not match the number of threads using it.
+ * <p>
+ * A request holds at most one connection, for the duration of its transaction, so:
+ * <ul>
+ * <li> Connections beyond the server threads plus the background threads (post pipeline workers and scheduled
+ * jobs) can never be in use at the same time; they only cost memory and sessions on the database.
+ * <li> With many more server threads than connections, requests queue for a connection under load and fail
+ * once {@code connectionTimeout} expires, while the server keeps accepting more of them.
+ * </ul>
+ * The check is skipped when the server runs on virtual threads, which the pool size bounds on purpose.
+ */
+@Slf4j
+public class PoolSizingCheck {
+
+    private final ObjectProvider<HikariDataSource> pools;
+    private final int serverThreads;
+    private final int backgroundThreads;
+    private final int maxThreadsPerConnection;
+
+    /**
+     * @param serverThreads the maximum number of server threads, negative when they are virtual threads
+     */
+    public PoolSizingCheck(final ObjectProvider<HikariDataSource> pools, final int serverThreads,
+                           final int backgroundThreads, final int maxThreadsPerConnection) {
+        this.pools = pools;
+        this.serverThreads = serverThreads;
+        this.backgroundThreads = backgroundThreads;
+        this.maxThreadsPerConnection = maxThreadsPerConnection;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPoolSizes() {
+        if (serverThreads < 0) {
+            log.debug("Server runs on virtual threads, the connection pool sizes are not checked");
+            return;
+        }
+
+        pools.orderedStream().forEach(pool -> check(pool.getPoolName(), pool.getMaximumPoolSize(), serverThreads,
+                backgroundThreads, maxThreadsPerConnection).forEach(log::warn));
+    }
+
+    static List<String> check(final String poolName, final int poolSize, final int serverThreads,
+                              final int backgroundThreads, final int maxThreadsPerConnection) {
+        List<String> warnings = new ArrayList<>();
+
+        int maxConcurrentUsers = serverThreads + backgroundThreads;
+        if (poolSize > maxConcurrentUsers) {
+            warnings.add(("Pool %s has %d connections, but at most %d threads (%d server, %d background) can use "
+                    + "one at a time: lower spring.datasource.hikari.maximum-pool-size to %d")
+                    .formatted(poolName, poolSize, maxConcurrentUsers, serverThreads, backgroundThreads,
+                            maxConcurrentUsers));
+        }
+
+        if (serverThreads > (long) poolSize * maxThreadsPerConnection) {
+            warnings.add(("Pool %s has %d connections for %d server threads: under load, requests queue for a "
+                    + "connection and fail after the connection timeout. Raise the pool size or lower "
+                    + "server.tomcat.threads.max to %d")
+                    .formatted(poolName, poolSize, serverThreads, poolSize * maxThreadsPerConnection));
+        }
+
+        return warnings;
+    }
+}
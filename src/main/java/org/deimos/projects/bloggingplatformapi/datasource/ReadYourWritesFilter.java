@@ -0,0 +1,51 @@
+package org.deimos.projects.bloggingplatformapi.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.CLIENT_ID_HEADER;
+
+/**
+ * Binds the calling client to the current request thread and records its successful writes,
+ * giving it read-your-writes consistency while the replicas catch up with the primary.
+ * <p>
+ * Clients are identified by the {@code X-Client-Id} header when present, falling back to the
+ * remote address otherwise.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+
+        String clientKey = StringUtils.defaultIfBlank(request.getHeader(CLIENT_ID_HEADER), request.getRemoteAddr());
+        readYourWritesTracker.bindClient(clientKey);
+
+        try {
+            filterChain.doFilter(request, response);
+
+            if (isWrite(request) && response.getStatus() < HttpServletResponse.SC_BAD_REQUEST) {
+                readYourWritesTracker.recordWrite(clientKey);
+            }
+        } finally {
+            readYourWritesTracker.unbindClient();
+        }
+    }
+
+    private boolean isWrite(final HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return !HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method);
+    }
+}
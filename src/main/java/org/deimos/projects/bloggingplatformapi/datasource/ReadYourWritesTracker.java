@@ -0,0 +1,68 @@
+package org.deimos.projects.bloggingplatformapi.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the clients that recently performed a write, so their following reads can be
+ * served by the primary datasource until the replicas had the chance to catch up.
+ * <p>
+ * The client bound to the current thread is set by {@link ReadYourWritesFilter} for the duration
+ * of a request and consulted by {@link ReplicaPool} when a read-only connection is requested.
+ * <p>
+ * The recent writes are only known to the instance that served them, so stickiness is per instance. Behind a
+ * load balancer, read-your-writes only holds when it routes each client back to the same instance (session
+ * affinity); otherwise a read following a write may be served by a replica through another instance.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(final Duration stickinessWindow) {
+        this.windowNanos = stickinessWindow.toNanos();
+    }
+
+    public void bindClient(final String clientKey) {
+        CURRENT_CLIENT.set(clientKey);
+    }
+
+    public void unbindClient() {
+        CURRENT_CLIENT.remove();
+    }
+
+    /**
+     * Records that the given client has just written to the primary datasource.
+     *
+     * @param clientKey the key identifying the client
+     */
+    public void recordWrite(final String clientKey) {
+        lastWrites.put(clientKey, System.nanoTime());
+    }
+
+    /**
+     * Tells whether the client bound to the current thread wrote within the stickiness window.
+     *
+     * @return {@code true} if reads of the current client must be served by the primary datasource
+     */
+    public boolean isCurrentClientSticky() {
+        String clientKey = CURRENT_CLIENT.get();
+        if (clientKey == null) {
+            return false;
+        }
+
+        Long lastWrite = lastWrites.get(clientKey);
+        return lastWrite != null && System.nanoTime() - lastWrite < windowNanos;
+    }
+
+    /**
+     * Drops the entries whose stickiness window already elapsed, so the map only holds active writers.
+     */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+}
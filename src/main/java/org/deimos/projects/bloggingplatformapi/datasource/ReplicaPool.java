@@ -0,0 +1,150 @@
+package org.deimos.projects.bloggingplatformapi.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DataSource serving read-only connections from a weighted pool of replicas.
+ * <p>
+ * Each connection request picks one of the healthy replicas at random, proportionally to its weight.
+ * The primary datasource is used instead when:
+ * <ul>
+ * <li> The client bound to the current thread wrote recently (read-your-writes stickiness).
+ * <li> No replica is currently healthy.
+ * </ul>
+ * Replica health is refreshed periodically by {@link #checkHealth()}.
+ */
+@Slf4j
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final int healthCheckTimeoutSeconds;
+
+    public ReplicaPool(final DataSource primary,
+                       final List<Replica> replicas,
+                       final ReadYourWritesTracker readYourWritesTracker,
+                       final Duration healthCheckTimeout) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return selectDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return selectDataSource().getConnection(username, password);
+    }
+
+    /**
+     * Validates a connection of every replica, taking the failing ones out of the rotation
+     * and bringing the recovered ones back.
+     */
+    @Scheduled(fixedDelayString = "${blog.datasource.routing.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource().getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (healthy != replica.isHealthy()) {
+                log.warn("Replica {} is now {}", replica.name(), healthy ? "healthy" : "unhealthy");
+            }
+            replica.setHealthy(healthy);
+        }
+        readYourWritesTracker.evictExpired();
+    }
+
+    /**
+     * Closes the replica datasources owned by this pool. The primary datasource is left untouched.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    DataSource selectDataSource() {
+        if (readYourWritesTracker.isCurrentClientSticky()) {
+            return primary;
+        }
+
+        int totalWeight = 0;
+        for (Replica replica : replicas) {
+            if (replica.isHealthy()) {
+                totalWeight += replica.weight();
+            }
+        }
+        if (totalWeight == 0) {
+            return primary;
+        }
+
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Replica replica : replicas) {
+            if (replica.isHealthy()) {
+                pick -= replica.weight();
+                if (pick < 0) {
+                    return replica.dataSource();
+                }
+            }
+        }
+        return primary;
+    }
+
+    /**
+     * A replica datasource along with its weight and last known health.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final int weight;
+        private volatile boolean healthy = true;
+
+        public Replica(final String name, final DataSource dataSource, final int weight) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.weight = Math.max(0, weight);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public int weight() {
+            return weight;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        void setHealthy(final boolean healthy) {
+            this.healthy = healthy;
+        }
+    }
+}
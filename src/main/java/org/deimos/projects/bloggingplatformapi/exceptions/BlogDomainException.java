@@ -0,0 +1,20 @@
+package org.deimos.projects.bloggingplatformapi.exceptions;
+
+/**
+ * Base class of the exceptions signalling an expected outcome of a request, such as a missing blog post,
+ * rather than a failure of the application.
+ * <p>
+ * These exceptions are thrown on hot paths, sometimes for most requests of a client scanning for ids, and are
+ * always turned into an error response by the exception handler. They therefore skip the stack trace capture,
+ * which dominates the cost of creating an exception, and subclasses build their message only when it is read.
+ */
+public abstract class BlogDomainException extends RuntimeException {
+
+    protected BlogDomainException() {
+        super(null, null, false, false);
+    }
+
+    protected BlogDomainException(final String message) {
+        super(message, null, false, false);
+    }
+}
@@ -2,9 +2,16 @@ package org.deimos.projects.bloggingplatformapi.exceptions;
 
 import static org.deimos.projects.bloggingplatformapi.utils.Constants.BLOG_ENTRY_NOT_FOUND;
 
-public class BlogPostNotFoundException extends RuntimeException {
+public class BlogPostNotFoundException extends BlogDomainException {
+
+    private final Long id;
 
     public BlogPostNotFoundException(final Long id) {
-        super(BLOG_ENTRY_NOT_FOUND.formatted(id));
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage() {
+        return BLOG_ENTRY_NOT_FOUND.formatted(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package org.deimos.projects.bloggingplatformapi.exceptions;
+
+public class InvalidBlogPostQueryException extends BlogDomainException {
+
+    public InvalidBlogPostQueryException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package org.deimos.projects.bloggingplatformapi.exceptions;
+
+public class TenantQuotaExceededException extends BlogDomainException {
+
+    public TenantQuotaExceededException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,56 @@
+package org.deimos.projects.bloggingplatformapi.feed;
+
+import org.deimos.projects.bloggingplatformapi.model.BlogPostVersion;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded cache of the rendered feed entries, by post id.
+ * <p>
+ * An entry is only returned for the tenant and the version of the post it was rendered from, so a post whose
+ * {@code updatedAt} changed is rendered again while the others are reused. Feeds list the most recent posts,
+ * so once the cache is full the entries of the posts with the lowest ids are evicted first.
+ */
+final class FeedFragmentCache {
+
+    private final int maxEntries;
+    private final ConcurrentSkipListMap<Long, Fragment> fragments = new ConcurrentSkipListMap<>();
+    // Size of the map, whose own size() walks all the entries
+    private final AtomicInteger size = new AtomicInteger();
+
+    FeedFragmentCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the entry rendered from this version of the post for the tenant, or {@code null} if there is none
+     */
+    byte[] get(final String tenantId, final BlogPostVersion version) {
+        Fragment fragment = fragments.get(version.id());
+        if (fragment == null || !fragment.tenantId().equals(tenantId)
+                || !fragment.updatedAt().equals(version.updatedAt())) {
+            return null;
+        }
+        return fragment.xml();
+    }
+
+    void put(final String tenantId, final BlogPostVersion version, final byte[] xml) {
+        Fragment previous = fragments.put(version.id(), new Fragment(tenantId, version.updatedAt(), xml));
+        if (previous != null) {
+            return;
+        }
+
+        if (size.incrementAndGet() > maxEntries && fragments.pollFirstEntry() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private record Fragment(String tenantId, Instant updatedAt, byte[] xml) {
+    }
+}
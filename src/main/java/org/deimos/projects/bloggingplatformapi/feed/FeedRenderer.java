@@ -0,0 +1,207 @@
+package org.deimos.projects.bloggingplatformapi.feed;
+
+import org.deimos.projects.bloggingplatformapi.configuration.FeedProperties;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.FEED_PATH;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.POST_PATH;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.SITEMAP_PATH;
+
+/**
+ * Renders the Atom feed and the sitemaps with a streaming XML writer, which escapes the text of the posts.
+ * <p>
+ * The Atom feed is rendered in separate parts: its head, one fragment per entry and its closing tag, so the
+ * entries can be cached and reused from one feed to the next. The entries are written without namespace
+ * declaration and inherit the Atom namespace of the feed element they are inserted into. Characters that XML
+ * does not allow, such as most control characters, are dropped from the text of the posts.
+ */
+final class FeedRenderer {
+
+    static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+    static final String SITEMAP_NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private static final byte[] ATOM_TAIL = "</feed>".getBytes(StandardCharsets.UTF_8);
+    private static final int SITEMAP_URL_SIZE = 128;
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final String baseUrl;
+    private final String title;
+
+    FeedRenderer(final FeedProperties properties) {
+        this.baseUrl = properties.getBaseUrl().replaceAll("/+$", "");
+        this.title = properties.getTitle();
+    }
+
+    /**
+     * @return the XML declaration and the feed element with its metadata, left open for the entries
+     */
+    byte[] atomHead(final Instant updated) {
+        return render(64, writer -> {
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("feed");
+            writer.writeDefaultNamespace(ATOM_NAMESPACE);
+            writeElement(writer, "id", baseUrl + FEED_PATH);
+            writeElement(writer, "title", title);
+            writer.writeEmptyElement("link");
+            writer.writeAttribute("rel", "self");
+            writer.writeAttribute("href", baseUrl + FEED_PATH);
+            writer.writeStartElement("author");
+            writeElement(writer, "name", title);
+            writer.writeEndElement();
+            // Ends with a text element, so the writer has closed every tag when the head is flushed
+            writeElement(writer, "updated", updated.toString());
+        });
+    }
+
+    byte[] atomTail() {
+        return ATOM_TAIL;
+    }
+
+    /**
+     * @param post the published blog post
+     * @param tags the tags of the blog post, rendered as Atom categories next to its category
+     * @return the entry element of the blog post
+     */
+    byte[] atomEntry(final BlogPostData post, final Set<String> tags) {
+        String content = post.getContent() == null ? "" : post.getContent();
+        return render(content.length() + 512, writer -> {
+            writer.writeStartElement("entry");
+            writeElement(writer, "id", postUrl(post.getId()));
+            writeElement(writer, "title", post.getTitle());
+            writer.writeEmptyElement("link");
+            writer.writeAttribute("href", postUrl(post.getId()));
+            writeElement(writer, "published", publishedAt(post).toString());
+            writeElement(writer, "updated", post.getUpdatedAt().toString());
+            if (post.getCategory() != null) {
+                writeCategory(writer, post.getCategory());
+            }
+            for (String tag : tags) {
+                writeCategory(writer, tag);
+            }
+            writer.writeStartElement("content");
+            writer.writeAttribute("type", "text");
+            writer.writeCharacters(xmlText(content));
+            writer.writeEndElement();
+            writer.writeEndElement();
+        });
+    }
+
+    /**
+     * @param ids             the ids of the blog posts, in ascending order
+     * @param updatedAtMillis the last modification of each blog post, in epoch milliseconds
+     * @param count           the number of blog posts to list
+     * @return a complete sitemap listing the blog posts
+     */
+    byte[] sitemap(final long[] ids, final long[] updatedAtMillis, final int count) {
+        return render(count * SITEMAP_URL_SIZE + 128, writer -> {
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("urlset");
+            writer.writeDefaultNamespace(SITEMAP_NAMESPACE);
+            for (int i = 0; i < count; i++) {
+                writer.writeStartElement("url");
+                writeElement(writer, "loc", postUrl(ids[i]));
+                writeElement(writer, "lastmod", lastmod(Instant.ofEpochMilli(updatedAtMillis[i])));
+                writer.writeEndElement();
+            }
+            writer.writeEndDocument();
+        });
+    }
+
+    /**
+     * @param sitemaps the sitemaps to list, numbered from 1 in this order
+     * @return a complete sitemap index listing the sitemaps
+     */
+    byte[] sitemapIndex(final List<XmlDocument> sitemaps) {
+        return render(sitemaps.size() * SITEMAP_URL_SIZE + 128, writer -> {
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("sitemapindex");
+            writer.writeDefaultNamespace(SITEMAP_NAMESPACE);
+            for (int page = 1; page <= sitemaps.size(); page++) {
+                writer.writeStartElement("sitemap");
+                writeElement(writer, "loc", baseUrl + SITEMAP_PATH + "?page=" + page);
+                writeElement(writer, "lastmod", lastmod(sitemaps.get(page - 1).lastModified()));
+                writer.writeEndElement();
+            }
+            writer.writeEndDocument();
+        });
+    }
+
+    /**
+     * @return when the post went live, or its creation time for the posts stored before it was recorded
+     */
+    private static Instant publishedAt(final BlogPostData post) {
+        return post.getPublishedAt() != null ? post.getPublishedAt() : post.getCreatedAt();
+    }
+
+    private String postUrl(final long id) {
+        return baseUrl + POST_PATH + "/" + id;
+    }
+
+    private static String lastmod(final Instant instant) {
+        return instant.truncatedTo(ChronoUnit.SECONDS).toString();
+    }
+
+    private static void writeElement(final XMLStreamWriter writer, final String name, final String text)
+            throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(xmlText(text));
+        writer.writeEndElement();
+    }
+
+    private static void writeCategory(final XMLStreamWriter writer, final String term) throws XMLStreamException {
+        writer.writeEmptyElement("category");
+        writer.writeAttribute("term", xmlText(term));
+    }
+
+    /**
+     * @return the text without the characters XML 1.0 does not allow
+     */
+    static String xmlText(final String text) {
+        if (text == null) {
+            return "";
+        }
+        if (text.codePoints().allMatch(FeedRenderer::isXmlCharacter)) {
+            return text;
+        }
+
+        StringBuilder valid = new StringBuilder(text.length());
+        text.codePoints().filter(FeedRenderer::isXmlCharacter).forEach(valid::appendCodePoint);
+        return valid.toString();
+    }
+
+    private static boolean isXmlCharacter(final int codePoint) {
+        return codePoint == 0x9 || codePoint == 0xA || codePoint == 0xD
+                || codePoint >= 0x20 && codePoint <= 0xD7FF
+                || codePoint >= 0xE000 && codePoint <= 0xFFFD
+                || codePoint >= 0x10000 && codePoint <= 0x10FFFF;
+    }
+
+    private static byte[] render(final int expectedSize, final XmlWriting writing) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(expectedSize);
+        try {
+            XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(output, "UTF-8");
+            writing.writeTo(writer);
+            writer.flush();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to render XML", e);
+        }
+        return output.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface XmlWriting {
+        void writeTo(XMLStreamWriter writer) throws XMLStreamException;
+    }
+}
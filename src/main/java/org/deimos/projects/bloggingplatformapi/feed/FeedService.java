@@ -0,0 +1,334 @@
+package org.deimos.projects.bloggingplatformapi.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.deimos.projects.bloggingplatformapi.configuration.FeedProperties;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostVersion;
+import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapper;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.deimos.projects.bloggingplatformapi.tenant.TenantContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Produces the Atom feed and the sitemaps of the published blog posts of the current tenant.
+ * <p>
+ * Both are generated from the lightweight versions ({@code id}, {@code updatedAt}) of the posts, read with a
+ * keyset cursor in batches of {@code cursorBatchSize}, so the posts are never all loaded at once. Every document
+ * carries a version, hashed from the versions of its posts, and the timestamp of their last modification, from
+ * which the controller answers conditional requests. Removing a post changes a document without moving the
+ * {@code updatedAt} of the posts left in it, so that timestamp is also at least the last deletion of a post of the
+ * tenant, as long as its tombstone is kept.
+ * <p>
+ * The feed reads the versions of its {@code entries} most recent posts on every request. Entries are rendered
+ * once per version of a post and cached in a {@link FeedFragmentCache}; only the posts whose {@code updatedAt}
+ * changed since are loaded and rendered again.
+ * <p>
+ * The sitemap of a tenant is split into pages of at most {@code maxUrlsPerSitemap} URLs, listed by a sitemap
+ * index when there is more than one. The pages are kept in memory and rescanned once they are older than
+ * {@code sitemapMaxAge}; a page is only rendered again if the version of one of its posts changed, or if posts
+ * were added to or removed from it. Pages are consecutive slices of the posts by id, so removing a post also
+ * shifts the pages after it. Rescans of a tenant are serialized under one of {@code SITEMAP_LOCK_STRIPES} locks,
+ * so they only block the requests of the few tenants sharing its lock. The sitemaps of tenants without posts are
+ * not kept, and the sitemaps that were not rescanned for {@code sitemapIdleTimeout} are evicted periodically, so
+ * clients inventing tenant ids or the tenants that stopped being crawled do not grow the map without bound.
+ */
+@Slf4j
+@Service
+public class FeedService {
+
+    private static final int LOAD_CHUNK_SIZE = 100;
+    private static final int SITEMAP_LOCK_STRIPES = 64;
+
+    private final BlogRepository blogRepository;
+    private final BlogPostMapper blogPostMapper;
+    private final FeedProperties properties;
+    private final FeedRenderer renderer;
+    private final FeedFragmentCache entries;
+    private final Map<String, Sitemap> sitemaps = new ConcurrentHashMap<>();
+    private final Object[] sitemapLocks = new Object[SITEMAP_LOCK_STRIPES];
+
+    public FeedService(final BlogRepository blogRepository, final BlogPostMapper blogPostMapper,
+                       final FeedProperties properties) {
+        this.blogRepository = blogRepository;
+        this.blogPostMapper = blogPostMapper;
+        this.properties = properties;
+        this.renderer = new FeedRenderer(properties);
+        this.entries = new FeedFragmentCache(properties.getMaxCachedEntries());
+        Arrays.setAll(sitemapLocks, stripe -> new Object());
+    }
+
+    /**
+     * @return the Atom feed of the most recent published blog posts, newest first
+     */
+    @Transactional(readOnly = true)
+    public XmlDocument getAtomFeed() {
+        String tenantId = TenantContext.currentTenant();
+        List<BlogPostVersion> versions =
+                blogRepository.findLatestPublishedVersions(tenantId, PageRequest.of(0, properties.getEntries()));
+
+        Map<Long, byte[]> rendered = HashMap.newHashMap(versions.size());
+        List<Long> staleIds = new ArrayList<>();
+        for (BlogPostVersion version : versions) {
+            byte[] entry = entries.get(tenantId, version);
+            if (entry != null) {
+                rendered.put(version.id(), entry);
+            } else {
+                staleIds.add(version.id());
+            }
+        }
+        for (BlogPostData post : findPublishedByIds(tenantId, staleIds)) {
+            byte[] entry = renderer.atomEntry(post, blogPostMapper.mapJSONStringToSet(post.getTags()));
+            entries.put(tenantId, new BlogPostVersion(post.getId(), post.getUpdatedAt()), entry);
+            rendered.put(post.getId(), entry);
+        }
+
+        Instant lastModified = lastDeletedAt(tenantId);
+        long version = DocumentVersion.ATOM_SEED;
+        for (BlogPostVersion post : versions) {
+            lastModified = post.updatedAt().isAfter(lastModified) ? post.updatedAt() : lastModified;
+            version = DocumentVersion.mix(DocumentVersion.mix(version, post.id()), post.updatedAt().toEpochMilli());
+        }
+
+        List<byte[]> parts = new ArrayList<>(versions.size() + 2);
+        parts.add(renderer.atomHead(lastModified));
+        for (BlogPostVersion post : versions) {
+            // Posts deleted or unpublished since their version was read are left out
+            byte[] entry = rendered.get(post.id());
+            if (entry != null) {
+                parts.add(entry);
+            }
+        }
+        parts.add(renderer.atomTail());
+
+        return new XmlDocument(version, lastModified, parts);
+    }
+
+    /**
+     * @param page the number of the sitemap, from 1, or {@code null} for the root sitemap
+     * @return the requested sitemap, or nothing if there is no such page. The root sitemap is the sitemap index
+     * when the posts span several pages, else the only page.
+     */
+    @Transactional(readOnly = true)
+    public Optional<XmlDocument> getSitemap(final Integer page) {
+        Sitemap sitemap = sitemapOf(TenantContext.currentTenant());
+
+        if (page == null) {
+            return Optional.of(sitemap.index() != null ? sitemap.index() : sitemap.pages().getFirst());
+        }
+        if (page < 1 || page > sitemap.pages().size()) {
+            return Optional.empty();
+        }
+        return Optional.of(sitemap.pages().get(page - 1));
+    }
+
+    private Sitemap sitemapOf(final String tenantId) {
+        Sitemap current = sitemaps.get(tenantId);
+        if (isFresh(current)) {
+            return current;
+        }
+
+        synchronized (sitemapLocks[Math.floorMod(tenantId.hashCode(), SITEMAP_LOCK_STRIPES)]) {
+            current = sitemaps.get(tenantId);
+            if (isFresh(current)) {
+                return current;
+            }
+
+            Sitemap rescanned = scanSitemap(tenantId, current);
+            if (rescanned.urls() > 0) {
+                sitemaps.put(tenantId, rescanned);
+            } else {
+                sitemaps.remove(tenantId);
+            }
+            return rescanned;
+        }
+    }
+
+    /**
+     * Drops the sitemaps that were not rescanned for {@code sitemapIdleTimeout}, as no request asked for them
+     * since. Their tenants are scanned from scratch on their next request.
+     */
+    @Scheduled(fixedDelayString = "${blog.feed.sitemap-eviction-interval:5m}")
+    public void evictIdleSitemaps() {
+        long idleTimeout = properties.getSitemapIdleTimeout().toNanos();
+        long now = System.nanoTime();
+        sitemaps.values().removeIf(sitemap -> now - sitemap.scannedAt() >= idleTimeout);
+    }
+
+    int cachedSitemaps() {
+        return sitemaps.size();
+    }
+
+    private boolean isFresh(final Sitemap sitemap) {
+        return sitemap != null && System.nanoTime() - sitemap.scannedAt() < properties.getSitemapMaxAge().toNanos();
+    }
+
+    /**
+     * Scans the versions of the published posts of the tenant and splits them into pages, reusing the pages of
+     * the previous scan that did not change.
+     */
+    private Sitemap scanSitemap(final String tenantId, final Sitemap previous) {
+        long start = System.nanoTime();
+        int maxUrls = properties.getMaxUrlsPerSitemap();
+        int batchSize = properties.getCursorBatchSize();
+        Instant lastDeletedAt = lastDeletedAt(tenantId);
+        List<XmlDocument> pages = new ArrayList<>();
+        PageBuffer buffer = new PageBuffer(Math.min(maxUrls, batchSize));
+
+        long urls = 0;
+        long afterId = 0;
+        List<BlogPostVersion> batch;
+        do {
+            batch = blogRepository.findPublishedVersionsAfter(tenantId, afterId, PageRequest.of(0, batchSize));
+            for (BlogPostVersion version : batch) {
+                if (buffer.size == maxUrls) {
+                    pages.add(toPage(buffer, previousPage(previous, pages.size()), lastDeletedAt));
+                    buffer.clear();
+                }
+                buffer.add(version);
+            }
+            if (!batch.isEmpty()) {
+                urls += batch.size();
+                afterId = batch.getLast().id();
+            }
+        } while (batch.size() == batchSize);
+        if (buffer.size > 0 || pages.isEmpty()) {
+            pages.add(toPage(buffer, previousPage(previous, pages.size()), lastDeletedAt));
+        }
+
+        XmlDocument index = pages.size() > 1 ? index(pages) : null;
+        long renderedPages = IntStream.range(0, pages.size())
+                .filter(page -> pages.get(page) != previousPage(previous, page))
+                .count();
+        log.debug("Scanned the sitemap of tenant {} in {} ms: {} page(s), {} rendered again", tenantId,
+                (System.nanoTime() - start) / 1_000_000, pages.size(), renderedPages);
+        return new Sitemap(List.copyOf(pages), index, urls, System.nanoTime());
+    }
+
+    /**
+     * Renders the page of the buffered posts, or reuses the previous one if they did not change. A page that
+     * changed may have lost a post, so it was modified at the latest deletion if that is more recent than its posts.
+     */
+    private XmlDocument toPage(final PageBuffer buffer, final XmlDocument previous, final Instant lastDeletedAt) {
+        long version = buffer.version();
+        if (previous != null && previous.version() == version) {
+            return previous;
+        }
+
+        Instant lastModified = buffer.lastModified();
+        return new XmlDocument(version, lastDeletedAt.isAfter(lastModified) ? lastDeletedAt : lastModified,
+                List.of(renderer.sitemap(buffer.ids, buffer.updatedAtMillis, buffer.size)));
+    }
+
+    private XmlDocument index(final List<XmlDocument> pages) {
+        Instant lastModified = Instant.EPOCH;
+        long version = DocumentVersion.SITEMAP_INDEX_SEED;
+        for (XmlDocument page : pages) {
+            lastModified = page.lastModified().isAfter(lastModified) ? page.lastModified() : lastModified;
+            version = DocumentVersion.mix(version, page.version());
+        }
+        return new XmlDocument(version, lastModified, List.of(renderer.sitemapIndex(pages)));
+    }
+
+    private Instant lastDeletedAt(final String tenantId) {
+        Instant lastDeletedAt = blogRepository.findLastDeletedAt(tenantId);
+        return lastDeletedAt != null ? lastDeletedAt : Instant.EPOCH;
+    }
+
+    private static XmlDocument previousPage(final Sitemap previous, final int index) {
+        return previous != null && index < previous.pages().size() ? previous.pages().get(index) : null;
+    }
+
+    /**
+     * Loads the published blog posts of a tenant with the given ids, with one query per chunk of ids.
+     */
+    private List<BlogPostData> findPublishedByIds(final String tenantId, final List<Long> ids) {
+        List<BlogPostData> posts = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size()));
+            posts.addAll(blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(tenantId, chunk));
+        }
+        return posts;
+    }
+
+    /**
+     * @param pages     the pages of the sitemap, in ascending order of post ids
+     * @param index     the sitemap index listing the pages, or {@code null} if there is a single page
+     * @param urls      the number of posts listed by the pages
+     * @param scannedAt the {@link System#nanoTime()} of the scan the pages were built from
+     */
+    private record Sitemap(List<XmlDocument> pages, XmlDocument index, long urls, long scannedAt) {
+    }
+
+    /**
+     * Versions of the posts of the sitemap page being scanned.
+     */
+    private static final class PageBuffer {
+
+        private long[] ids;
+        private long[] updatedAtMillis;
+        private int size;
+
+        PageBuffer(final int initialCapacity) {
+            ids = new long[Math.max(1, initialCapacity)];
+            updatedAtMillis = new long[ids.length];
+        }
+
+        void add(final BlogPostVersion version) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                updatedAtMillis = Arrays.copyOf(updatedAtMillis, size * 2);
+            }
+            ids[size] = version.id();
+            updatedAtMillis[size] = version.updatedAt().toEpochMilli();
+            size++;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        long version() {
+            long version = DocumentVersion.SITEMAP_SEED;
+            for (int i = 0; i < size; i++) {
+                version = DocumentVersion.mix(DocumentVersion.mix(version, ids[i]), updatedAtMillis[i]);
+            }
+            return version;
+        }
+
+        Instant lastModified() {
+            long lastModified = 0;
+            for (int i = 0; i < size; i++) {
+                lastModified = Math.max(lastModified, updatedAtMillis[i]);
+            }
+            return Instant.ofEpochMilli(lastModified);
+        }
+    }
+
+    /**
+     * Order-sensitive 64-bit hash of the versions of the posts of a document, seeded per kind of document.
+     */
+    private static final class DocumentVersion {
+
+        static final long ATOM_SEED = 0x41544F4DL;
+        static final long SITEMAP_SEED = 0x534D4150L;
+        static final long SITEMAP_INDEX_SEED = 0x534D4958L;
+
+        static long mix(final long hash, final long value) {
+            long mixed = (hash ^ value) * 0x9E3779B97F4A7C15L;
+            return mixed ^ (mixed >>> 29);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.deimos.projects.bloggingplatformapi.feed;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A rendered XML document, kept as the list of its encoded parts so cached fragments are written out as they are,
+ * without being copied into one buffer.
+ *
+ * @param version      hash of the posts the document was rendered from, which changes whenever one of them does
+ * @param lastModified the timestamp of the last modification of these posts
+ * @param parts        the UTF-8 encoded parts of the document, in order
+ */
+public record XmlDocument(long version, Instant lastModified, List<byte[]> parts) {
+
+    /**
+     * @return the entity tag of the document
+     */
+    public String etag() {
+        return Long.toHexString(version);
+    }
+
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        for (byte[] part : parts) {
+            outputStream.write(part);
+        }
+    }
+}
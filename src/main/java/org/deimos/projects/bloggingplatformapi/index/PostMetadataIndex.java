@@ -0,0 +1,482 @@
+package org.deimos.projects.bloggingplatformapi.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.deimos.projects.bloggingplatformapi.exceptions.InvalidBlogPostQueryException;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostMetadata;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostQuery;
+import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapper;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory columnar index of the blog post metadata, used to filter and sort the post list without
+ * scanning the database.
+ * <p>
+ * Every post is a row of primitive columns:
+ * <ul>
+ * <li> {@code long} ids, creation and modification timestamps (epoch milliseconds).
+ * <li> Dictionary-encoded {@code int} tenant and category, and the dictionary-encoded tags of the row.
+ * <li> One bitmap per tenant, per category and per tag, so combined filters are bitmap intersections.
+ * </ul>
+ * Every selection starts from the bitmap of the tenant of the caller, so tenants share the index but never
+ * see the posts of each other, and the cost of a selection is not affected by the size of the other tenants
+ * beyond the bitmap width.
+ * Ids are mapped to rows by a primitive hash map. Deleted posts only clear their row from the live
+ * bitmap; rows are reclaimed by the periodic rebuild, which reloads the whole index from the database
+ * and also picks up the writes made by other application instances: until then, the selections of an
+ * instance miss the posts created or retagged by the others, and still order their updated posts by their former
+ * {@code updatedAt}. The writes applied while the database is being scanned are logged and replayed on the
+ * reloaded index before it is swapped in, so they are not lost if the scan read the rows before them.
+ * <p>
+ * Memory per million posts, with 20 categories and 500 tags of which 3 per post:
+ * <ul>
+ * <li> Columns: 32 MB (three {@code long} and two {@code int} per post).
+ * <li> Tags of each row: about 28 MB (one small {@code int[]} per post).
+ * <li> Id to row map: about 20 MB (at most 60% load).
+ * <li> Bitmaps: 125 KB per distinct tenant, category or tag, about 65 MB here with a single tenant.
+ * </ul>
+ * Bitmaps are uncompressed, so their cost grows with the number of distinct tags rather than with their use.
+ */
+@Slf4j
+@Component
+public class PostMetadataIndex implements SmartLifecycle {
+
+    static final int LOAD_BATCH_SIZE = 10_000;
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "createdAt", "updatedAt");
+
+    private final BlogRepository blogRepository;
+    private final BlogPostMapper blogPostMapper;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Columns columns = new Columns(16);
+    private List<Consumer<Columns>> writesDuringRebuild;
+    private volatile boolean running;
+
+    public PostMetadataIndex(final BlogRepository blogRepository, final BlogPostMapper blogPostMapper) {
+        this.blogRepository = blogRepository;
+        this.blogPostMapper = blogPostMapper;
+    }
+
+    /**
+     * Selects the ids of the posts of the tenant matching the category and tags of the query, in the
+     * requested order.
+     *
+     * @param tenantId the id of the tenant owning the posts
+     * @param query    the filtering and sorting options
+     * @return the ids of the matching posts, in creation order when the query is unsorted
+     * @throws InvalidBlogPostQueryException if the query sorts on an unsupported property
+     */
+    public long[] select(final String tenantId, final BlogPostQuery query) {
+        lock.readLock().lock();
+        try {
+            return columns.select(tenantId, query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param tenantId the id of the tenant owning the posts
+     * @return the number of indexed posts of the tenant
+     */
+    public int count(final String tenantId) {
+        lock.readLock().lock();
+        try {
+            return columns.count(tenantId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks that posts can be sorted in the given order, which is on a single property among {@code id},
+     * {@code createdAt} and {@code updatedAt}.
+     *
+     * @param sort the requested order
+     * @throws InvalidBlogPostQueryException if the posts cannot be sorted in that order
+     */
+    public static void requireSortable(final Sort sort) {
+        Iterator<Sort.Order> orders = sort.iterator();
+        if (!orders.hasNext()) {
+            return;
+        }
+
+        Sort.Order order = orders.next();
+        if (orders.hasNext()) {
+            throw new InvalidBlogPostQueryException("Posts can only be sorted on a single property");
+        }
+        if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new InvalidBlogPostQueryException("Posts cannot be sorted on '" + order.getProperty() + "'");
+        }
+    }
+
+    /**
+     * Adds the post to the index, or replaces its previous metadata.
+     *
+     * @param post the persisted post
+     */
+    public void upsert(final BlogPostData post) {
+        Set<String> tags = blogPostMapper.mapJSONStringToSet(post.getTags());
+
+        apply(target -> target.upsert(post.getId(), post.getTenantId(), post.getCategory(), tags,
+                post.getCreatedAt(), post.getUpdatedAt()));
+    }
+
+    /**
+     * Removes the post from the index.
+     *
+     * @param id the unique identifier of the deleted post
+     * @return the metadata the post was indexed with, or nothing if it was not indexed
+     */
+    public Optional<IndexedPost> remove(final Long id) {
+        lock.writeLock().lock();
+        try {
+            Optional<IndexedPost> removed = columns.remove(id);
+            logWrite(target -> target.remove(id));
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads the whole index from the database, in batches of metadata-only rows, and swaps it in. Rebuilds
+     * are serialized.
+     */
+    @Scheduled(fixedDelayString = "${blog.index.rebuild-interval:10m}",
+            initialDelayString = "${blog.index.rebuild-interval:10m}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Columns rebuilt = new Columns(Math.max(16, size()));
+
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            load(rebuilt);
+        } catch (RuntimeException e) {
+            endRebuild(null);
+            throw e;
+        }
+        int replayed = endRebuild(rebuilt);
+
+        log.info("Indexed metadata of {} posts in {} ms, replayed {} concurrent write(s)", rebuilt.ids.size(),
+                (System.nanoTime() - start) / 1_000_000, replayed);
+    }
+
+    /**
+     * Loads the metadata of every post into the index, in batches read with a keyset cursor.
+     */
+    private void load(final Columns rebuilt) {
+        long afterId = 0;
+        List<BlogPostMetadata> batch;
+        do {
+            batch = blogRepository.findMetadataAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (BlogPostMetadata post : batch) {
+                rebuilt.upsert(post.id(), post.tenantId(), post.category(),
+                        blogPostMapper.mapJSONStringToSet(post.tags()), post.createdAt(), post.updatedAt());
+                afterId = post.id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+    }
+
+    /**
+     * Stops logging the writes and, unless the rebuild failed, replays them on the reloaded index and swaps it in.
+     *
+     * @param rebuilt the reloaded index, or {@code null} if the rebuild failed
+     * @return the number of replayed writes
+     */
+    private int endRebuild(final Columns rebuilt) {
+        lock.writeLock().lock();
+        try {
+            int writes = writesDuringRebuild.size();
+            if (rebuilt != null) {
+                writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                columns = rebuilt;
+            }
+            writesDuringRebuild = null;
+            return writes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the write to the index, and logs it for replay if a rebuild is scanning the database.
+     */
+    private void apply(final Consumer<Columns> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(columns);
+            logWrite(write);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Logs a write for replay if a rebuild is scanning the database. Must be called with the write lock held.
+     */
+    private void logWrite(final Consumer<Columns> write) {
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.add(write);
+        }
+    }
+
+    /**
+     * @return the number of indexed posts
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the index before the web server starts accepting requests.
+     */
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * The metadata a post is indexed with.
+     *
+     * @param tenantId the id of the tenant owning the post
+     * @param category the category of the post, or {@code null}
+     * @param tags     the tags of the post
+     */
+    public record IndexedPost(String tenantId, String category, Set<String> tags) {
+    }
+
+    /**
+     * The column storage. Not thread-safe, guarded by the lock of the index.
+     */
+    private static final class Columns {
+
+        private final LongIntHashMap ids;
+        private final Map<String, Integer> tenantCodes = new HashMap<>();
+        private final List<String> tenantValues = new ArrayList<>();
+        private final List<BitSet> tenantBitmaps = new ArrayList<>();
+        private final Map<String, Integer> categoryCodes = new HashMap<>();
+        private final List<String> categoryValues = new ArrayList<>();
+        private final List<BitSet> categoryBitmaps = new ArrayList<>();
+        private final Map<String, Integer> tagCodes = new HashMap<>();
+        private final List<String> tagValues = new ArrayList<>();
+        private final List<BitSet> tagBitmaps = new ArrayList<>();
+        private final BitSet live = new BitSet();
+
+        private long[] rowIds;
+        private long[] createdAt;
+        private long[] updatedAt;
+        private int[] tenants;
+        private int[] categories;
+        private int[][] tags;
+        private int rows;
+
+        Columns(final int capacity) {
+            ids = new LongIntHashMap(capacity);
+            rowIds = new long[capacity];
+            createdAt = new long[capacity];
+            updatedAt = new long[capacity];
+            tenants = new int[capacity];
+            categories = new int[capacity];
+            tags = new int[capacity][];
+        }
+
+        void upsert(final long id, final String tenantId, final String category, final Set<String> tagSet,
+                    final Instant created, final Instant updated) {
+            int row = ids.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                row = appendRow(id);
+            } else {
+                clearCodes(row);
+            }
+
+            createdAt[row] = toMillis(created);
+            updatedAt[row] = toMillis(updated);
+
+            int tenantCode = encode(tenantId, tenantCodes, tenantValues, tenantBitmaps);
+            tenants[row] = tenantCode;
+            tenantBitmaps.get(tenantCode).set(row);
+
+            int categoryCode = category == null
+                    ? -1
+                    : encode(category, categoryCodes, categoryValues, categoryBitmaps);
+            categories[row] = categoryCode;
+            if (categoryCode >= 0) {
+                categoryBitmaps.get(categoryCode).set(row);
+            }
+
+            int[] tagCodesOfRow = new int[tagSet.size()];
+            int i = 0;
+            for (String tag : tagSet) {
+                int tagCode = encode(tag, tagCodes, tagValues, tagBitmaps);
+                tagBitmaps.get(tagCode).set(row);
+                tagCodesOfRow[i++] = tagCode;
+            }
+            tags[row] = tagCodesOfRow;
+
+            live.set(row);
+        }
+
+        Optional<IndexedPost> remove(final long id) {
+            int row = ids.get(id);
+            if (row == LongIntHashMap.MISSING) {
+                return Optional.empty();
+            }
+
+            Set<String> tagsOfRow = new HashSet<>();
+            for (int tagCode : tags[row]) {
+                tagsOfRow.add(tagValues.get(tagCode));
+            }
+            IndexedPost removed = new IndexedPost(tenantValues.get(tenants[row]),
+                    categories[row] >= 0 ? categoryValues.get(categories[row]) : null, tagsOfRow);
+
+            clearCodes(row);
+            live.clear(row);
+            ids.remove(id);
+            return Optional.of(removed);
+        }
+
+        int count(final String tenantId) {
+            Integer code = tenantCodes.get(tenantId);
+            return code == null ? 0 : tenantBitmaps.get(code).cardinality();
+        }
+
+        long[] select(final String tenantId, final BlogPostQuery query) {
+            long[] sortKeys = sortKeys(query.sort());
+
+            BitSet matches = (BitSet) live.clone();
+            if (!intersect(matches, tenantId, tenantCodes, tenantBitmaps)) {
+                return new long[0];
+            }
+            if (query.category() != null && !intersect(matches, query.category(), categoryCodes, categoryBitmaps)) {
+                return new long[0];
+            }
+            for (String tag : query.tags()) {
+                if (!intersect(matches, tag, tagCodes, tagBitmaps)) {
+                    return new long[0];
+                }
+            }
+
+            int[] matchingRows = matches.stream().toArray();
+            if (sortKeys != null) {
+                RowSorter.sort(matchingRows, sortKeys, query.sort().iterator().next().isDescending());
+            }
+
+            long[] result = new long[matchingRows.length];
+            for (int i = 0; i < matchingRows.length; i++) {
+                result[i] = rowIds[matchingRows[i]];
+            }
+            return result;
+        }
+
+        private long[] sortKeys(final Sort sort) {
+            requireSortable(sort);
+            if (sort.isUnsorted()) {
+                return null;
+            }
+
+            return switch (sort.iterator().next().getProperty()) {
+                case "id" -> rowIds;
+                case "createdAt" -> createdAt;
+                default -> updatedAt;
+            };
+        }
+
+        private int appendRow(final long id) {
+            if (rows == rowIds.length) {
+                int capacity = rows + (rows >> 1) + 1;
+                rowIds = Arrays.copyOf(rowIds, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+                updatedAt = Arrays.copyOf(updatedAt, capacity);
+                tenants = Arrays.copyOf(tenants, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                tags = Arrays.copyOf(tags, capacity);
+            }
+
+            int row = rows++;
+            rowIds[row] = id;
+            ids.put(id, row);
+            return row;
+        }
+
+        private void clearCodes(final int row) {
+            tenantBitmaps.get(tenants[row]).clear(row);
+            if (categories[row] >= 0) {
+                categoryBitmaps.get(categories[row]).clear(row);
+            }
+            for (int tagCode : tags[row]) {
+                tagBitmaps.get(tagCode).clear(row);
+            }
+        }
+
+        private static boolean intersect(final BitSet matches, final String value, final Map<String, Integer> codes,
+                                         final List<BitSet> bitmaps) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                return false;
+            }
+            matches.and(bitmaps.get(code));
+            return true;
+        }
+
+        private static int encode(final String value, final Map<String, Integer> codes, final List<String> values,
+                                  final List<BitSet> bitmaps) {
+            return codes.computeIfAbsent(value, newValue -> {
+                values.add(newValue);
+                bitmaps.add(new BitSet());
+                return bitmaps.size() - 1;
+            });
+        }
+
+        private static long toMillis(final Instant instant) {
+            return instant == null ? 0 : instant.toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.deimos.projects.bloggingplatformapi.index;
+
+/**
+ * Stable merge sort of row numbers by a primitive key column, avoiding boxed comparators.
+ */
+final class RowSorter {
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private RowSorter() {
+    }
+
+    /**
+     * Sorts the rows in place by their key. Rows with equal keys keep their relative order.
+     *
+     * @param rows       the row numbers to sort
+     * @param keys       the key column, indexed by row number
+     * @param descending whether the largest keys come first
+     */
+    static void sort(final int[] rows, final long[] keys, final boolean descending) {
+        int[] buffer = rows.clone();
+        mergeSort(buffer, rows, 0, rows.length, keys, descending);
+    }
+
+    private static void mergeSort(final int[] source, final int[] target, final int from, final int to,
+                                  final long[] keys, final boolean descending) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(target, from, to, keys, descending);
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, keys, descending);
+        mergeSort(target, source, middle, to, keys, descending);
+
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && !before(source[right], source[left], keys, descending)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    private static void insertionSort(final int[] rows, final int from, final int to, final long[] keys,
+                                      final boolean descending) {
+        for (int i = from + 1; i < to; i++) {
+            int row = rows[i];
+            int j = i - 1;
+            while (j >= from && before(row, rows[j], keys, descending)) {
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            rows[j + 1] = row;
+        }
+    }
+
+    private static boolean before(final int row, final int other, final long[] keys, final boolean descending) {
+        return descending ? keys[row] > keys[other] : keys[row] < keys[other];
+    }
+}
@@ -0,0 +1,23 @@
+package org.deimos.projects.bloggingplatformapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents the blog posts fetched by id in a single request.
+ * <p>
+ * The response includes two attributes:
+ * - posts: The blog posts that were found, in the order of the requested ids.
+ * - missingIds: The requested ids for which no published blog post exists, in the order they were requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogPostBatchResponse {
+
+    private List<BlogPostResponse> posts;
+    private List<Long> missingIds;
+}
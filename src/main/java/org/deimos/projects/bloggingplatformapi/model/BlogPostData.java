@@ -3,35 +3,57 @@ package org.deimos.projects.bloggingplatformapi.model;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.Instant;
 
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+
 /**
  * Represents an entry in a blogging platform.
  * This entity includes metadata about the blog post, such as the title, content, category, tags,
  * and audit information regarding its creation and modification.
  * It is intended to serve as a data model for storing and retrieving blog posts.
+ * Deleted posts are kept as tombstones until they are purged, and are never loaded by queries.
+ * Posts scheduled in the future stay unpublished, and hidden from readers, until their publication time.
+ * Every post belongs to a single tenant, and is only ever visible to that tenant.
  * <p>
  * Fields:
  * <li> id: Unique identifier for the blog post.
+ * <li> tenantId: Identifier of the tenant owning the blog post.
  * <li> title: Title of the blog post.
  * <li> content: Main content or body of the blog post.
  * <li> category: Category under which the blog post is filed.
  * <li> tags: List of tags or keywords associated with the blog post.
+ * <li> wordCount: Number of words of the content, derived asynchronously after each change.
+ * <li> readingTimeMinutes: Estimated reading time of the content, derived asynchronously after each change.
+ * <li> publishAt: Timestamp when the blog post goes live, if it was scheduled.
+ * <li> published: Whether the blog post is visible to readers.
+ * <li> publishedAt: Timestamp when the blog post went live, on creation or at its scheduled publication.
  * <li> createdAt: Timestamp when the blog post was created.
  * <li> createdBy: Identifier of the user who initially created the blog post.
  * <li> updatedAt: Timestamp of the last modification performed on the blog post.
  * <li> updatedBy: Identifier of the user who last modified the blog post.
+ * <li> deleted: Whether the blog post was deleted and is waiting to be purged.
+ * <li> deletedAt: Timestamp when the blog post was deleted.
  */
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "BLOG_POST")
+@Table(name = "BLOG_POST", indexes = {
+        @Index(name = "IDX_BLOG_POST_TENANT_PUBLISHED", columnList = "tenantId, published, id"),
+        @Index(name = "IDX_BLOG_POST_TENANT_PUBLISHED_AT", columnList = "tenantId, published, publishedAt"),
+        @Index(name = "IDX_BLOG_POST_DELETED", columnList = "deleted, deletedAt")
+})
+@SQLRestriction("deleted = false")
 public class BlogPostData {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false, updatable = false, length = 64)
+    private String tenantId = DEFAULT_TENANT;
+
     private String title;
 
     @Lob
@@ -41,17 +63,36 @@ public class BlogPostData {
 
     private String tags;
 
+    private Integer wordCount;
+
+    private Integer readingTimeMinutes;
+
+    private Instant publishAt;
+
+    @Column(nullable = false)
+    private boolean published = true;
+
+    private Instant publishedAt;
+
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @Column(nullable = false)
+    private boolean deleted;
+
+    private Instant deletedAt;
+
     @PrePersist
     protected void onCreate() {
         Instant currentTimeStamp = Instant.now();
         this.createdAt = currentTimeStamp;
         this.updatedAt = currentTimeStamp;
+        if (published) {
+            this.publishedAt = currentTimeStamp;
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,17 @@
+package org.deimos.projects.bloggingplatformapi.model;
+
+import java.time.Instant;
+
+/**
+ * Projection of a blog post without its content, used to build the in-memory metadata index.
+ *
+ * @param id        the unique identifier of the blog post
+ * @param tenantId  the identifier of the tenant owning the blog post
+ * @param category  the category of the blog post
+ * @param tags      the JSON-encoded tags of the blog post
+ * @param createdAt the timestamp when the blog post was created
+ * @param updatedAt the timestamp of the last modification of the blog post
+ */
+public record BlogPostMetadata(Long id, String tenantId, String category, String tags, Instant createdAt,
+                               Instant updatedAt) {
+}
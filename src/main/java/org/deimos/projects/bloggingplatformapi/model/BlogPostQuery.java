@@ -0,0 +1,30 @@
+package org.deimos.projects.bloggingplatformapi.model;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Filtering and sorting options of the blog post list.
+ *
+ * @param category the category the blog posts must belong to, or {@code null} for any category
+ * @param tags     the tags the blog posts must all have, empty for no tag filtering
+ * @param sort     the order of the blog posts; unsorted means creation order
+ */
+public record BlogPostQuery(String category, Set<String> tags, Sort sort) {
+
+    public static final BlogPostQuery UNFILTERED = new BlogPostQuery(null, Set.of(), Sort.unsorted());
+
+    public BlogPostQuery {
+        tags = tags == null ? Set.of() : Set.copyOf(tags);
+        sort = sort == null ? Sort.unsorted() : sort;
+    }
+
+    public boolean isUnfiltered() {
+        return category == null && tags.isEmpty() && sort.isUnsorted();
+    }
+
+    public boolean isSortOnly() {
+        return category == null && tags.isEmpty() && sort.isSorted();
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.Set;
 
 /**
@@ -14,7 +15,7 @@ import java.util.Set;
  * <p>
  * The class contains the details of the blog post, including its title,
  * content, category, and associated tags. It is utilized in APIs for creating and
- * updating blog posts.
+ * updating blog posts. An optional future publication time keeps the post hidden until then.
  */
 @Data
 @NoArgsConstructor
@@ -28,4 +29,5 @@ public class BlogPostRequest {
     private String category;
     @NotEmpty
     private Set<String> tags;
+    private Instant publishAt;
 }
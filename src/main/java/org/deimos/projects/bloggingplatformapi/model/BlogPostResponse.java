@@ -1,6 +1,7 @@
 package org.deimos.projects.bloggingplatformapi.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -18,16 +19,25 @@ import java.util.Set;
  * <p>
  * This class is primarily utilized in the service and controller layers of the
  * blogging platform API for presenting blog post data to API consumers.
+ * <p>
+ * The tenant owning the blog post is kept for the caches, which must not serve it to other tenants,
+ * but is never serialized to clients.
  */
 @Data
 @NoArgsConstructor
 public class BlogPostResponse {
 
     private Long id;
+    @JsonIgnore
+    private String tenantId;
     private String title;
     private String content;
     private String category;
     private Set<String> tags;
+    private Integer wordCount;
+    private Integer readingTimeMinutes;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
+    private Instant publishAt;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
     private Instant createdAt;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
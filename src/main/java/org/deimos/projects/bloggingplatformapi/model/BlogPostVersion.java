@@ -0,0 +1,13 @@
+package org.deimos.projects.bloggingplatformapi.model;
+
+import java.time.Instant;
+
+/**
+ * Lightweight projection of a blog post, holding only what is needed to tell whether
+ * a copy of the post is still up to date.
+ *
+ * @param id        the unique identifier of the blog post
+ * @param updatedAt the timestamp of the last modification of the blog post
+ */
+public record BlogPostVersion(Long id, Instant updatedAt) {
+}
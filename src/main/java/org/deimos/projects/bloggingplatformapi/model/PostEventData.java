@@ -0,0 +1,56 @@
+package org.deimos.projects.bloggingplatformapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Represents an entry of the transactional outbox of post changes.
+ * An event is stored in the same transaction as the change it describes, and it is removed once
+ * every derived-data processor handled it, so a change can never be lost between the commit and
+ * the asynchronous processing.
+ * <p>
+ * Fields:
+ * <li> id: Unique identifier of the event, also defining the processing order.
+ * <li> postId: Identifier of the blog post that changed.
+ * <li> type: Kind of change performed on the blog post.
+ * <li> createdAt: Timestamp when the event was stored, within the transaction of the change but before its commit,
+ * used to measure the processing lag.
+ * <li> failedDeliveries: Number of deliveries of the event to the processors that failed. The event is parked,
+ * kept in the outbox but not redelivered anymore, once it reaches the configured maximum.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "POST_EVENT", indexes = @Index(name = "IDX_POST_EVENT_CREATED_AT", columnList = "createdAt"))
+public class PostEventData {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long postId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PostEventType type;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private int failedDeliveries;
+
+    public PostEventData(final Long postId, final PostEventType type) {
+        this.postId = postId;
+        this.type = type;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,10 @@
+package org.deimos.projects.bloggingplatformapi.model;
+
+/**
+ * Kind of change performed on a blog post, as recorded in the post event outbox.
+ */
+public enum PostEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
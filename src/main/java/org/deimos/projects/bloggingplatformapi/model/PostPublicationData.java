@@ -0,0 +1,42 @@
+package org.deimos.projects.bloggingplatformapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Represents the pending publication of a blog post scheduled in the future, and the lease of the
+ * application instance in charge of publishing it.
+ * The row is deleted by the instance that publishes the post, in the same transaction, so a post is
+ * published once even when several instances load the upcoming publications.
+ * <p>
+ * Fields:
+ * <li> postId: Identifier of the scheduled blog post.
+ * <li> publishAt: Timestamp when the blog post must go live.
+ * <li> owner: Identifier of the application instance holding the lease, if any.
+ * <li> leaseExpiresAt: Timestamp after which another instance may claim the publication.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "POST_PUBLICATION", indexes = @Index(name = "IDX_POST_PUBLICATION_PUBLISH_AT", columnList = "publishAt"))
+public class PostPublicationData {
+
+    @Id
+    private Long postId;
+
+    @Column(nullable = false)
+    private Instant publishAt;
+
+    @Column(length = 64)
+    private String owner;
+
+    private Instant leaseExpiresAt;
+
+    public PostPublicationData(final Long postId, final Instant publishAt) {
+        this.postId = postId;
+        this.publishAt = publishAt;
+    }
+}
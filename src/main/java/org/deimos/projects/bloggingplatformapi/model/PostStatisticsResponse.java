@@ -0,0 +1,30 @@
+package org.deimos.projects.bloggingplatformapi.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Represents the aggregate statistics of the published blog posts.
+ * <p>
+ * The response includes:
+ * - totalPosts: The number of published blog posts.
+ * - postsPerCategory: The number of posts of every category, from the largest category to the smallest.
+ * - topTags: The most used tags with their number of posts, from the most used.
+ * - computedAt: When the counters were read; they lag the latest writes by up to a second.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostStatisticsResponse {
+
+    private long totalPosts;
+    private Map<String, Long> postsPerCategory;
+    private Map<String, Long> topTags;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "UTC")
+    private Instant computedAt;
+}
@@ -34,7 +34,8 @@ import java.util.stream.StreamSupport;
  *   using a qualified method.
  * <li> Merge updates from a new BlogPostData into an existing BlogPostData instance during updates, ensuring
  *   immutability for specific fields such as createdAt and updatedAt.
- * <li> Map collections of BlogPostData to a list of BlogPostResponse using stream processing.
+ * <li> Map collections of BlogPostData to a list of BlogPostResponse using stream processing, or in parallel
+ *   on the {@link ListMappingExecutor} for large lists.
  * </ul>
  * <p>
  * Custom Logic:
@@ -47,23 +48,43 @@ import java.util.stream.StreamSupport;
 @Mapper(componentModel = "spring")
 public abstract class BlogPostMapper {
 
+    private static final TypeReference<Set<String>> STRING_SET = new TypeReference<>() {};
+
     @Autowired
     protected ObjectMapper objectMapper;
 
+    @Autowired(required = false)
+    protected ListMappingExecutor listMappingExecutor;
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "tenantId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "wordCount", ignore = true)
+    @Mapping(target = "readingTimeMinutes", ignore = true)
+    @Mapping(target = "published", ignore = true)
+    @Mapping(target = "publishedAt", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     public abstract BlogPostData mapRequestToBlogPostData(final BlogPostRequest blogPostRequest);
 
     public abstract BlogPostResponse mapBlogPostDataToResponse(final BlogPostData blogPostData);
 
     @Mapping(source = "oldPost.id", target = "id")
+    @Mapping(source = "oldPost.tenantId", target = "tenantId")
     @Mapping(source = "newPost.title", target = "title")
     @Mapping(source = "newPost.content", target = "content")
     @Mapping(source = "newPost.category", target = "category")
     @Mapping(source = "newPost.tags", target = "tags")
     @Mapping(source = "oldPost.createdAt", target = "createdAt")
     @Mapping(source = "oldPost.updatedAt", target = "updatedAt")
+    @Mapping(source = "oldPost.wordCount", target = "wordCount")
+    @Mapping(source = "oldPost.readingTimeMinutes", target = "readingTimeMinutes")
+    @Mapping(source = "newPost.publishAt", target = "publishAt")
+    @Mapping(source = "oldPost.published", target = "published")
+    @Mapping(source = "oldPost.publishedAt", target = "publishedAt")
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     public abstract BlogPostData mapUpdatedBlogPostData(final BlogPostData newPost, final BlogPostData oldPost);
 
     protected String mapStringSetToJSON(final Set<String> stringSet) {
@@ -78,14 +99,13 @@ public abstract class BlogPostMapper {
         }
     }
 
-    protected Set<String> mapJSONStringToSet(final String jsonString) {
+    public Set<String> mapJSONStringToSet(final String jsonString) {
         if (jsonString == null || jsonString.isBlank()) {
             return Collections.emptySet();
         }
 
         try {
-            TypeReference<Set<String>> typeRef = new TypeReference<>() {};
-            return objectMapper.readValue(jsonString, typeRef);
+            return objectMapper.readValue(jsonString, STRING_SET);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to parse JSON string to Set<String>: " + jsonString, e);
         } catch (Exception e) {
@@ -94,6 +114,10 @@ public abstract class BlogPostMapper {
     }
 
     public List<BlogPostResponse> mapToBlogPostList(final Iterable<BlogPostData> blogEntries) {
+        if (listMappingExecutor != null && blogEntries instanceof List<BlogPostData> blogEntryList) {
+            return listMappingExecutor.map(blogEntryList, this::mapBlogPostDataToResponse);
+        }
+
         return StreamSupport.stream(blogEntries.spliterator(), false)
                 .map(this::mapBlogPostDataToResponse)
                 .toList();
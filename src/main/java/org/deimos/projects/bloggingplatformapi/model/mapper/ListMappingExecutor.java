@@ -0,0 +1,97 @@
+package org.deimos.projects.bloggingplatformapi.model.mapper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Maps lists element by element, in parallel once they are large enough, keeping the order of the elements.
+ * <p>
+ * Lists below the threshold are mapped sequentially on the calling thread. Larger lists are split into ranges
+ * that are mapped by fork-join tasks on a dedicated pool of bounded parallelism, each writing its results
+ * directly to its slots of the result array, so the order is kept without merging. The calling thread waits for
+ * the result; the common pool is never used, so a burst of large responses cannot starve the other users of it.
+ * <p>
+ * The mapping function runs on pool threads: it must not depend on thread-bound state, such as lazy loading of
+ * entities through the persistence context of the request.
+ */
+public class ListMappingExecutor implements AutoCloseable {
+
+    private final int parallelThreshold;
+    private final int minChunkSize;
+    private final ForkJoinPool pool;
+
+    public ListMappingExecutor(final int parallelThreshold, final int parallelism, final int minChunkSize) {
+        this.parallelThreshold = parallelThreshold;
+        this.minChunkSize = Math.max(1, minChunkSize);
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("post-mapping-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * @param source the elements to map
+     * @param mapper the mapping function, free of side effects
+     * @return the mapped elements, in the order of the source, as an unmodifiable list
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> List<R> map(final List<T> source, final Function<? super T, ? extends R> mapper) {
+        int size = source.size();
+        if (size < parallelThreshold || !(source instanceof RandomAccess)) {
+            return source.stream().<R>map(mapper).toList();
+        }
+
+        Object[] target = new Object[size];
+        // A few ranges per thread, so threads finishing early steal the remaining ones
+        int chunkSize = Math.max(minChunkSize, size / (pool.getParallelism() * 4) + 1);
+        pool.invoke(new MapRange<>(source, mapper, target, 0, size, chunkSize));
+
+        return (List<R>) Collections.unmodifiableList(Arrays.asList(target));
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private static final class MapRange<T> extends RecursiveAction {
+
+        private final List<T> source;
+        private final Function<? super T, ?> mapper;
+        private final Object[] target;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private MapRange(final List<T> source, final Function<? super T, ?> mapper, final Object[] target,
+                         final int from, final int to, final int chunkSize) {
+            this.source = source;
+            this.mapper = mapper;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    target[i] = mapper.apply(source.get(i));
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new MapRange<>(source, mapper, target, from, middle, chunkSize),
+                    new MapRange<>(source, mapper, target, middle, to, chunkSize));
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package org.deimos.projects.bloggingplatformapi.pipeline;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.deimos.projects.bloggingplatformapi.configuration.PostPipelineProperties;
+import org.deimos.projects.bloggingplatformapi.model.PostEventData;
+import org.deimos.projects.bloggingplatformapi.repository.PostEventRepository;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process, bounded, multi-worker pipeline running the {@link PostEventProcessor}s after post changes commit.
+ * <p>
+ * Events are partitioned by post id across a fixed number of workers, each one owning a bounded queue,
+ * so the events of a given post dispatched together are processed by the same worker and in dispatch order.
+ * Ordering does not hold across deliveries: an event left in the outbox is redelivered later, possibly after
+ * the later events of its post were processed.
+ * Workers drain their queue in batches, retry failing batches with an exponential backoff, and delete
+ * the processed events from the outbox.
+ * <p>
+ * The write path never waits for the processors: dispatching only offers the event to a queue. An event that
+ * does not fit, or whose processing keeps failing, stays in the outbox and is dispatched again by
+ * {@link #redeliver()} once it is older than the redelivery delay, which also covers events left behind by a crash.
+ * <p>
+ * A batch still failing after its retries is processed again one event at a time, so a poison event only holds
+ * back itself. Each delivery of an event that fails is counted in the outbox,
+ * and the event is parked after {@code maxDeliveries} failed deliveries: it is kept there with a warning, but no
+ * longer redelivered.
+ * <p>
+ * Metrics:
+ * <ul>
+ * <li> {@code blog.pipeline.lag}: time between the recording of a change and the end of its processing.
+ * <li> {@code blog.pipeline.pending}: number of events waiting in the worker queues.
+ * </ul>
+ */
+@Slf4j
+public class PostEventPipeline implements SmartLifecycle {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final List<PostEventProcessor> processors;
+    private final PostEventRepository postEventRepository;
+    private final PostPipelineProperties properties;
+    private final List<BlockingQueue<PostEventData>> queues;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Timer lagTimer;
+
+    private volatile boolean running;
+
+    public PostEventPipeline(final List<PostEventProcessor> processors,
+                             final PostEventRepository postEventRepository,
+                             final PostPipelineProperties properties,
+                             final MeterRegistry meterRegistry) {
+        if (properties.getWorkers() < 1) {
+            throw new IllegalArgumentException("The pipeline needs at least one worker: " + properties.getWorkers());
+        }
+        this.processors = List.copyOf(processors);
+        this.postEventRepository = postEventRepository;
+        this.properties = properties;
+
+        List<BlockingQueue<PostEventData>> workerQueues = new ArrayList<>();
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workerQueues.add(new ArrayBlockingQueue<>(properties.getQueueCapacity()));
+        }
+        this.queues = List.copyOf(workerQueues);
+
+        this.lagTimer = Timer.builder("blog.pipeline.lag")
+                .description("Time between a post change commit and the end of its processing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("blog.pipeline.pending", this, PostEventPipeline::pendingEvents)
+                .description("Post events waiting in the pipeline queues")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands a committed event over to the worker owning its post. Never blocks.
+     *
+     * @param event the outbox event to process
+     */
+    public void dispatch(final PostEventData event) {
+        if (!inFlight.add(event.getId())) {
+            return;
+        }
+
+        BlockingQueue<PostEventData> queue = queues.get(Math.floorMod(event.getPostId().hashCode(), queues.size()));
+        if (!queue.offer(event)) {
+            inFlight.remove(event.getId());
+            log.warn("Pipeline queue full, post event {} left in the outbox for redelivery", event.getId());
+        }
+    }
+
+    /**
+     * Dispatches again the outbox events that should have been processed by now.
+     */
+    @Scheduled(fixedDelayString = "${blog.pipeline.redelivery-delay:30s}")
+    public void redeliver() {
+        if (!running) {
+            return;
+        }
+
+        Instant createdBefore = Instant.now().minus(properties.getRedeliveryDelay());
+        int limit = properties.getWorkers() * properties.getQueueCapacity();
+
+        postEventRepository.findByCreatedAtBeforeAndFailedDeliveriesLessThanOrderByIdAsc(createdBefore,
+                        properties.getMaxDeliveries(), PageRequest.of(0, limit))
+                .forEach(this::dispatch);
+    }
+
+    public int pendingEvents() {
+        return queues.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < queues.size(); i++) {
+            BlockingQueue<PostEventData> queue = queues.get(i);
+            Thread worker = new Thread(() -> work(queue), "post-pipeline-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(properties.getRetryBackoff().toMillis() + POLL_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work(final BlockingQueue<PostEventData> queue) {
+        List<PostEventData> batch = new ArrayList<>(properties.getBatchSize());
+
+        while (running) {
+            try {
+                PostEventData first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                processWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.forEach(event -> inFlight.remove(event.getId()));
+                batch.clear();
+            }
+        }
+    }
+
+    private void processWithRetry(final List<PostEventData> batch) throws InterruptedException {
+        long backoffMillis = properties.getRetryBackoff().toMillis();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                process(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    log.error("Failed to process {} post events after {} attempts", batch.size(), attempt, e);
+                    recordFailedDelivery(batch.size() == 1 ? batch : processOneByOne(batch));
+                    return;
+                }
+
+                log.warn("Failed to process {} post events (attempt {}), retrying", batch.size(), attempt, e);
+                Thread.sleep(backoffMillis);
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    private void process(final List<PostEventData> events) {
+        for (PostEventProcessor processor : processors) {
+            processor.process(events);
+        }
+        postEventRepository.deleteAllByIdInBatch(events.stream().map(PostEventData::getId).toList());
+
+        Instant processedAt = Instant.now();
+        events.forEach(event -> lagTimer.record(Duration.between(event.getCreatedAt(), processedAt)));
+    }
+
+    /**
+     * Processes the events of a failed batch one at a time, in order, so only the failing events are left for
+     * redelivery.
+     *
+     * @return the events whose processing failed
+     */
+    private List<PostEventData> processOneByOne(final List<PostEventData> batch) {
+        List<PostEventData> failed = new ArrayList<>();
+
+        for (PostEventData event : batch) {
+            try {
+                process(List.of(event));
+            } catch (RuntimeException e) {
+                failed.add(event);
+            }
+        }
+        return failed;
+    }
+
+    private void recordFailedDelivery(final List<PostEventData> failed) {
+        if (failed.isEmpty()) {
+            return;
+        }
+
+        try {
+            postEventRepository.recordFailedDelivery(failed.stream().map(PostEventData::getId).toList());
+        } catch (RuntimeException e) {
+            log.warn("Failed to record the failed delivery of {} post events", failed.size(), e);
+            return;
+        }
+
+        for (PostEventData event : failed) {
+            int failedDeliveries = event.getFailedDeliveries() + 1;
+            if (failedDeliveries >= properties.getMaxDeliveries()) {
+                log.warn("Parking post event {} of post {} after {} failed deliveries, it will not be redelivered",
+                        event.getId(), event.getPostId(), failedDeliveries);
+            } else {
+                log.info("Post event {} of post {} left in the outbox for redelivery ({} failed deliveries)",
+                        event.getId(), event.getPostId(), failedDeliveries);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.deimos.projects.bloggingplatformapi.pipeline;
+
+import org.deimos.projects.bloggingplatformapi.model.PostEventData;
+
+import java.util.List;
+
+/**
+ * Computes data derived from blog posts (indexes, excerpts, statistics...) after their changes are committed.
+ * <p>
+ * Every {@code PostEventProcessor} bean is invoked by the {@link PostEventPipeline} with batches of events.
+ * Within a batch, the events of a post are in the order they were recorded, but there is no ordering across
+ * deliveries: an event that failed and is redelivered may be processed after the later events of its post.
+ * Delivery is at-least-once as well, so implementations must be idempotent, and should derive their data from
+ * the current state of the post rather than from the event alone.
+ */
+public interface PostEventProcessor {
+
+    /**
+     * Processes a batch of post events. Throwing an exception makes the whole batch be retried.
+     *
+     * @param events the events to process, ordered by id
+     */
+    void process(List<PostEventData> events);
+}
@@ -0,0 +1,35 @@
+package org.deimos.projects.bloggingplatformapi.pipeline;
+
+import lombok.RequiredArgsConstructor;
+import org.deimos.projects.bloggingplatformapi.model.PostEventData;
+import org.deimos.projects.bloggingplatformapi.model.PostEventType;
+import org.deimos.projects.bloggingplatformapi.repository.PostEventRepository;
+import org.springframework.stereotype.Component;
+
+import static org.deimos.projects.bloggingplatformapi.utils.TransactionUtils.afterCommit;
+
+/**
+ * Records post changes in the outbox and hands them over to the {@link PostEventPipeline} once committed.
+ * <p>
+ * The outbox row is written in the caller's transaction, so it is committed or rolled back together
+ * with the change itself. The only cost added to the write path is that single insert.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostEventPublisher {
+
+    private final PostEventRepository postEventRepository;
+    private final PostEventPipeline postEventPipeline;
+
+    /**
+     * Publishes a change of the given post.
+     *
+     * @param postId the identifier of the blog post that changed
+     * @param type   the kind of change
+     */
+    public void publish(final Long postId, final PostEventType type) {
+        PostEventData event = postEventRepository.save(new PostEventData(postId, type));
+
+        afterCommit(() -> postEventPipeline.dispatch(event));
+    }
+}
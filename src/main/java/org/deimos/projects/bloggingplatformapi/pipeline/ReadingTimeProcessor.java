@@ -0,0 +1,74 @@
+package org.deimos.projects.bloggingplatformapi.pipeline;
+
+import lombok.RequiredArgsConstructor;
+import org.deimos.projects.bloggingplatformapi.cache.PostCache;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.PostEventData;
+import org.deimos.projects.bloggingplatformapi.model.PostEventType;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.deimos.projects.bloggingplatformapi.utils.TransactionUtils.afterCommit;
+
+/**
+ * Derived-data processor computing the word count and the estimated reading time of blog posts.
+ * <p>
+ * The statistics are always computed from the current content of the post, so processing an event
+ * twice or out of order leaves the same result. Updated posts are evicted from the {@link PostCache} once the
+ * statistics are committed, since they are part of the cached response: an earlier eviction would let a
+ * concurrent read cache the post again with its former statistics.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadingTimeProcessor implements PostEventProcessor {
+
+    private static final int WORDS_PER_MINUTE = 200;
+
+    private final BlogRepository blogRepository;
+    private final PostCache postCache;
+
+    @Override
+    @Transactional
+    public void process(final List<PostEventData> events) {
+        Set<Long> postIds = events.stream()
+                .filter(event -> event.getType() != PostEventType.DELETED)
+                .map(PostEventData::getPostId)
+                .collect(Collectors.toSet());
+
+        for (BlogPostData post : blogRepository.findAllById(postIds)) {
+            int wordCount = countWords(post.getContent());
+            if (!Objects.equals(post.getWordCount(), wordCount)) {
+                Long postId = post.getId();
+                blogRepository.updateReadingStatistics(postId, wordCount, readingTimeMinutes(wordCount));
+                afterCommit(() -> postCache.evict(postId));
+            }
+        }
+    }
+
+    static int countWords(final String content) {
+        if (content == null) {
+            return 0;
+        }
+
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < content.length(); i++) {
+            boolean whitespace = Character.isWhitespace(content.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+        return words;
+    }
+
+    static int readingTimeMinutes(final int wordCount) {
+        return Math.max(1, (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+    }
+}
@@ -0,0 +1,206 @@
+package org.deimos.projects.bloggingplatformapi.publishing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timer wheel: schedules and cancels tasks in constant time, and fires them with tick precision.
+ * <p>
+ * Each level is a ring of {@code wheelSize} slots. A slot of the first level spans one tick, a slot of the
+ * next level spans a whole turn of the previous one, and so on. Tasks are placed on the lowest level whose
+ * range covers their deadline, and cascade down a level each time the wheel reaches their slot, until they
+ * expire on the first level. Deadlines beyond the range of the last level are re-placed on every cascade,
+ * so they are never fired early.
+ * <p>
+ * The wheel has no thread of its own: {@link #advanceTo(Instant)} fires the expired tasks on the calling
+ * thread, outside of the lock, in the order of their deadline tick.
+ */
+public class HierarchicalTimerWheel {
+
+    private final long tickMillis;
+    private final int slotBits;
+    private final int slotMask;
+    private final List<List<ArrayDeque<Timeout>>> levels = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tick      the precision of the wheel
+     * @param wheelSize the number of slots of each level, a power of two
+     * @param levels    the number of levels
+     * @param start     the current time
+     */
+    public HierarchicalTimerWheel(final Duration tick, final int wheelSize, final int levels, final Instant start) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("The wheel size must be a power of two: " + wheelSize);
+        }
+        if (levels < 1 || Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException("Unsupported number of levels: " + levels);
+        }
+
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.slotBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.slotMask = wheelSize - 1;
+        this.currentTick = Math.floorDiv(start.toEpochMilli(), tickMillis);
+
+        for (int level = 0; level < levels; level++) {
+            List<ArrayDeque<Timeout>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new ArrayDeque<>());
+            }
+            this.levels.add(slots);
+        }
+    }
+
+    /**
+     * Schedules a task. A deadline in the past fires on the next advance.
+     *
+     * @param deadline the time the task must run at
+     * @param task     the task to run
+     * @return a handle to cancel the task
+     */
+    public synchronized Timeout schedule(final Instant deadline, final Runnable task) {
+        long deadlineTick = Math.floorDiv(deadline.toEpochMilli() + tickMillis - 1, tickMillis);
+        Timeout timeout = new Timeout(this, deadlineTick, task);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel to the given time, and runs the tasks whose deadline passed.
+     *
+     * @param now the current time
+     * @return the number of tasks run
+     */
+    public int advanceTo(final Instant now) {
+        List<Timeout> expired = new ArrayList<>();
+
+        synchronized (this) {
+            long targetTick = Math.floorDiv(now.toEpochMilli(), tickMillis);
+            if (size == 0) {
+                currentTick = Math.max(currentTick, targetTick);
+            }
+
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade(expired);
+                expire(expired);
+            }
+        }
+
+        for (Timeout timeout : expired) {
+            timeout.task.run();
+        }
+        return expired.size();
+    }
+
+    /**
+     * @return the number of scheduled tasks
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(final List<Timeout> expired) {
+        for (int level = 1; level < levels.size(); level++) {
+            long levelMask = (1L << (slotBits * level)) - 1;
+            if ((currentTick & levelMask) != 0) {
+                return;
+            }
+
+            ArrayDeque<Timeout> slot = levels.get(level).get(slotIndex(currentTick, level));
+            drain(slot, expired);
+        }
+    }
+
+    private void expire(final List<Timeout> expired) {
+        drain(levels.get(0).get(slotIndex(currentTick, 0)), expired);
+    }
+
+    private void drain(final ArrayDeque<Timeout> slot, final List<Timeout> expired) {
+        List<Timeout> entries = new ArrayList<>(slot);
+        slot.clear();
+
+        for (Timeout timeout : entries) {
+            if (timeout.deadlineTick <= currentTick) {
+                timeout.slot = null;
+                size--;
+                expired.add(timeout);
+            } else {
+                place(timeout);
+            }
+        }
+    }
+
+    private void place(final Timeout timeout) {
+        long remaining = timeout.deadlineTick - currentTick;
+        if (remaining <= 0) {
+            // Expires on the next tick
+            addTo(timeout, 0, currentTick + 1);
+            return;
+        }
+
+        int last = levels.size() - 1;
+        for (int level = 0; level < last; level++) {
+            if (remaining < 1L << (slotBits * (level + 1))) {
+                addTo(timeout, level, timeout.deadlineTick);
+                return;
+            }
+        }
+
+        // Beyond the range of the wheel: park it on the farthest slot, it is re-placed when that slot cascades
+        long lastRange = 1L << (slotBits * (last + 1));
+        long tick = remaining < lastRange ? timeout.deadlineTick : currentTick + lastRange - 1;
+        addTo(timeout, last, tick);
+    }
+
+    private void addTo(final Timeout timeout, final int level, final long tick) {
+        ArrayDeque<Timeout> slot = levels.get(level).get(slotIndex(tick, level));
+        slot.add(timeout);
+        timeout.slot = slot;
+    }
+
+    private synchronized boolean cancel(final Timeout timeout) {
+        if (timeout.slot == null || !timeout.slot.remove(timeout)) {
+            return false;
+        }
+        timeout.slot = null;
+        size--;
+        return true;
+    }
+
+    private int slotIndex(final long tick, final int level) {
+        return (int) (tick >>> (slotBits * level)) & slotMask;
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+
+        private final HierarchicalTimerWheel wheel;
+        private final long deadlineTick;
+        private final Runnable task;
+        private ArrayDeque<Timeout> slot;
+
+        private Timeout(final HierarchicalTimerWheel wheel, final long deadlineTick, final Runnable task) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the task, unless it already ran or is running.
+         *
+         * @return whether the task was cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+}
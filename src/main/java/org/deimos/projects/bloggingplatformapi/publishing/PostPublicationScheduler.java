@@ -0,0 +1,226 @@
+package org.deimos.projects.bloggingplatformapi.publishing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.deimos.projects.bloggingplatformapi.cache.PostExistenceFilter;
+import org.deimos.projects.bloggingplatformapi.configuration.PublishingProperties;
+import org.deimos.projects.bloggingplatformapi.index.PostMetadataIndex;
+import org.deimos.projects.bloggingplatformapi.model.PostPublicationData;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.deimos.projects.bloggingplatformapi.repository.PostPublicationRepository;
+import org.deimos.projects.bloggingplatformapi.statistics.PostStatistics;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.deimos.projects.bloggingplatformapi.utils.TransactionUtils.afterCommit;
+
+/**
+ * Publishes the blog posts scheduled in the future, at their publication time.
+ * <p>
+ * Instead of polling the posts, every instance periodically claims the leases of the publications due
+ * within the horizon ({@link #claimUpcoming()}), and loads the publications it owns into a
+ * {@link HierarchicalTimerWheel}. When a publication fires, the instance deletes its lease row and marks the
+ * post as published in one transaction; deleting the row only succeeds for the current lease owner, so each
+ * post is published by a single instance. The publications of an instance that stops are claimed by another
+ * one once their lease expires.
+ * <p>
+ * Publications scheduled by this instance within the horizon are leased and loaded right away, so they do not
+ * wait for the next claim.
+ */
+@Slf4j
+public class PostPublicationScheduler implements SmartLifecycle {
+
+    private final PostPublicationRepository postPublicationRepository;
+    private final BlogRepository blogRepository;
+    private final PostMetadataIndex postMetadataIndex;
+    private final PostExistenceFilter postExistenceFilter;
+    private final PostStatistics postStatistics;
+    private final TransactionTemplate transactionTemplate;
+    private final PublishingProperties properties;
+    private final HierarchicalTimerWheel wheel;
+    private final Map<Long, ScheduledPublication> scheduled = new ConcurrentHashMap<>();
+
+    private Thread timerThread;
+    private volatile boolean running;
+
+    public PostPublicationScheduler(final PostPublicationRepository postPublicationRepository,
+                                    final BlogRepository blogRepository,
+                                    final PostMetadataIndex postMetadataIndex,
+                                    final PostExistenceFilter postExistenceFilter,
+                                    final PostStatistics postStatistics,
+                                    final TransactionTemplate transactionTemplate,
+                                    final PublishingProperties properties) {
+        this.postPublicationRepository = postPublicationRepository;
+        this.blogRepository = blogRepository;
+        this.postMetadataIndex = postMetadataIndex;
+        this.postExistenceFilter = postExistenceFilter;
+        this.postStatistics = postStatistics;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.wheel = new HierarchicalTimerWheel(properties.getTick(), properties.getWheelSize(),
+                properties.getWheelLevels(), Instant.now());
+    }
+
+    /**
+     * @param publishAt the requested publication time, if any
+     * @return whether a post with this publication time must be published right away
+     */
+    public static boolean isDue(final Instant publishAt) {
+        return publishAt == null || !publishAt.isAfter(Instant.now());
+    }
+
+    /**
+     * Schedules, or reschedules, the publication of a post in the current transaction.
+     *
+     * @param postId    the unique identifier of the unpublished post
+     * @param publishAt the time the post must go live
+     */
+    public void schedule(final Long postId, final Instant publishAt) {
+        Instant now = Instant.now();
+        PostPublicationData publication = new PostPublicationData(postId, publishAt);
+
+        boolean leased = !publishAt.isAfter(now.plus(properties.getHorizon()));
+        if (leased) {
+            publication.setOwner(properties.getNodeId());
+            publication.setLeaseExpiresAt(now.plus(properties.getLeaseDuration()));
+        }
+        postPublicationRepository.save(publication);
+
+        afterCommit(() -> {
+            if (leased) {
+                scheduleLocally(postId, publishAt);
+            } else {
+                cancelLocally(postId);
+            }
+        });
+    }
+
+    /**
+     * Cancels the pending publication of a post in the current transaction, if any.
+     *
+     * @param postId the unique identifier of the post
+     */
+    public void cancel(final Long postId) {
+        postPublicationRepository.deleteById(postId);
+        afterCommit(() -> cancelLocally(postId));
+    }
+
+    /**
+     * Claims the leases of the upcoming publications, renews the leases already held, and aligns the
+     * timer wheel with the publications this instance owns.
+     */
+    @Scheduled(fixedDelayString = "${blog.publishing.claim-interval:30s}")
+    public void claimUpcoming() {
+        Instant now = Instant.now();
+        postPublicationRepository.claim(properties.getNodeId(), now.plus(properties.getLeaseDuration()),
+                now.plus(properties.getHorizon()), now);
+
+        Map<Long, Instant> owned = postPublicationRepository.findByOwner(properties.getNodeId()).stream()
+                .collect(Collectors.toMap(PostPublicationData::getPostId, PostPublicationData::getPublishAt));
+
+        scheduled.keySet().stream()
+                .filter(postId -> !owned.containsKey(postId))
+                .toList()
+                .forEach(this::cancelLocally);
+        owned.forEach(this::scheduleLocally);
+    }
+
+    /**
+     * @return the number of publications loaded in the timer wheel
+     */
+    public int pendingPublications() {
+        return wheel.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        timerThread = new Thread(this::runTimer, "post-publication-timer");
+        timerThread.setDaemon(true);
+        timerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (timerThread != null) {
+            timerThread.interrupt();
+            try {
+                timerThread.join(properties.getTick().toMillis() * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void publish(final Long postId, final Instant publishAt) {
+        scheduled.computeIfPresent(postId, (id, publication) ->
+                publication.publishAt().equals(publishAt) ? null : publication);
+
+        try {
+            Boolean published = transactionTemplate.execute(status ->
+                    postPublicationRepository.release(postId, properties.getNodeId()) == 1
+                            && blogRepository.markPublished(postId, Instant.now()) == 1);
+
+            if (Boolean.TRUE.equals(published)) {
+                blogRepository.findById(postId).ifPresent(post -> {
+                    postExistenceFilter.recordPublished(post.getTenantId(), postId);
+                    postMetadataIndex.upsert(post);
+                    postStatistics.recordCreated(post);
+                });
+                log.info("Published post {}", postId);
+            }
+        } catch (RuntimeException e) {
+            // The lease row is left in place, the publication fires again after the next claim
+            log.warn("Failed to publish post {}", postId, e);
+        }
+    }
+
+    private void scheduleLocally(final Long postId, final Instant publishAt) {
+        scheduled.compute(postId, (id, current) -> {
+            if (current != null) {
+                if (current.publishAt().equals(publishAt)) {
+                    return current;
+                }
+                current.timeout().cancel();
+            }
+            return new ScheduledPublication(publishAt, wheel.schedule(publishAt, () -> publish(id, publishAt)));
+        });
+    }
+
+    private void cancelLocally(final Long postId) {
+        ScheduledPublication publication = scheduled.remove(postId);
+        if (publication != null) {
+            publication.timeout().cancel();
+        }
+    }
+
+    private void runTimer() {
+        long tickMillis = Math.max(1, properties.getTick().toMillis());
+
+        while (running) {
+            try {
+                wheel.advanceTo(Instant.now());
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Post publication timer failed", e);
+            }
+        }
+    }
+
+    private record ScheduledPublication(Instant publishAt, HierarchicalTimerWheel.Timeout timeout) {
+    }
+}
@@ -1,26 +1,145 @@
 package org.deimos.projects.bloggingplatformapi.repository;
 
 import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostMetadata;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostVersion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for performing CRUD operations on blog posts.
  * This interface extends Spring Data's JpaRepository, providing standard methods for
  * creating, reading, updating, and deleting entities of type BlogPostData.
+ * <p>
+ * Posts are deleted as tombstones by {@link #softDeleteById}, which queries on the entity no longer return.
+ * The tombstones are physically removed later, by id, with {@link #purgeByIdIn}.
+ * <p>
+ * Reader-facing queries take the tenant of the caller and only return its published posts, through the
+ * {@code (TENANT_ID, PUBLISHED, ID)} index. Background queries, which rebuild derived data or publish and purge
+ * posts, span all tenants.
  */
 @Repository
 public interface BlogRepository extends JpaRepository<BlogPostData, Long> {
 
     @Query("""
             SELECT b FROM BlogPostData b WHERE
+            b.tenantId = :tenantId AND b.published = true AND (
             b.title LIKE :searchTerm OR
             b.content LIKE :searchTerm OR
-            b.category LIKE :searchTerm
+            b.category LIKE :searchTerm)
             """)
-    List<BlogPostData> findBySearchTerm(@Param("searchTerm") String searchTerm);
+    List<BlogPostData> findBySearchTerm(@Param("tenantId") String tenantId, @Param("searchTerm") String searchTerm);
+
+    List<BlogPostData> findAllByTenantIdAndPublishedTrue(String tenantId);
+
+    List<BlogPostData> findAllByTenantIdAndPublishedTrue(String tenantId, Sort sort);
+
+    Optional<BlogPostData> findByTenantIdAndIdAndPublishedTrue(String tenantId, Long id);
+
+    List<BlogPostData> findAllByTenantIdAndIdInAndPublishedTrue(String tenantId, Collection<Long> ids);
+
+    Optional<BlogPostData> findByTenantIdAndId(String tenantId, Long id);
+
+    long countByTenantId(String tenantId);
+
+    @Query("""
+            SELECT new org.deimos.projects.bloggingplatformapi.model.BlogPostVersion(b.id, b.updatedAt)
+            FROM BlogPostData b WHERE b.id IN :ids
+            """)
+    List<BlogPostVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new org.deimos.projects.bloggingplatformapi.model.BlogPostVersion(b.id, b.updatedAt)
+            FROM BlogPostData b WHERE b.tenantId = :tenantId AND b.published = true AND b.id > :afterId
+            ORDER BY b.id
+            """)
+    List<BlogPostVersion> findPublishedVersionsAfter(@Param("tenantId") String tenantId, @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query("""
+            SELECT new org.deimos.projects.bloggingplatformapi.model.BlogPostVersion(b.id, b.updatedAt)
+            FROM BlogPostData b WHERE b.tenantId = :tenantId AND b.published = true
+            ORDER BY b.publishedAt DESC, b.id DESC
+            """)
+    List<BlogPostVersion> findLatestPublishedVersions(@Param("tenantId") String tenantId, Pageable pageable);
+
+    @Query("""
+            SELECT new org.deimos.projects.bloggingplatformapi.model.BlogPostMetadata(
+            b.id, b.tenantId, b.category, b.tags, b.createdAt, b.updatedAt)
+            FROM BlogPostData b WHERE b.published = true AND b.id > :afterId ORDER BY b.id
+            """)
+    List<BlogPostMetadata> findMetadataAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b.id FROM BlogPostData b WHERE b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT MAX(b.id) FROM BlogPostData b WHERE b.createdAt < :createdBefore")
+    Long findMaxIdCreatedBefore(@Param("createdBefore") Instant createdBefore);
+
+    @Modifying
+    @Query("""
+            UPDATE BlogPostData b SET
+            b.wordCount = :wordCount,
+            b.readingTimeMinutes = :readingTimeMinutes
+            WHERE b.id = :id
+            """)
+    int updateReadingStatistics(@Param("id") Long id,
+                                @Param("wordCount") int wordCount,
+                                @Param("readingTimeMinutes") int readingTimeMinutes);
+
+    @Modifying
+    @Query("""
+            UPDATE BlogPostData b SET
+            b.deleted = true,
+            b.deletedAt = :deletedAt
+            WHERE b.tenantId = :tenantId AND b.id = :id AND b.deleted = false
+            """)
+    int softDeleteById(@Param("tenantId") String tenantId, @Param("id") Long id,
+                       @Param("deletedAt") Instant deletedAt);
+
+    /**
+     * Publishes a scheduled post, which counts as a modification of the post: its {@code updatedAt} becomes the
+     * publication time, along with its {@code publishedAt}.
+     */
+    @Modifying
+    @Query("""
+            UPDATE BlogPostData b SET
+            b.published = true,
+            b.publishedAt = :publishedAt,
+            b.updatedAt = :publishedAt
+            WHERE b.id = :id AND b.published = false AND b.deleted = false
+            """)
+    int markPublished(@Param("id") Long id, @Param("publishedAt") Instant publishedAt);
+
+    /**
+     * @return the time the most recent tombstone of the tenant was deleted, or {@code null} if it has none. Native,
+     * as tombstones are hidden from the queries on the entity.
+     */
+    @Query(value = "SELECT MAX(DELETED_AT) FROM BLOG_POST WHERE TENANT_ID = :tenantId AND DELETED = TRUE",
+            nativeQuery = true)
+    Instant findLastDeletedAt(@Param("tenantId") String tenantId);
+
+    @Query(value = """
+            SELECT ID FROM BLOG_POST
+            WHERE DELETED = TRUE AND DELETED_AT < :deletedBefore
+            ORDER BY DELETED_AT
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findTombstoneIds(@Param("deletedBefore") Instant deletedBefore, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM BLOG_POST WHERE ID IN :ids AND DELETED = TRUE", nativeQuery = true)
+    int purgeByIdIn(@Param("ids") Collection<Long> ids);
 }
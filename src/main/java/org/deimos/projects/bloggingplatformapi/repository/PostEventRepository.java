@@ -0,0 +1,30 @@
+package org.deimos.projects.bloggingplatformapi.repository;
+
+import org.deimos.projects.bloggingplatformapi.model.PostEventData;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the post event outbox.
+ */
+@Repository
+public interface PostEventRepository extends JpaRepository<PostEventData, Long> {
+
+    List<PostEventData> findByCreatedAtBeforeAndFailedDeliveriesLessThanOrderByIdAsc(Instant createdBefore,
+                                                                                     int maxDeliveries,
+                                                                                     Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PostEventData e SET e.failedDeliveries = e.failedDeliveries + 1 WHERE e.id IN :ids")
+    int recordFailedDelivery(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,43 @@
+package org.deimos.projects.bloggingplatformapi.repository;
+
+import org.deimos.projects.bloggingplatformapi.model.PostPublicationData;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for the pending publications of scheduled blog posts.
+ */
+@Repository
+public interface PostPublicationRepository extends JpaRepository<PostPublicationData, Long> {
+
+    /**
+     * Claims, or renews, the lease of the publications due before the horizon that are free,
+     * expired, or already owned by the instance.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE PostPublicationData p SET
+            p.owner = :owner,
+            p.leaseExpiresAt = :leaseExpiresAt
+            WHERE p.publishAt <= :horizon
+            AND (p.owner = :owner OR p.leaseExpiresAt IS NULL OR p.leaseExpiresAt < :now)
+            """)
+    int claim(@Param("owner") String owner,
+              @Param("leaseExpiresAt") Instant leaseExpiresAt,
+              @Param("horizon") Instant horizon,
+              @Param("now") Instant now);
+
+    List<PostPublicationData> findByOwner(String owner);
+
+    @Modifying
+    @Query("DELETE FROM PostPublicationData p WHERE p.postId = :postId AND p.owner = :owner")
+    int release(@Param("postId") Long postId, @Param("owner") String owner);
+}
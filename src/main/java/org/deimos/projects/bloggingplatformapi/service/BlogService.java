@@ -1,17 +1,50 @@
 package org.deimos.projects.bloggingplatformapi.service;
 
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.EMPTY_ID;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.MAX_IDS_PER_REQUEST;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.TOO_MANY_IDS;
 import static org.deimos.projects.bloggingplatformapi.utils.Constants.WILD_CARD;
+import static org.deimos.projects.bloggingplatformapi.utils.TransactionUtils.afterCommit;
+import static org.deimos.projects.bloggingplatformapi.utils.TransactionUtils.afterRollback;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.StringUtils;
+import org.deimos.projects.bloggingplatformapi.cache.PostCache;
+import org.deimos.projects.bloggingplatformapi.cache.PostExistenceFilter;
 import org.deimos.projects.bloggingplatformapi.exceptions.BlogPostNotFoundException;
+import org.deimos.projects.bloggingplatformapi.exceptions.InvalidBlogPostQueryException;
+import org.deimos.projects.bloggingplatformapi.exceptions.TenantQuotaExceededException;
+import org.deimos.projects.bloggingplatformapi.index.PostMetadataIndex;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostBatchResponse;
 import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostQuery;
 import org.deimos.projects.bloggingplatformapi.model.BlogPostRequest;
 import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+import org.deimos.projects.bloggingplatformapi.model.PostEventType;
+import org.deimos.projects.bloggingplatformapi.model.PostStatisticsResponse;
 import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapper;
+import org.deimos.projects.bloggingplatformapi.pipeline.PostEventPublisher;
+import org.deimos.projects.bloggingplatformapi.publishing.PostPublicationScheduler;
 import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.deimos.projects.bloggingplatformapi.statistics.PostStatistics;
+import org.deimos.projects.bloggingplatformapi.tenant.TenantContext;
+import org.deimos.projects.bloggingplatformapi.tenant.TenantQuotas;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,29 +62,83 @@ import lombok.RequiredArgsConstructor;
  * This service is annotated with @Service, designating it as a Spring-managed
  * service component. The @RequiredArgsConstructor annotation is used to generate
  * a constructor for final fields, allowing dependency injection of required services.
+ * <p>
+ * Read operations run in read-only transactions, which lets the datasource routing serve them
+ * from a read replica when it is enabled. Write operations publish a post event in the same
+ * transaction, so data derived from the post is computed asynchronously once the change is committed.
+ * Deleted posts only become tombstones; their rows are purged later by {@link PostPurgeService}.
+ * Single posts are looked up in the {@link PostCache} first, and evicted from it whenever they change.
+ * Lookups of posts that do not exist are answered by the {@link PostExistenceFilter} when it can tell.
+ * Filtered lists are resolved against the {@link PostMetadataIndex}, which is kept up to date once each
+ * write of this instance commits; the writes of other instances only reach it on its periodic rebuild
+ * ({@code blog.index.rebuild-interval}, 10 minutes), and stay invisible to filtered lists until then.
+ * Posts scheduled in the future are hidden from reads until the
+ * {@link PostPublicationScheduler} publishes them. Every committed change of a published post is also
+ * applied to the {@link PostStatistics} counters.
+ * <p>
+ * Every operation acts on behalf of the tenant bound to the request by the {@link TenantContext}: posts are
+ * created for that tenant, and the posts of other tenants are reported missing. The tenant is passed on to
+ * every repository query and every cache lookup; cached posts of another tenant are misses. The number of
+ * posts a tenant stores is bounded by its quota in {@link TenantQuotas}.
  */
 @Service
 @RequiredArgsConstructor
 public class BlogService {
 
+    /**
+     * Maximum number of ids bound to a single {@code IN} query, so large selections never build huge statements.
+     */
+    static final int ID_QUERY_CHUNK_SIZE = 100;
+
+    /**
+     * Share of the posts of a tenant from which a filtered selection is loaded with a single query on all its posts,
+     * rather than with one {@code IN} query per chunk of ids.
+     */
+    static final double BROAD_SELECTION_SHARE = 0.5;
+
     private final BlogRepository blogRepository;
     private final BlogPostMapper blogPostMapper;
+    private final PostEventPublisher postEventPublisher;
+    private final PostCache postCache;
+    private final PostMetadataIndex postMetadataIndex;
+    private final PostPublicationScheduler postPublicationScheduler;
+    private final PostExistenceFilter postExistenceFilter;
+    private final PostStatistics postStatistics;
+    private final TenantQuotas tenantQuotas;
 
 
     /**
      * Creates a new blog post in the database.
+     * <p>
+     * A post whose publication time is in the future is stored unpublished, and scheduled for publication.
      *
      * @param blogPostRequest The request object containing blog data to be created.
      * @return BlogPostResponse containing the created blog post details.
+     * @throws TenantQuotaExceededException if the tenant already stores as many posts as its quota allows.
      */
+    @Transactional
     public BlogPostResponse createBlogPost(final BlogPostRequest blogPostRequest) {
+        String tenantId = TenantContext.currentTenant();
+        TenantQuotas.StorageReservation reservation =
+                tenantQuotas.reserveStorage(tenantId, () -> blogRepository.countByTenantId(tenantId));
+        afterRollback(() -> reservation.cancel());
 
         BlogPostData receivedBlogPostData =
                 blogPostMapper.mapRequestToBlogPostData(blogPostRequest);
+        receivedBlogPostData.setTenantId(tenantId);
+        receivedBlogPostData.setPublished(PostPublicationScheduler.isDue(receivedBlogPostData.getPublishAt()));
 
         BlogPostData createdBlogPostData =
                 blogRepository.save(receivedBlogPostData);
 
+        postEventPublisher.publish(createdBlogPostData.getId(), PostEventType.CREATED);
+        if (createdBlogPostData.isPublished()) {
+            afterCommit(() -> postMetadataIndex.upsert(createdBlogPostData));
+            afterCommit(() -> postStatistics.recordCreated(createdBlogPostData));
+        } else {
+            postPublicationScheduler.schedule(createdBlogPostData.getId(), createdBlogPostData.getPublishAt());
+        }
+
         return blogPostMapper.mapBlogPostDataToResponse(createdBlogPostData);
     }
 
@@ -60,59 +147,286 @@ public class BlogService {
      *
      * @param id The unique identifier of the blog post.
      * @return BlogPostResponse containing the details of the blog post.
-     * @throws BlogPostNotFoundException if the blog post is not found.
+     * @throws BlogPostNotFoundException if the blog post is not found or not published yet.
      */
+    @Transactional(readOnly = true)
     public BlogPostResponse getBlogPostById(final Long id) {
+        String tenantId = TenantContext.currentTenant();
 
-        return blogRepository.findById(id)
-                .map(blogPostMapper::mapBlogPostDataToResponse)
-                .orElseThrow(() -> new BlogPostNotFoundException(id));
+        if (!postExistenceFilter.mightExist(tenantId, id)) {
+            throw new BlogPostNotFoundException(id);
+        }
+
+        Optional<BlogPostResponse> cachedBlogPost = postCache.get(tenantId, id);
+        if (cachedBlogPost.isPresent()) {
+            return cachedBlogPost.get();
+        }
+
+        Optional<BlogPostData> blogPostData = blogRepository.findByTenantIdAndIdAndPublishedTrue(tenantId, id);
+        if (blogPostData.isEmpty()) {
+            postExistenceFilter.recordMissing(tenantId, id);
+            throw new BlogPostNotFoundException(id);
+        }
+
+        BlogPostResponse blogPostResponse = blogPostMapper.mapBlogPostDataToResponse(blogPostData.get());
+
+        postCache.put(blogPostResponse);
+
+        return blogPostResponse;
+    }
+
+    /**
+     * Retrieves many blog posts by their IDs in one call.
+     * <p>
+     * Posts are resolved from the {@link PostCache} first; the misses are loaded together, with one
+     * {@code IN} query per chunk of ids, and cached.
+     *
+     * @param ids The unique identifiers of the blog posts, at most {@code MAX_IDS_PER_REQUEST}.
+     * @return The blog posts found, in the requested order, and the ids of the missing ones.
+     * @throws InvalidBlogPostQueryException if too many ids are requested, or one of them is empty.
+     */
+    @Transactional(readOnly = true)
+    public BlogPostBatchResponse getBlogPostsByIds(final List<Long> ids) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new InvalidBlogPostQueryException(TOO_MANY_IDS.formatted(MAX_IDS_PER_REQUEST));
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidBlogPostQueryException(EMPTY_ID);
+        }
+
+        String tenantId = TenantContext.currentTenant();
+        Map<Long, BlogPostResponse> postsById = HashMap.newHashMap(ids.size());
+        Set<Long> misses = LinkedHashSet.newLinkedHashSet(ids.size());
+        for (Long id : ids) {
+            if (postsById.containsKey(id) || misses.contains(id) || !postExistenceFilter.mightExist(tenantId, id)) {
+                continue;
+            }
+
+            postCache.get(tenantId, id).ifPresentOrElse(post -> postsById.put(id, post), () -> misses.add(id));
+        }
+
+        List<BlogPostData> loaded = findPublishedByIds(tenantId, List.copyOf(misses));
+        for (BlogPostResponse post : blogPostMapper.mapToBlogPostList(loaded)) {
+            postsById.put(post.getId(), post);
+            postCache.put(post);
+        }
+
+        List<BlogPostResponse> posts = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            BlogPostResponse post = postsById.get(id);
+            if (post != null) {
+                posts.add(post);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        misses.stream()
+                .filter(id -> !postsById.containsKey(id))
+                .forEach(id -> postExistenceFilter.recordMissing(tenantId, id));
+
+        return new BlogPostBatchResponse(posts, missingIds);
     }
 
     /**
-     * Retrieves all blog posts stored in the database.
+     * Retrieves all published blog posts stored in the database.
      * <p>
      * If a search term is provided, it filters the blog posts based on the title,
      * content, or category. If no search term is provided, it returns all blog posts.
+     * <p>
+     * A query that only sorts the posts is run as a single ordered query. When the query filters by category or
+     * tags, the matching ids are selected from the metadata index and only those posts are loaded, by primary key,
+     * unless they are a broad share of the posts of the tenant, which are then loaded with a single query. The loaded
+     * posts are checked against the filters again, since the index only catches up with a write once it commits.
+     * Posts created or retagged by other application instances are missing from filtered lists until the next
+     * rebuild of the index.
      *
+     * @param keyword The optional search term.
+     * @param query   The category, tags and order the blog posts must match.
      * @return List of BlogPostResponse containing details of all blog posts.
      */
-    public List<BlogPostResponse> getBlogPosts(String keyword) {
-        if (StringUtils.isNotBlank(keyword)) {
-            String searchTerm = WILD_CARD + keyword + WILD_CARD;
-            return blogPostMapper.mapToBlogPostList(blogRepository.findBySearchTerm(searchTerm));
+    @Transactional(readOnly = true)
+    public List<BlogPostResponse> getBlogPosts(final String keyword, final BlogPostQuery query) {
+        String tenantId = TenantContext.currentTenant();
+        String searchTerm = StringUtils.isNotBlank(keyword) ? WILD_CARD + keyword + WILD_CARD : null;
+
+        if (query.isUnfiltered()) {
+            if (searchTerm != null) {
+                return blogPostMapper.mapToBlogPostList(blogRepository.findBySearchTerm(tenantId, searchTerm));
+            }
+            return blogPostMapper.mapToBlogPostList(blogRepository.findAllByTenantIdAndPublishedTrue(tenantId));
+        }
+        if (query.isSortOnly() && searchTerm == null) {
+            PostMetadataIndex.requireSortable(query.sort());
+            return blogPostMapper.mapToBlogPostList(
+                    blogRepository.findAllByTenantIdAndPublishedTrue(tenantId, query.sort()));
         }
-        return blogPostMapper.mapToBlogPostList(blogRepository.findAll());
+
+        long[] ids = postMetadataIndex.select(tenantId, query);
+        Iterable<BlogPostData> candidates;
+        if (searchTerm != null) {
+            candidates = blogRepository.findBySearchTerm(tenantId, searchTerm);
+        } else if (ids.length > ID_QUERY_CHUNK_SIZE
+                && ids.length >= BROAD_SELECTION_SHARE * postMetadataIndex.count(tenantId)) {
+            candidates = blogRepository.findAllByTenantIdAndPublishedTrue(tenantId);
+        } else {
+            candidates = findPublishedByIds(tenantId, Arrays.stream(ids).boxed().toList());
+        }
+
+        return blogPostMapper.mapToBlogPostList(orderByIds(candidates, ids, query));
     }
 
     /**
      * Updates an existing blog post by its ID.
+     * <p>
+     * The publication time of a post that is not published yet can be changed; it is fixed once the post is live.
      *
      * @param id               The unique identifier of the blog post to be updated.
      * @param blogPostRequest The request object containing updated blog data.
      * @return BlogPostResponse containing the updated blog post details.
      */
+    @Transactional
     public BlogPostResponse updateBlogPost(final BlogPostRequest blogPostRequest, final Long id) {
 
         BlogPostData newBlogPostData =
                 blogPostMapper.mapRequestToBlogPostData(blogPostRequest);
 
-        BlogPostData updatedPostData = blogRepository.findById(id)
-                .map(existingBlogPostData ->
-                        blogPostMapper.mapUpdatedBlogPostData(newBlogPostData, existingBlogPostData))
+        BlogPostData existingBlogPostData = blogRepository.findByTenantIdAndId(TenantContext.currentTenant(), id)
                 .orElseThrow(() -> new BlogPostNotFoundException(id));
+        Instant existingPublishAt = existingBlogPostData.getPublishAt();
+        boolean wasPublished = existingBlogPostData.isPublished();
+        String existingCategory = existingBlogPostData.getCategory();
+        String existingTags = existingBlogPostData.getTags();
+
+        BlogPostData updatedPostData =
+                blogPostMapper.mapUpdatedBlogPostData(newBlogPostData, existingBlogPostData);
+
+        if (wasPublished) {
+            updatedPostData.setPublishAt(existingPublishAt);
+        } else if (PostPublicationScheduler.isDue(updatedPostData.getPublishAt())) {
+            updatedPostData.setPublished(true);
+            updatedPostData.setPublishedAt(Instant.now());
+            postPublicationScheduler.cancel(id);
+        } else {
+            postPublicationScheduler.schedule(id, updatedPostData.getPublishAt());
+        }
+
+        BlogPostData savedPostData = blogRepository.save(updatedPostData);
 
-        blogRepository.save(updatedPostData);
+        postEventPublisher.publish(id, PostEventType.UPDATED);
+        evictFromCacheAfterCommit(id);
+        if (savedPostData.isPublished()) {
+            afterCommit(() -> postMetadataIndex.upsert(savedPostData));
+            if (wasPublished) {
+                afterCommit(() -> postStatistics.recordUpdated(existingCategory, existingTags, savedPostData));
+            } else {
+                afterCommit(() -> postExistenceFilter.recordPublished(savedPostData.getTenantId(), id));
+                afterCommit(() -> postStatistics.recordCreated(savedPostData));
+            }
+        }
 
         return blogPostMapper.mapBlogPostDataToResponse(updatedPostData);
     }
 
     /**
      * Deletes a blog post by its ID.
+     * <p>
+     * The post is marked as deleted by a single update statement, without loading it. Once the deletion
+     * commits, the post is removed from the metadata index, and the category and tags it was indexed with
+     * are uncounted from the statistics.
      *
      * @param id The unique identifier of the blog post to be deleted.
+     * @throws BlogPostNotFoundException if the blog post is not found or was already deleted.
      */
+    @Transactional
     public void deleteBlogPost(final Long id) {
-        blogRepository.deleteById(id);
+        String tenantId = TenantContext.currentTenant();
+        if (blogRepository.softDeleteById(tenantId, id, Instant.now()) == 0) {
+            throw new BlogPostNotFoundException(id);
+        }
+
+        postEventPublisher.publish(id, PostEventType.DELETED);
+        evictFromCacheAfterCommit(id);
+        afterCommit(() -> tenantQuotas.releaseStorage(tenantId));
+        afterCommit(() -> postMetadataIndex.remove(id).ifPresent(post ->
+                postStatistics.recordDeleted(post.tenantId(), post.category(), post.tags())));
+    }
+
+    /**
+     * Retrieves the number of published blog posts of the tenant, per category and for the most used tags.
+     * <p>
+     * The statistics are read from counters maintained on every write, never from the posts themselves.
+     *
+     * @param topTags The number of most used tags to return.
+     * @return PostStatisticsResponse containing the statistics.
+     */
+    public PostStatisticsResponse getPostStatistics(final int topTags) {
+        return postStatistics.getStatistics(TenantContext.currentTenant(), topTags);
+    }
+
+    /**
+     * Loads the published blog posts of a tenant with the given ids, with one query per chunk of ids.
+     *
+     * @param tenantId The id of the tenant owning the blog posts.
+     * @param ids      The unique identifiers of the blog posts.
+     * @return The published blog posts found, in no particular order.
+     */
+    private List<BlogPostData> findPublishedByIds(final String tenantId, final List<Long> ids) {
+        if (ids.size() <= ID_QUERY_CHUNK_SIZE) {
+            return ids.isEmpty() ? List.of() : blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(tenantId, ids);
+        }
+
+        List<BlogPostData> posts = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + ID_QUERY_CHUNK_SIZE, ids.size()));
+            posts.addAll(blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(tenantId, chunk));
+        }
+        return posts;
+    }
+
+    /**
+     * Keeps the blog posts whose id was selected and which still match the filters, in the order of the selection.
+     *
+     * @param posts The candidate blog posts.
+     * @param ids   The selected ids, in the expected order.
+     * @param query The category and tags the blog posts must match.
+     * @return The selected blog posts, in the order of the ids.
+     */
+    private List<BlogPostData> orderByIds(final Iterable<BlogPostData> posts, final long[] ids,
+                                          final BlogPostQuery query) {
+        Map<Long, BlogPostData> postsById = StreamSupport.stream(posts.spliterator(), false)
+                .collect(Collectors.toMap(BlogPostData::getId, Function.identity()));
+
+        return Arrays.stream(ids)
+                .mapToObj(postsById::get)
+                .filter(Objects::nonNull)
+                .filter(post -> matchesFilters(post, query))
+                .toList();
+    }
+
+    /**
+     * @param post  The loaded blog post.
+     * @param query The category and tags the blog post must match.
+     * @return Whether the blog post belongs to the category and has all the tags of the query.
+     */
+    private boolean matchesFilters(final BlogPostData post, final BlogPostQuery query) {
+        if (query.category() != null && !query.category().equals(post.getCategory())) {
+            return false;
+        }
+        return query.tags().isEmpty() || blogPostMapper.mapJSONStringToSet(post.getTags()).containsAll(query.tags());
+    }
+
+    /**
+     * Evicts a blog post from the cache right away, and once more after the commit, so a read
+     * racing with the transaction cannot leave the previous version cached.
+     *
+     * @param id The unique identifier of the blog post to evict.
+     */
+    private void evictFromCacheAfterCommit(final Long id) {
+        postCache.evict(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(() -> postCache.evict(id));
+        }
     }
 }
@@ -0,0 +1,54 @@
+package org.deimos.projects.bloggingplatformapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.deimos.projects.bloggingplatformapi.configuration.PostPurgeProperties;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service class physically deleting the blog posts left as tombstones by {@link BlogService#deleteBlogPost}.
+ * <p>
+ * Tombstones older than the retention are deleted in bounded batches, each in its own short transaction,
+ * so purging a large backlog never holds locks on many rows at once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostPurgeService {
+
+    private final BlogRepository blogRepository;
+    private final PostPurgeProperties purgeProperties;
+
+    /**
+     * Purges the expired tombstones, up to the configured number of batches.
+     *
+     * @return the number of purged blog posts
+     */
+    @Scheduled(fixedDelayString = "${blog.purge.interval:1m}", initialDelayString = "${blog.purge.interval:1m}")
+    public int purge() {
+        Instant deletedBefore = Instant.now().minus(purgeProperties.getRetention());
+        int purged = 0;
+
+        for (int batch = 0; batch < purgeProperties.getMaxBatchesPerRun(); batch++) {
+            List<Long> ids = blogRepository.findTombstoneIds(deletedBefore, purgeProperties.getBatchSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            purged += blogRepository.purgeByIdIn(ids);
+            if (ids.size() < purgeProperties.getBatchSize()) {
+                break;
+            }
+        }
+
+        if (purged > 0) {
+            log.debug("Purged {} deleted blog posts", purged);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,231 @@
+package org.deimos.projects.bloggingplatformapi.statistics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.deimos.projects.bloggingplatformapi.configuration.PostStatisticsProperties;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostMetadata;
+import org.deimos.projects.bloggingplatformapi.model.PostStatisticsResponse;
+import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapper;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the published blog posts of each tenant, in total, per category and per tag, maintained on every
+ * write.
+ * <p>
+ * The service applies the change of each post once its transaction commits: creations and publications
+ * count the post, deletions uncount it, and updates move it between categories and tags by diffing its old
+ * and new values. Reads never touch the posts: they return an ordered snapshot of the counters, recomputed at
+ * most once per {@code snapshotMaxAge} and only when the counters changed, so their cost only depends on the
+ * number of distinct categories and tags of the tenant. Tenants have their own counters and snapshots, so the
+ * writes of a busy tenant never invalidate the snapshots of the others.
+ * <p>
+ * Writes made by other application instances are not seen, and writes racing with a reconciliation may be
+ * counted twice or not at all. The counters are therefore recomputed from the database every
+ * {@code reconcileInterval}, which bounds the drift.
+ */
+@Slf4j
+@Component
+public class PostStatistics {
+
+    static final int LOAD_BATCH_SIZE = 10_000;
+
+    private static final Comparator<Map.Entry<String, Long>> BY_COUNT_DESCENDING =
+            Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final BlogRepository blogRepository;
+    private final BlogPostMapper blogPostMapper;
+    private final PostStatisticsProperties properties;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public PostStatistics(final BlogRepository blogRepository, final BlogPostMapper blogPostMapper,
+                          final PostStatisticsProperties properties) {
+        this.blogRepository = blogRepository;
+        this.blogPostMapper = blogPostMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * @param tenantId the id of the tenant owning the posts
+     * @param topTags  the number of most used tags to return, capped by {@code maxTopTags}
+     * @return the statistics of the published blog posts of the tenant
+     */
+    public PostStatisticsResponse getStatistics(final String tenantId, final int topTags) {
+        Counters tenantCounters = counters.get(tenantId);
+        if (tenantCounters == null) {
+            return new PostStatisticsResponse(0, Map.of(), Map.of(), Instant.now());
+        }
+
+        Snapshot current = snapshots.get(tenantId);
+        long now = System.nanoTime();
+        boolean outdated = current != null && (current.counters() != tenantCounters
+                || current.version() != tenantCounters.version.get()
+                && now - current.takenAt() >= properties.getSnapshotMaxAge().toNanos());
+        if (current == null || outdated) {
+            current = takeSnapshot(tenantCounters, now);
+            snapshots.put(tenantId, current);
+        }
+
+        int limit = Math.max(0, Math.min(topTags, Math.min(properties.getMaxTopTags(), current.tags().size())));
+        Map<String, Long> tags = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> tag : current.tags().subList(0, limit)) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+
+        return new PostStatisticsResponse(current.totalPosts(), current.categories(), tags, current.computedAt());
+    }
+
+    /**
+     * Counts a post that was just created or published.
+     */
+    public void recordCreated(final BlogPostData post) {
+        countersOf(post.getTenantId()).add(post.getCategory(), blogPostMapper.mapJSONStringToSet(post.getTags()), 1);
+    }
+
+    /**
+     * Moves a published post from its previous category and tags to its current ones.
+     *
+     * @param previousCategory the category of the post before the update
+     * @param previousTags     the JSON-encoded tags of the post before the update
+     * @param post             the updated post
+     */
+    public void recordUpdated(final String previousCategory, final String previousTags, final BlogPostData post) {
+        Counters current = countersOf(post.getTenantId());
+
+        if (!Objects.equals(previousCategory, post.getCategory())) {
+            Counters.adjust(current.categories, previousCategory, -1);
+            Counters.adjust(current.categories, post.getCategory(), 1);
+        }
+
+        Set<String> before = blogPostMapper.mapJSONStringToSet(previousTags);
+        Set<String> after = blogPostMapper.mapJSONStringToSet(post.getTags());
+        for (String tag : before) {
+            if (!after.contains(tag)) {
+                Counters.adjust(current.tags, tag, -1);
+            }
+        }
+        for (String tag : after) {
+            if (!before.contains(tag)) {
+                Counters.adjust(current.tags, tag, 1);
+            }
+        }
+
+        current.version.incrementAndGet();
+    }
+
+    /**
+     * Uncounts a published post that was just deleted.
+     *
+     * @param tenantId the id of the tenant owning the deleted post
+     * @param category the category of the deleted post
+     * @param tags     the tags of the deleted post
+     */
+    public void recordDeleted(final String tenantId, final String category, final Set<String> tags) {
+        countersOf(tenantId).add(category, tags, -1);
+    }
+
+    /**
+     * Recomputes the counters from the published posts in the database, and replaces the current ones.
+     * The first reconciliation runs as soon as the application starts.
+     */
+    @Scheduled(fixedDelayString = "${blog.stats.reconcile-interval:15m}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        Map<String, Counters> reconciled = new ConcurrentHashMap<>();
+
+        long afterId = 0;
+        List<BlogPostMetadata> batch;
+        do {
+            batch = blogRepository.findMetadataAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (BlogPostMetadata post : batch) {
+                reconciled.computeIfAbsent(post.tenantId(), tenantId -> new Counters())
+                        .add(post.category(), blogPostMapper.mapJSONStringToSet(post.tags()), 1);
+                afterId = post.id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        long reconciledPosts = totalPosts(reconciled);
+        long drift = reconciledPosts - totalPosts(counters);
+        counters = reconciled;
+        snapshots.keySet().retainAll(reconciled.keySet());
+
+        log.info("Reconciled the statistics of {} posts of {} tenants (drift {}) in {} ms", reconciledPosts,
+                reconciled.size(), drift, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Counters countersOf(final String tenantId) {
+        return counters.computeIfAbsent(tenantId, id -> new Counters());
+    }
+
+    private static long totalPosts(final Map<String, Counters> countersByTenant) {
+        return countersByTenant.values().stream().mapToLong(tenantCounters -> tenantCounters.posts.sum()).sum();
+    }
+
+    private Snapshot takeSnapshot(final Counters current, final long now) {
+        long snapshotVersion = current.version.get();
+
+        Map<String, Long> categories = new LinkedHashMap<>();
+        current.categories.entrySet().stream()
+                .map(Map::entry)
+                .sorted(BY_COUNT_DESCENDING)
+                .forEach(category -> categories.put(category.getKey(), category.getValue()));
+
+        List<Map.Entry<String, Long>> tags = current.tags.entrySet().stream()
+                .map(Map::entry)
+                .sorted(BY_COUNT_DESCENDING)
+                .toList();
+
+        return new Snapshot(current, snapshotVersion, now, Instant.now(), current.posts.sum(),
+                Collections.unmodifiableMap(categories), tags);
+    }
+
+    private static final class Counters {
+
+        private final LongAdder posts = new LongAdder();
+        private final AtomicLong version = new AtomicLong();
+        private final Map<String, Long> categories = new ConcurrentHashMap<>();
+        private final Map<String, Long> tags = new ConcurrentHashMap<>();
+
+        void add(final String category, final Set<String> postTags, final int delta) {
+            posts.add(delta);
+            adjust(categories, category, delta);
+            for (String tag : postTags) {
+                adjust(tags, tag, delta);
+            }
+            version.incrementAndGet();
+        }
+
+        /**
+         * Adds the delta to the count of the key, dropping the key once its count is no longer positive.
+         */
+        static void adjust(final Map<String, Long> counts, final String key, final int delta) {
+            if (key == null) {
+                return;
+            }
+            counts.compute(key, (k, count) -> {
+                long updated = (count == null ? 0 : count) + delta;
+                return updated > 0 ? updated : null;
+            });
+        }
+    }
+
+    private record Snapshot(Counters counters, long version, long takenAt, Instant computedAt, long totalPosts,
+                            Map<String, Long> categories, List<Map.Entry<String, Long>> tags) {
+    }
+}
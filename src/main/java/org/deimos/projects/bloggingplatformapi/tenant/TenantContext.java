@@ -0,0 +1,34 @@
+package org.deimos.projects.bloggingplatformapi.tenant;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+
+/**
+ * Holds the tenant of the request being served by the current thread.
+ * <p>
+ * The tenant is bound by {@link TenantFilter} for the duration of a request. Code running outside of a
+ * request, such as the background jobs, sees the default tenant, and must not rely on it: background jobs
+ * work across all tenants.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return the id of the tenant bound to the current thread, or the default tenant if none is bound
+     */
+    public static String currentTenant() {
+        String tenantId = CURRENT_TENANT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void bind(final String tenantId) {
+        CURRENT_TENANT.set(tenantId);
+    }
+
+    public static void unbind() {
+        CURRENT_TENANT.remove();
+    }
+}
@@ -0,0 +1,134 @@
+package org.deimos.projects.bloggingplatformapi.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.deimos.projects.bloggingplatformapi.configuration.TenancyProperties;
+import org.deimos.projects.bloggingplatformapi.exceptions.TenantQuotaExceededException;
+import org.deimos.projects.bloggingplatformapi.model.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.INVALID_TENANT;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.TENANT_HEADER_NOT_TRUSTED;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.TENANT_ID_HEADER;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.TENANT_MISMATCH;
+
+/**
+ * Resolves the tenant of every request, admits the request within the quotas of the tenant, and binds
+ * the tenant to the request thread through {@link TenantContext}.
+ * <p>
+ * The tenant is resolved, in order of precedence:
+ * <ol>
+ * <li> From the authenticated principal, as its {@code TENANT_<id>} authority. A {@code X-Tenant-Id} header
+ * naming another tenant is then rejected with 403 Forbidden.
+ * <li> From the {@code X-Tenant-Id} header, for the anonymous requests relayed by a trusted gateway. The header
+ * is only trusted when {@code blog.tenancy.trust-tenant-header} is enabled; otherwise, and for authenticated
+ * principals without a tenant authority, a request carrying it is rejected with 403 Forbidden, so a client
+ * cannot pick the tenant it acts for.
+ * <li> The default tenant otherwise.
+ * </ol>
+ * Tenant ids are lower-case letters, digits and dashes, at most 64 characters. The filter runs after the
+ * security filter chain, so the principal is known. Requests over quota are answered with 429 Too Many Requests.
+ */
+@RequiredArgsConstructor
+public class TenantFilter extends OncePerRequestFilter {
+
+    static final String TENANT_AUTHORITY_PREFIX = "TENANT_";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9-]{1,64}");
+
+    private final TenantQuotas tenantQuotas;
+    private final TenancyProperties tenancyProperties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+
+        String headerTenant = request.getHeader(TENANT_ID_HEADER);
+        if (headerTenant != null && !TENANT_ID.matcher(headerTenant).matches()) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, INVALID_TENANT);
+            return;
+        }
+
+        Authentication principal = authenticatedPrincipal();
+        String principalTenant = principal != null ? tenantOf(principal) : null;
+        if (principalTenant != null && headerTenant != null && !principalTenant.equals(headerTenant)) {
+            writeError(response, HttpServletResponse.SC_FORBIDDEN, TENANT_MISMATCH);
+            return;
+        }
+        if (principalTenant == null && headerTenant != null
+                && (principal != null || !tenancyProperties.isTrustTenantHeader())) {
+            writeError(response, HttpServletResponse.SC_FORBIDDEN, TENANT_HEADER_NOT_TRUSTED);
+            return;
+        }
+
+        String tenantId = principalTenant != null ? principalTenant
+                : headerTenant != null ? headerTenant
+                : DEFAULT_TENANT;
+
+        TenantQuotas.Admission admission;
+        try {
+            admission = tenantQuotas.admit(tenantId);
+        } catch (TenantQuotaExceededException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            writeError(response, HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
+            return;
+        }
+
+        TenantContext.bind(tenantId);
+        try (admission) {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.unbind();
+        }
+    }
+
+    /**
+     * @return the authenticated principal of the request, or {@code null} if the request is anonymous
+     */
+    private static Authentication authenticatedPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication;
+    }
+
+    /**
+     * @return the tenant of the {@code TENANT_<id>} authority of the principal, or {@code null} if it has none
+     */
+    private static String tenantOf(final Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(TENANT_AUTHORITY_PREFIX)) {
+                String tenantId = name.substring(TENANT_AUTHORITY_PREFIX.length());
+                return TENANT_ID.matcher(tenantId).matches() ? tenantId : null;
+            }
+        }
+        return null;
+    }
+
+    private void writeError(final HttpServletResponse response, final int status, final String message)
+            throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status, message));
+    }
+}
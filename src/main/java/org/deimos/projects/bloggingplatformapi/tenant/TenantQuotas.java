@@ -0,0 +1,210 @@
+package org.deimos.projects.bloggingplatformapi.tenant;
+
+import org.deimos.projects.bloggingplatformapi.configuration.TenancyProperties;
+import org.deimos.projects.bloggingplatformapi.exceptions.TenantQuotaExceededException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.TENANT_CONCURRENCY_EXCEEDED;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.TENANT_RATE_EXCEEDED;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.TENANT_STORAGE_EXCEEDED;
+
+/**
+ * Enforces the quotas of every tenant, so that a heavy tenant is throttled instead of slowing down the others.
+ * <p>
+ * Each tenant has its own limiter:
+ * <ol>
+ * <li> A token bucket bounding its request rate, refilled at {@code requestsPerSecond} up to {@code burst}.
+ * <li> A semaphore bounding its concurrent requests, which keeps a single tenant from holding all the
+ * request threads and database connections while its requests are slow.
+ * </ol>
+ * Requests over quota are rejected right away rather than queued, so they never wait on the resources
+ * of the other tenants. The limiters of the tenants that went idle are evicted periodically, so clients
+ * inventing tenant ids cannot grow the map without bound.
+ * <p>
+ * The number of posts stored by each tenant is counted in the database on its first storage reservation, then
+ * kept in memory, so concurrent creations reserve their slot atomically instead of all passing the same count.
+ * The counts are dropped every {@code storageRecountInterval}, so the next reservation counts again and picks
+ * up the posts stored or deleted by other application instances.
+ */
+public class TenantQuotas {
+
+    private final TenancyProperties properties;
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> storedPosts = new ConcurrentHashMap<>();
+
+    public TenantQuotas(final TenancyProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Admits a request of the tenant.
+     *
+     * @param tenantId the id of the tenant
+     * @return the admission of the request, to close once the request completes
+     * @throws TenantQuotaExceededException if the tenant exceeded its request rate or concurrent requests
+     */
+    public Admission admit(final String tenantId) {
+        Limiter limiter = limiters.computeIfAbsent(tenantId, id -> new Limiter(properties.quotaOf(id)));
+
+        if (!limiter.tryTakeToken()) {
+            throw new TenantQuotaExceededException(TENANT_RATE_EXCEEDED.formatted(tenantId));
+        }
+        if (limiter.concurrentRequests == null) {
+            return () -> { };
+        }
+        if (!limiter.concurrentRequests.tryAcquire()) {
+            throw new TenantQuotaExceededException(TENANT_CONCURRENCY_EXCEEDED.formatted(tenantId));
+        }
+        return limiter.concurrentRequests::release;
+    }
+
+    /**
+     * Reserves the storage of one more post of the tenant.
+     *
+     * @param tenantId         the id of the tenant
+     * @param storedPostsCount counts the posts the tenant stores in the database, called when its count is unknown
+     * @return the reservation, to cancel if the post is not stored in the end
+     * @throws TenantQuotaExceededException if the tenant already stores as many posts as it may
+     */
+    public StorageReservation reserveStorage(final String tenantId, final LongSupplier storedPostsCount) {
+        long maxPosts = properties.quotaOf(tenantId).getMaxPosts();
+        if (maxPosts <= 0) {
+            return () -> { };
+        }
+
+        AtomicLong stored = storedPostsOf(tenantId, storedPostsCount);
+        long current;
+        do {
+            current = stored.get();
+            if (current >= maxPosts) {
+                throw new TenantQuotaExceededException(TENANT_STORAGE_EXCEEDED.formatted(tenantId, maxPosts));
+            }
+        } while (!stored.compareAndSet(current, current + 1));
+
+        return () -> stored.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Frees the storage of a post the tenant deleted.
+     *
+     * @param tenantId the id of the tenant
+     */
+    public void releaseStorage(final String tenantId) {
+        AtomicLong stored = storedPosts.get(tenantId);
+        if (stored != null) {
+            stored.updateAndGet(count -> Math.max(0, count - 1));
+        }
+    }
+
+    /**
+     * Drops the post counts of the tenants, so that they are counted again in the database. Reservations whose
+     * post is not committed yet are missed by the new count, which may admit that many extra posts.
+     */
+    @Scheduled(fixedDelayString = "${blog.tenancy.storage-recount-interval:5m}")
+    public void recountStorage() {
+        storedPosts.clear();
+    }
+
+    /**
+     * Drops the limiters of the tenants with no request in flight and a full token bucket, which are
+     * exactly as a new limiter would be.
+     */
+    @Scheduled(fixedDelayString = "${blog.tenancy.idle-eviction-interval:1m}")
+    public void evictIdle() {
+        limiters.entrySet().removeIf(entry -> entry.getValue().isIdle());
+    }
+
+    int trackedTenants() {
+        return limiters.size();
+    }
+
+    private AtomicLong storedPostsOf(final String tenantId, final LongSupplier storedPostsCount) {
+        AtomicLong stored = storedPosts.get(tenantId);
+        if (stored != null) {
+            return stored;
+        }
+
+        // Counted outside of the map, which must not block on the database
+        long count = storedPostsCount.getAsLong();
+        return storedPosts.computeIfAbsent(tenantId, id -> new AtomicLong(count));
+    }
+
+    /**
+     * A request admitted by {@link #admit(String)}; closing it frees its slot among the concurrent requests.
+     */
+    @FunctionalInterface
+    public interface Admission extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * The storage of a post reserved by {@link #reserveStorage(String, LongSupplier)}.
+     */
+    @FunctionalInterface
+    public interface StorageReservation {
+
+        /**
+         * Gives the reserved storage back, because the post was not stored.
+         */
+        void cancel();
+    }
+
+    private static final class Limiter {
+
+        private final Semaphore concurrentRequests;
+        private final int maxConcurrentRequests;
+        private final double tokensPerNano;
+        private final double capacity;
+
+        private double tokens;
+        private long refilledAt;
+
+        Limiter(final TenancyProperties.Quota quota) {
+            this.maxConcurrentRequests = quota.getMaxConcurrentRequests();
+            this.concurrentRequests = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests) : null;
+            this.tokensPerNano = quota.getRequestsPerSecond() / 1e9;
+            this.capacity = Math.max(quota.getBurst(), quota.getRequestsPerSecond());
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized boolean tryTakeToken() {
+            if (tokensPerNano == 0) {
+                return true;
+            }
+
+            refill();
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized boolean isIdle() {
+            if (concurrentRequests != null && concurrentRequests.availablePermits() < maxConcurrentRequests) {
+                return false;
+            }
+            if (tokensPerNano == 0) {
+                return true;
+            }
+
+            refill();
+            return tokens >= capacity;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -9,8 +9,29 @@ public class Constants {
 
     public static final String BLOG_ENTRY_NOT_FOUND = "Error: Post with ID {%s} not found.";
     public static final String WILD_CARD = "%";
+    public static final String TOO_MANY_IDS = "Error: At most %d posts can be fetched at once.";
+    public static final String EMPTY_ID = "Error: Post ids must not be empty.";
+    public static final String INVALID_TENANT = "Error: Invalid tenant id.";
+    public static final String TENANT_MISMATCH = "Error: The tenant id does not match the authenticated tenant.";
+    public static final String TENANT_HEADER_NOT_TRUSTED = "Error: The tenant id header is not accepted for this request.";
+    public static final String TENANT_RATE_EXCEEDED = "Error: Request rate quota of tenant {%s} exceeded.";
+    public static final String TENANT_CONCURRENCY_EXCEEDED = "Error: Concurrent request quota of tenant {%s} exceeded.";
+    public static final String TENANT_STORAGE_EXCEEDED = "Error: Tenant {%s} cannot store more than %d posts.";
+
+    // Maximum number of posts fetched by id in one request
+    public static final int MAX_IDS_PER_REQUEST = 200;
 
     // Constants for endpoint paths
     public static final String POST_ID_PATH = "/{postId}";
     public static final String POST_PATH = "/posts";
+    public static final String STATS_PATH = "/stats";
+    public static final String FEED_PATH = "/feed.xml";
+    public static final String SITEMAP_PATH = "/sitemap.xml";
+
+    // Constants for request headers
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    public static final String TENANT_ID_HEADER = "X-Tenant-Id";
+
+    // Tenant of the requests that do not name one
+    public static final String DEFAULT_TENANT = "default";
 }
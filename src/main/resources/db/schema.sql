@@ -5,11 +5,43 @@ USE blog_db;
 -- Create the POST table
 CREATE TABLE IF NOT EXISTS BLOG_POST (
                                                ID BIGINT NOT NULL AUTO_INCREMENT,
+                                               TENANT_ID VARCHAR(64) NOT NULL DEFAULT 'default',
                                                TITLE VARCHAR(255) NOT NULL,
                                                CONTENT TEXT,
                                                CATEGORY VARCHAR(255),
                                                TAGS JSON,
+                                               WORD_COUNT INT,
+                                               READING_TIME_MINUTES INT,
+                                               PUBLISH_AT DATETIME(6),
+                                               PUBLISHED BOOLEAN NOT NULL DEFAULT TRUE,
+                                               PUBLISHED_AT DATETIME(6),
                                                CREATED_AT DATETIME DEFAULT CURRENT_TIMESTAMP,
                                                UPDATED_AT DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                                               PRIMARY KEY (id)
+                                               DELETED BOOLEAN NOT NULL DEFAULT FALSE,
+                                               DELETED_AT DATETIME(6),
+                                               PRIMARY KEY (id),
+                                               INDEX IDX_BLOG_POST_TENANT_PUBLISHED (TENANT_ID, PUBLISHED, ID),
+                                               INDEX IDX_BLOG_POST_TENANT_PUBLISHED_AT (TENANT_ID, PUBLISHED, PUBLISHED_AT),
+                                               INDEX IDX_BLOG_POST_DELETED (DELETED, DELETED_AT)
+);
+
+-- Create the POST_PUBLICATION table of scheduled publications and their leases
+CREATE TABLE IF NOT EXISTS POST_PUBLICATION (
+                                               POST_ID BIGINT NOT NULL,
+                                               PUBLISH_AT DATETIME(6) NOT NULL,
+                                               OWNER VARCHAR(64),
+                                               LEASE_EXPIRES_AT DATETIME(6),
+                                               PRIMARY KEY (POST_ID),
+                                               INDEX IDX_POST_PUBLICATION_PUBLISH_AT (PUBLISH_AT)
+);
+
+-- Create the POST_EVENT outbox table
+CREATE TABLE IF NOT EXISTS POST_EVENT (
+                                               ID BIGINT NOT NULL AUTO_INCREMENT,
+                                               POST_ID BIGINT NOT NULL,
+                                               TYPE VARCHAR(16) NOT NULL,
+                                               CREATED_AT DATETIME(6) NOT NULL,
+                                               FAILED_DELIVERIES INT NOT NULL DEFAULT 0,
+                                               PRIMARY KEY (ID),
+                                               INDEX IDX_POST_EVENT_CREATED_AT (CREATED_AT)
 );
@@ -0,0 +1,85 @@
+package org.deimos.projects.bloggingplatformapi.model.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH benchmark of {@link BlogPostMapper#mapToBlogPostList}, sequential versus parallel, by list size.
+ * <p>
+ * The sequential mode disables the {@link ListMappingExecutor} threshold entirely, the parallel mode maps every
+ * list on the pool. The crossover point is the smallest size where the parallel mode is faster; set
+ * {@code blog.mapping.parallel-threshold} around it for the target hardware.
+ * <p>
+ * Usage: {@code ./gradlew mappingBenchmark}; the results are also written to {@code build/jmh/mapping.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapToBlogPostListBenchmark {
+
+    @Param({"10", "100", "500", "1000", "5000", "20000"})
+    public int size;
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    private BlogPostMapper blogPostMapper;
+    private ListMappingExecutor listMappingExecutor;
+    private List<BlogPostData> posts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int threshold = "parallel".equals(mode) ? 0 : Integer.MAX_VALUE;
+        listMappingExecutor = new ListMappingExecutor(threshold,
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 64);
+
+        blogPostMapper = new BlogPostMapperImpl();
+        blogPostMapper.objectMapper = new ObjectMapper();
+        blogPostMapper.listMappingExecutor = listMappingExecutor;
+
+        Instant now = Instant.now();
+        posts = IntStream.range(0, size).mapToObj(i -> {
+            BlogPostData post = new BlogPostData();
+            post.setId((long) i);
+            post.setTitle("Post " + i);
+            post.setContent("lorem ipsum ".repeat(100));
+            post.setCategory("category-" + i % 10);
+            post.setTags("[\"tag-" + i % 25 + "\",\"tag-" + i % 7 + "\",\"benchmark\"]");
+            post.setCreatedAt(now);
+            post.setUpdatedAt(now);
+            return post;
+        }).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        listMappingExecutor.close();
+    }
+
+    @Benchmark
+    public List<BlogPostResponse> mapToBlogPostList() {
+        return blogPostMapper.mapToBlogPostList(posts);
+    }
+}
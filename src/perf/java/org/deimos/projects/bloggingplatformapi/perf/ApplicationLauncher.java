@@ -0,0 +1,124 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the application in a separate JVM for the performance tools, backed by an in-memory H2 database
+ * unless another datasource is given.
+ */
+final class ApplicationLauncher {
+
+    static final String POSTS_PATH = "/v1/blogging-platform/posts";
+
+    private ApplicationLauncher() {
+    }
+
+    static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    /**
+     * @return the launch command followed by the arguments binding the application to the port and to H2
+     */
+    static List<String> command(final List<String> launch, final int port) {
+        return command(launch, port, h2Datasource());
+    }
+
+    /**
+     * @return the launch command followed by the arguments binding the application to the port and the datasource
+     */
+    static List<String> command(final List<String> launch, final int port, final List<String> datasource) {
+        List<String> command = new ArrayList<>(launch);
+        command.add("--server.port=" + port);
+        command.addAll(datasource);
+        return command;
+    }
+
+    static List<String> h2Datasource() {
+        return List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop");
+    }
+
+    /**
+     * @return the arguments binding the application to an existing MySQL database, whose tables are recreated
+     */
+    static List<String> mysqlDatasource(final String url, final String username, final String password) {
+        return List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop");
+    }
+
+    /**
+     * @return the arguments binding the application to a seeded H2 or MySQL database, whose tables are kept and only
+     * completed by Hibernate
+     */
+    static List<String> seededDatasource(final String url, final String username, final String password) {
+        String dialect = url.startsWith("jdbc:mysql:")
+                ? "org.hibernate.dialect.MySQLDialect"
+                : "org.hibernate.dialect.H2Dialect";
+        return List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.database-platform=" + dialect,
+                "--spring.jpa.hibernate.ddl-auto=update");
+    }
+
+    static Process start(final List<String> command) throws IOException {
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    /**
+     * Polls the URI until it answers successfully.
+     *
+     * @throws IllegalStateException if the application exits or does not answer within the timeout
+     */
+    static void awaitReady(final Process process, final URI uri, final Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue());
+            }
+
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not answer within " + timeout);
+    }
+
+    static void stop(final Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
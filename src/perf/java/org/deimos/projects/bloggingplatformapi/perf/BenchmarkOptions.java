@@ -0,0 +1,27 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses the {@code --name=value} arguments given to the performance tools.
+ */
+final class BenchmarkOptions {
+
+    private BenchmarkOptions() {
+    }
+
+    static Map<String, String> parse(final String[] args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+}
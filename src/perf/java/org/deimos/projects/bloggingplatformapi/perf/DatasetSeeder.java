@@ -0,0 +1,206 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the {@code BLOG_POST} table of an H2 or MySQL database with synthetic posts, for reproducible
+ * performance tests on realistic data.
+ * <p>
+ * Posts are drawn by {@link PostGenerator}: Zipfian category, tag and word popularity, log-normal content
+ * lengths. Their creation times are spread over the last {@code --years}, increasing with the ids as in a real
+ * table, and about a third of them were updated some time after their creation. With {@code --tenants} above
+ * one, the posts are spread over {@code tenant-<rank>} tenants, also with a Zipfian popularity. The same
+ * {@code --seed} always produces the same dataset.
+ * <p>
+ * The table is created when it does not exist, then emptied unless {@code --truncate=false}. Rows are inserted
+ * with JDBC batches of {@code --batch-size} rows, one transaction per batch; on MySQL, the driver rewrites each
+ * batch into multi-row inserts. The other tables of the application are left to Hibernate, which creates them
+ * when the application starts against the seeded database.
+ * <p>
+ * Usage: {@code ./gradlew seedDataset [-PdbUrl=jdbc:mysql://localhost:3306/blog_db] [-Pposts=100000]}
+ */
+public final class DatasetSeeder {
+
+    /**
+     * File database in mixed mode, so the workload replayer and the application can open it at the same time.
+     */
+    static final String DEFAULT_H2_URL = "jdbc:h2:file:./build/perf/blog_db;AUTO_SERVER=TRUE";
+
+    private static final double UPDATED_RATIO = 0.3;
+    private static final Duration MEAN_TIME_TO_UPDATE = Duration.ofDays(30);
+
+    private static final String H2_TABLE = """
+            CREATE TABLE IF NOT EXISTS BLOG_POST (
+                ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                TENANT_ID VARCHAR(64) DEFAULT 'default' NOT NULL,
+                TITLE VARCHAR(255),
+                CONTENT CLOB,
+                CATEGORY VARCHAR(255),
+                TAGS VARCHAR(255),
+                WORD_COUNT INTEGER,
+                READING_TIME_MINUTES INTEGER,
+                PUBLISH_AT TIMESTAMP(6) WITH TIME ZONE,
+                PUBLISHED BOOLEAN DEFAULT TRUE NOT NULL,
+                PUBLISHED_AT TIMESTAMP(6) WITH TIME ZONE,
+                CREATED_AT TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                UPDATED_AT TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                DELETED BOOLEAN DEFAULT FALSE NOT NULL,
+                DELETED_AT TIMESTAMP(6) WITH TIME ZONE
+            )
+            """;
+
+    private static final String MYSQL_TABLE = """
+            CREATE TABLE IF NOT EXISTS BLOG_POST (
+                ID BIGINT NOT NULL AUTO_INCREMENT,
+                TENANT_ID VARCHAR(64) NOT NULL DEFAULT 'default',
+                TITLE VARCHAR(255) NOT NULL,
+                CONTENT TEXT,
+                CATEGORY VARCHAR(255),
+                TAGS JSON,
+                WORD_COUNT INT,
+                READING_TIME_MINUTES INT,
+                PUBLISH_AT DATETIME(6),
+                PUBLISHED BOOLEAN NOT NULL DEFAULT TRUE,
+                PUBLISHED_AT DATETIME(6),
+                CREATED_AT DATETIME(6) NOT NULL,
+                UPDATED_AT DATETIME(6) NOT NULL,
+                DELETED BOOLEAN NOT NULL DEFAULT FALSE,
+                DELETED_AT DATETIME(6),
+                PRIMARY KEY (ID),
+                INDEX IDX_BLOG_POST_TENANT_PUBLISHED (TENANT_ID, PUBLISHED, ID),
+                INDEX IDX_BLOG_POST_TENANT_PUBLISHED_AT (TENANT_ID, PUBLISHED, PUBLISHED_AT),
+                INDEX IDX_BLOG_POST_DELETED (DELETED, DELETED_AT)
+            )
+            """;
+
+    private static final String H2_INDEXES = """
+            CREATE INDEX IF NOT EXISTS IDX_BLOG_POST_TENANT_PUBLISHED ON BLOG_POST (TENANT_ID, PUBLISHED, ID);
+            CREATE INDEX IF NOT EXISTS IDX_BLOG_POST_TENANT_PUBLISHED_AT
+                ON BLOG_POST (TENANT_ID, PUBLISHED, PUBLISHED_AT);
+            CREATE INDEX IF NOT EXISTS IDX_BLOG_POST_DELETED ON BLOG_POST (DELETED, DELETED_AT)
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO BLOG_POST (TENANT_ID, TITLE, CONTENT, CATEGORY, TAGS, WORD_COUNT, READING_TIME_MINUTES,
+                                   PUBLISHED, PUBLISHED_AT, CREATED_AT, UPDATED_AT, DELETED)
+            VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?, FALSE)
+            """;
+
+    private DatasetSeeder() {
+    }
+
+    public static void main(final String[] args) throws SQLException {
+        Map<String, String> options = BenchmarkOptions.parse(args);
+        String url = options.getOrDefault("db-url", DEFAULT_H2_URL);
+        String user = options.getOrDefault("db-user", isMySql(url) ? "root" : "sa");
+        String password = options.getOrDefault("db-password", "");
+        int posts = Integer.parseInt(options.getOrDefault("posts", "100000"));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "1000"));
+        boolean truncate = Boolean.parseBoolean(options.getOrDefault("truncate", "true"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int years = Integer.parseInt(options.getOrDefault("years", "5"));
+        int tenants = Integer.parseInt(options.getOrDefault("tenants", "1"));
+        double exponent = Double.parseDouble(options.getOrDefault("zipf-exponent", "1.1"));
+        PostGenerator generator = new PostGenerator(
+                Integer.parseInt(options.getOrDefault("categories", "50")),
+                Integer.parseInt(options.getOrDefault("tags", "2000")),
+                exponent,
+                Integer.parseInt(options.getOrDefault("median-content-length", "2500")));
+
+        try (Connection connection = DriverManager.getConnection(batchingUrl(url), user, password)) {
+            createTable(connection, isMySql(url));
+            if (truncate) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("TRUNCATE TABLE BLOG_POST");
+                }
+            }
+
+            long start = System.nanoTime();
+            insertPosts(connection, generator, new ZipfDistribution(tenants, exponent), posts, batchSize, years,
+                    new SplittableRandom(seed));
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Seeded %d posts into %s in %.1f s (%.0f posts/s)%n", posts, url, seconds,
+                    posts / seconds);
+        }
+    }
+
+    static boolean isMySql(final String url) {
+        return url.startsWith("jdbc:mysql:");
+    }
+
+    /**
+     * @return the URL, with the MySQL driver asked to rewrite JDBC batches into multi-row inserts
+     */
+    private static String batchingUrl(final String url) {
+        if (!isMySql(url) || url.contains("rewriteBatchedStatements")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+    }
+
+    private static void createTable(final Connection connection, final boolean mySql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (mySql) {
+                statement.execute(MYSQL_TABLE);
+                return;
+            }
+            statement.execute(H2_TABLE);
+            for (String index : H2_INDEXES.split(";")) {
+                statement.execute(index.strip());
+            }
+        }
+    }
+
+    private static void insertPosts(final Connection connection, final PostGenerator generator,
+                                    final ZipfDistribution tenants, final int posts, final int batchSize,
+                                    final int years, final SplittableRandom random) throws SQLException {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant first = now.minus(Duration.ofDays(365L * years));
+        double millisPerPost = Duration.between(first, now).toMillis() / (double) Math.max(1, posts);
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (int i = 0; i < posts; i++) {
+                PostGenerator.GeneratedPost post = generator.next(random);
+                Instant createdAt = first.plusMillis((long) ((i + random.nextDouble()) * millisPerPost));
+                Instant updatedAt = createdAt;
+                if (random.nextDouble() < UPDATED_RATIO) {
+                    long delay = (long) (-Math.log(1 - random.nextDouble()) * MEAN_TIME_TO_UPDATE.toMillis());
+                    updatedAt = createdAt.plusMillis(Math.min(delay, Duration.between(createdAt, now).toMillis()));
+                }
+                int wordCount = post.wordCount();
+
+                insert.setString(1, tenants.size() == 1 ? "default" : "tenant-" + tenants.sample(random));
+                insert.setString(2, post.title());
+                insert.setString(3, post.content());
+                insert.setString(4, post.category());
+                insert.setString(5, post.tagsJson());
+                insert.setInt(6, wordCount);
+                insert.setInt(7, Math.max(1, (wordCount + 199) / 200));
+                insert.setTimestamp(8, Timestamp.from(createdAt));
+                insert.setTimestamp(9, Timestamp.from(createdAt));
+                insert.setTimestamp(10, Timestamp.from(updatedAt));
+                insert.addBatch();
+
+                if ((i + 1) % batchSize == 0 || i == posts - 1) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if ((i + 1) % 100_000 == 0) {
+                    System.out.printf("  %d posts%n", i + 1);
+                }
+            }
+        }
+    }
+}
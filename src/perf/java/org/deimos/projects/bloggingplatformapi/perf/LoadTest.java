@@ -0,0 +1,222 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-model load test of the post endpoints, run against each server profile.
+ * <p>
+ * For every profile, the application is launched in a fresh JVM backed by an in-memory H2 database and seeded
+ * with posts. Then a fixed number of virtual users, sharing one HTTP/2-capable client, send requests back to
+ * back for a warm-up period followed by the measured period. The workload is a mix of small requests, read-heavy
+ * by default ({@code --mix=80,15,5}):
+ * <ul>
+ * <li> 80% {@code GET /posts/{postId}}
+ * <li> 15% {@code GET /posts?category=...}
+ * <li> 5% {@code PUT /posts/{postId}}
+ * </ul>
+ * The client asks for HTTP/2, so profiles enabling h2c are served over multiplexed connections while the others
+ * fall back to HTTP/1.1 keep-alive connections. Throughput and latency percentiles are reported per profile.
+ * Profiles combined in one run are joined with {@code +}, e.g. {@code prod+persistence}. With {@code --db-url}, the
+ * application runs against that MySQL database instead of H2, and its tables are recreated on every launch.
+ * <p>
+ * Usage: {@code ./gradlew loadTest [-Pprofiles=default,high-throughput] [-Pusers=64] [-Pduration=30]}
+ */
+public final class LoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final int CATEGORIES = 10;
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        Map<String, String> options = BenchmarkOptions.parse(args);
+        Path bootJar = Path.of(options.get("boot-jar"));
+        List<String> profiles = List.of(options.getOrDefault("profiles", "default,high-throughput").split(","));
+        int users = Integer.parseInt(options.getOrDefault("users", "64"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        int posts = Integer.parseInt(options.getOrDefault("posts", "200"));
+        int contentSize = Integer.parseInt(options.getOrDefault("content-size", "2000"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", "80,15,5"));
+        List<String> datasource = options.containsKey("db-url")
+                ? ApplicationLauncher.mysqlDatasource(options.get("db-url"), options.getOrDefault("db-user", "root"),
+                        options.getOrDefault("db-password", ""))
+                : ApplicationLauncher.h2Datasource();
+
+        System.out.printf("%-16s %-8s %10s %10s %8s %9s %9s %9s %9s %9s%n", "profile", "protocol", "requests",
+                "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (String profile : profiles) {
+            List<String> command = ApplicationLauncher.command(List.of(ApplicationLauncher.java(), "-jar",
+                    bootJar.toString(), "--spring.profiles.active=" + profile.replace('+', ',')), port, datasource);
+            URI postsUri = URI.create("http://localhost:" + port + ApplicationLauncher.POSTS_PATH);
+
+            Process process = ApplicationLauncher.start(command);
+            try {
+                ApplicationLauncher.awaitReady(process, postsUri, STARTUP_TIMEOUT);
+                Result result = run(postsUri, users, warmup, duration, posts, contentSize, mix);
+
+                long[] latencies = result.latenciesMicros();
+                System.out.printf("%-16s %-8s %10d %10.0f %8d %9s %9s %9s %9s %9s%n", profile, result.protocol(),
+                        latencies.length, latencies.length / (double) duration.toSeconds(), result.errors(),
+                        millis(Percentiles.of(latencies, 50)), millis(Percentiles.of(latencies, 90)),
+                        millis(Percentiles.of(latencies, 99)), millis(Percentiles.of(latencies, 99.9)),
+                        millis(Percentiles.max(latencies)));
+            } finally {
+                ApplicationLauncher.stop(process);
+            }
+        }
+    }
+
+    private static Result run(final URI postsUri, final int users, final Duration warmup, final Duration duration,
+                              final int posts, final int contentSize, final Mix mix) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        String content = "lorem ".repeat(Math.max(1, contentSize / 6));
+
+        long[] postIds = new long[posts];
+        for (int i = 0; i < posts; i++) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(postsUri)
+                    .header("Content-Type", "application/json")
+                    .timeout(REQUEST_TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.ofString(postJson(i, content)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            Matcher id = ID_PATTERN.matcher(response.body());
+            if (response.statusCode() != 201 || !id.find()) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+            postIds[i] = Long.parseLong(id.group(1));
+        }
+
+        HttpResponse<Void> probe = client.send(HttpRequest.newBuilder(URI.create(postsUri + "/" + postIds[0])).build(),
+                HttpResponse.BodyHandlers.discarding());
+        String protocol = probe.version() == HttpClient.Version.HTTP_2 ? "h2c" : "http/1.1";
+
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> userLatencies = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                userLatencies.add(executor.submit(() ->
+                        runUser(client, postsUri, postIds, content, mix, measureStart, measureEnd, errors)));
+            }
+        }
+
+        List<long[]> samples = new ArrayList<>();
+        for (Future<long[]> latencies : userLatencies) {
+            samples.add(latencies.get());
+        }
+        long[] latenciesMicros = samples.stream().flatMapToLong(Arrays::stream).toArray();
+
+        return new Result(protocol, latenciesMicros, errors.get());
+    }
+
+    private static long[] runUser(final HttpClient client, final URI postsUri, final long[] postIds,
+                                  final String content, final Mix mix, final long measureStart,
+                                  final long measureEnd, final AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= measureEnd) {
+                return Arrays.copyOf(latencies, count);
+            }
+
+            int postIndex = random.nextInt(postIds.length);
+            URI postUri = URI.create(postsUri + "/" + postIds[postIndex]);
+            int roll = random.nextInt(100);
+            HttpRequest request;
+            if (roll < mix.reads()) {
+                request = HttpRequest.newBuilder(postUri).timeout(REQUEST_TIMEOUT).GET().build();
+            } else if (roll < mix.reads() + mix.lists()) {
+                URI listUri = URI.create(postsUri + "?category=category-" + random.nextInt(CATEGORIES));
+                request = HttpRequest.newBuilder(listUri).timeout(REQUEST_TIMEOUT).GET().build();
+            } else {
+                request = HttpRequest.newBuilder(postUri)
+                        .header("Content-Type", "application/json")
+                        .timeout(REQUEST_TIMEOUT)
+                        .PUT(HttpRequest.BodyPublishers.ofString(postJson(postIndex, content)))
+                        .build();
+            }
+
+            boolean failed;
+            try {
+                failed = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+            } catch (Exception e) {
+                failed = true;
+            }
+            long end = System.nanoTime();
+
+            if (start < measureStart) {
+                continue;
+            }
+            if (failed) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = (end - start) / 1_000;
+        }
+    }
+
+    private static String postJson(final int index, final String content) {
+        return """
+                {"title":"Post %d","content":"%s","category":"category-%d","tags":["tag-%d","load-test"]}
+                """.formatted(index, content, index % CATEGORIES, index % 25);
+    }
+
+    private static String millis(final long micros) {
+        return String.format("%.2f", micros / 1_000.0);
+    }
+
+    private record Result(String protocol, long[] latenciesMicros, long errors) {
+    }
+
+    /**
+     * Percentages of single post reads, category lists and updates; they must add up to 100.
+     */
+    private record Mix(int reads, int lists, int updates) {
+
+        static Mix parse(final String mix) {
+            String[] parts = mix.split(",");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected reads,lists,updates percentages: " + mix);
+            }
+
+            Mix parsed = new Mix(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()));
+            if (parsed.reads() + parsed.lists() + parsed.updates() != 100) {
+                throw new IllegalArgumentException("The mix percentages must add up to 100: " + mix);
+            }
+            return parsed;
+        }
+    }
+}
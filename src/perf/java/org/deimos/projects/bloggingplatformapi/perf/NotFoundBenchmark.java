@@ -0,0 +1,185 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures {@code GET /posts/{postId}} under traffic where most ids do not exist, as sent by clients
+ * scanning for ids or following stale links, with and without the existence filter of missing posts.
+ * <p>
+ * For every scenario, the application is launched in a fresh JVM backed by an in-memory H2 database and seeded
+ * with posts, whose ids are then the first ones. The existence filter is rebuilt right after the seeding, then
+ * a fixed number of virtual users request ids drawn uniformly among ten times the number of posts, so about 90%
+ * of the requests end up in a 404 by default. Throughput, latency percentiles and the share of 404 responses
+ * are reported per scenario:
+ * <ol>
+ * <li> filter - Missing posts are answered from the Bloom filter and the negative cache.
+ * <li> no-filter - Every lookup reaches the database ({@code blog.cache.not-found.enabled=false}).
+ * </ol>
+ * Usage: {@code ./gradlew notFoundBenchmark [-Pusers=64] [-Pduration=30] [-PmissRatio=0.9]}
+ */
+public final class NotFoundBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration FILTER_REBUILD_INTERVAL = Duration.ofSeconds(2);
+
+    private NotFoundBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        Map<String, String> options = BenchmarkOptions.parse(args);
+        Path bootJar = Path.of(options.get("boot-jar"));
+        int users = Integer.parseInt(options.getOrDefault("users", "64"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        int posts = Integer.parseInt(options.getOrDefault("posts", "1000"));
+        double missRatio = Double.parseDouble(options.getOrDefault("miss-ratio", "0.9"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        long idRange = Math.round(posts / (1 - missRatio));
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("filter", true),
+                new Scenario("no-filter", false));
+
+        System.out.printf("%-10s %10s %10s %8s %8s %9s %9s %9s %9s%n", "scenario", "requests", "req/s", "404 %",
+                "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        for (Scenario scenario : scenarios) {
+            List<String> command = ApplicationLauncher.command(List.of(ApplicationLauncher.java(), "-jar",
+                    bootJar.toString(),
+                    "--blog.cache.not-found.enabled=" + scenario.filterEnabled(),
+                    "--blog.cache.not-found.commit-grace=0s",
+                    "--blog.cache.not-found.rebuild-interval=" + FILTER_REBUILD_INTERVAL.toMillis() + "ms"), port);
+            URI postsUri = URI.create("http://localhost:" + port + ApplicationLauncher.POSTS_PATH);
+
+            Process process = ApplicationLauncher.start(command);
+            try {
+                ApplicationLauncher.awaitReady(process, postsUri, STARTUP_TIMEOUT);
+                Result result = run(postsUri, users, warmup, duration, posts, idRange);
+
+                long[] latencies = result.latenciesMicros();
+                System.out.printf("%-10s %10d %10.0f %8.1f %8d %9s %9s %9s %9s%n", scenario.name(),
+                        latencies.length, latencies.length / (double) duration.toSeconds(),
+                        100.0 * result.notFound() / Math.max(1, latencies.length), result.errors(),
+                        millis(Percentiles.of(latencies, 50)), millis(Percentiles.of(latencies, 90)),
+                        millis(Percentiles.of(latencies, 99)), millis(Percentiles.max(latencies)));
+            } finally {
+                ApplicationLauncher.stop(process);
+            }
+        }
+    }
+
+    private static Result run(final URI postsUri, final int users, final Duration warmup, final Duration duration,
+                              final int posts, final long idRange) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+
+        for (int i = 0; i < posts; i++) {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(postsUri)
+                    .header("Content-Type", "application/json")
+                    .timeout(REQUEST_TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.ofString(postJson(i)))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+        }
+        // Lets the existence filter pick up the seeded posts before the warm-up starts
+        Thread.sleep(FILTER_REBUILD_INTERVAL.multipliedBy(2).toMillis());
+
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+        AtomicLong notFound = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> userLatencies = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                userLatencies.add(executor.submit(() ->
+                        runUser(client, postsUri, idRange, measureStart, measureEnd, notFound, errors)));
+            }
+        }
+
+        List<long[]> samples = new ArrayList<>();
+        for (Future<long[]> latencies : userLatencies) {
+            samples.add(latencies.get());
+        }
+        long[] latenciesMicros = samples.stream().flatMapToLong(Arrays::stream).toArray();
+
+        return new Result(latenciesMicros, notFound.get(), errors.get());
+    }
+
+    private static long[] runUser(final HttpClient client, final URI postsUri, final long idRange,
+                                  final long measureStart, final long measureEnd, final AtomicLong notFound,
+                                  final AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= measureEnd) {
+                return Arrays.copyOf(latencies, count);
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(postsUri + "/" + random.nextLong(1, idRange + 1)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            long end = System.nanoTime();
+
+            if (start < measureStart) {
+                continue;
+            }
+            if (status != 200 && status != 404) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (status == 404) {
+                notFound.incrementAndGet();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = (end - start) / 1_000;
+        }
+    }
+
+    private static String postJson(final int index) {
+        return """
+                {"title":"Post %d","content":"Content of post %d","category":"category","tags":["not-found"]}
+                """.formatted(index, index);
+    }
+
+    private static String millis(final long micros) {
+        return String.format("%.2f", micros / 1_000.0);
+    }
+
+    private record Scenario(String name, boolean filterEnabled) {
+    }
+
+    private record Result(long[] latenciesMicros, long notFound, long errors) {
+    }
+}
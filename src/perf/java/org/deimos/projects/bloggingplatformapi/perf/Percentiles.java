@@ -0,0 +1,31 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.util.Arrays;
+
+/**
+ * Nearest-rank percentiles over the raw samples collected by the performance tools.
+ */
+final class Percentiles {
+
+    private Percentiles() {
+    }
+
+    static long of(final long[] samples, final double percentile) {
+        if (samples.length == 0) {
+            return 0;
+        }
+
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    static long min(final long[] samples) {
+        return Arrays.stream(samples).min().orElse(0);
+    }
+
+    static long max(final long[] samples) {
+        return Arrays.stream(samples).max().orElse(0);
+    }
+}
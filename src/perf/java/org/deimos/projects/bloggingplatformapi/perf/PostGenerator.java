@@ -0,0 +1,120 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * Generates synthetic blog posts with realistic distributions, shared by the dataset seeder and the workload
+ * replayer so both draw from the same categories, tags and vocabulary:
+ * <ul>
+ * <li> Categories ({@code category-<rank>}), tags ({@code tag-<rank>}) and content words follow Zipf
+ * distributions, so a few are used by most posts, as on a real blog.
+ * <li> Content lengths follow a log-normal distribution around {@code medianContentLength} characters, with
+ * a long tail of very long posts.
+ * <li> Every post has one to five distinct tags.
+ * </ul>
+ */
+final class PostGenerator {
+
+    static final int MAX_TAGS_PER_POST = 5;
+
+    private static final double CONTENT_LENGTH_SIGMA = 0.9;
+    private static final int MIN_CONTENT_LENGTH = 80;
+    private static final int MAX_CONTENT_LENGTH = 100_000;
+
+    private static final String[] VOCABULARY = {
+            "the", "of", "and", "to", "in", "is", "for", "that", "with", "on", "as", "it", "by", "this", "are",
+            "from", "be", "or", "can", "we", "an", "when", "which", "data", "code", "java", "spring", "service",
+            "request", "latency", "cache", "query", "index", "thread", "memory", "database", "server", "client",
+            "performance", "throughput", "connection", "transaction", "pool", "batch", "stream", "lock", "queue",
+            "benchmark", "profile", "heap", "garbage", "collector", "kernel", "network", "socket", "buffer",
+            "replica", "shard", "partition", "schema", "migration", "deploy", "container", "cluster", "metric",
+            "trace", "log", "tenant", "quota", "bloom", "filter", "bitmap", "compaction", "snapshot", "cursor",
+            "sitemap", "feed", "crawler", "zipf", "histogram", "percentile", "regression", "flamegraph"
+    };
+
+    private final ZipfDistribution categories;
+    private final ZipfDistribution tags;
+    private final ZipfDistribution words;
+    private final int medianContentLength;
+
+    PostGenerator(final int categoryCount, final int tagCount, final double exponent, final int medianContentLength) {
+        this.categories = new ZipfDistribution(categoryCount, exponent);
+        this.tags = new ZipfDistribution(tagCount, exponent);
+        this.words = new ZipfDistribution(VOCABULARY.length, 1.0);
+        this.medianContentLength = medianContentLength;
+    }
+
+    GeneratedPost next(final RandomGenerator random) {
+        String title = sentence(random, 3 + random.nextInt(8));
+        String content = content(random, contentLength(random));
+        String category = category(random);
+
+        int tagCount = 1 + random.nextInt(Math.min(MAX_TAGS_PER_POST, tags.size()));
+        Set<String> postTags = new LinkedHashSet<>();
+        while (postTags.size() < tagCount) {
+            postTags.add(tag(random));
+        }
+
+        return new GeneratedPost(title, content, category, postTags);
+    }
+
+    String category(final RandomGenerator random) {
+        return "category-" + categories.sample(random);
+    }
+
+    String tag(final RandomGenerator random) {
+        return "tag-" + tags.sample(random);
+    }
+
+    /**
+     * @return a word of the content vocabulary, frequent words being drawn more often
+     */
+    String word(final RandomGenerator random) {
+        return VOCABULARY[words.sample(random)];
+    }
+
+    private int contentLength(final RandomGenerator random) {
+        double length = medianContentLength * Math.exp(CONTENT_LENGTH_SIGMA * random.nextGaussian());
+        return (int) Math.max(MIN_CONTENT_LENGTH, Math.min(MAX_CONTENT_LENGTH, length));
+    }
+
+    private String content(final RandomGenerator random, final int length) {
+        StringBuilder content = new StringBuilder(length + 16);
+        while (content.length() < length) {
+            content.append(sentence(random, 6 + random.nextInt(14))).append(". ");
+        }
+        return content.toString();
+    }
+
+    private String sentence(final RandomGenerator random, final int wordCount) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(word(random));
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.toString();
+    }
+
+    record GeneratedPost(String title, String content, String category, Set<String> tags) {
+
+        int wordCount() {
+            return content.split("\\s+").length;
+        }
+
+        String tagsJson() {
+            return tags.stream().map(tag -> "\"" + tag + "\"").collect(Collectors.joining(",", "[", "]"));
+        }
+
+        String toJson() {
+            return """
+                    {"title":"%s","content":"%s","category":"%s","tags":%s}
+                    """.formatted(title, content, category, tagsJson());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the cold start of the application in its different startup configurations.
+ * <p>
+ * Every scenario launches the application in a fresh JVM backed by an in-memory H2 database, and records:
+ * <ul>
+ * <li> Time to first request: from the process launch until {@code GET /posts} answers successfully.
+ * <li> RSS: resident memory of the process right after that first request (read from {@code /proc}, Linux only).
+ * </ul>
+ * Scenarios:
+ * <ol>
+ * <li> default - The fat jar with the default configuration.
+ * <li> prod - The fat jar with the {@code prod} profile (lazy initialization, unused auto-configurations excluded).
+ * <li> prod-cds - The CDS layout with the {@code prod} profile and the class data sharing archive, when it exists.
+ * </ol>
+ * Usage: {@code ./gradlew startupBenchmark [-Pruns=5]}
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        Map<String, String> options = BenchmarkOptions.parse(args);
+        String java = ApplicationLauncher.java();
+        Path bootJar = Path.of(options.get("boot-jar"));
+        Path cdsDir = Path.of(options.get("cds-dir"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("default", ApplicationLauncher.command(
+                List.of(java, "-jar", bootJar.toString(), "--spring.profiles.active=default"), port)));
+        scenarios.add(new Scenario("prod", ApplicationLauncher.command(
+                List.of(java, "-jar", bootJar.toString(), "--spring.profiles.active=prod"), port)));
+
+        Path cdsArchive = cdsDir.resolve("application.jsa");
+        if (Files.exists(cdsArchive)) {
+            scenarios.add(new Scenario("prod-cds", ApplicationLauncher.command(List.of(java,
+                    "-XX:SharedArchiveFile=" + cdsArchive, "-jar", cdsDir.resolve("application.jar").toString(),
+                    "--spring.profiles.active=prod"), port)));
+        }
+
+        URI firstRequest = URI.create("http://localhost:" + port + ApplicationLauncher.POSTS_PATH);
+        System.out.printf("%-10s %12s %12s %12s %12s%n", "scenario", "p50 ttfr ms", "min ttfr ms", "max ttfr ms",
+                "p50 RSS MB");
+
+        for (Scenario scenario : scenarios) {
+            long[] timesToFirstRequest = new long[runs];
+            long[] residentSetSizes = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                Measurement measurement = measure(scenario.command(), firstRequest);
+                timesToFirstRequest[run] = measurement.timeToFirstRequestMillis();
+                residentSetSizes[run] = measurement.residentSetSizeKb();
+            }
+
+            System.out.printf("%-10s %12d %12d %12d %12s%n", scenario.name(),
+                    Percentiles.of(timesToFirstRequest, 50), Percentiles.min(timesToFirstRequest),
+                    Percentiles.max(timesToFirstRequest), formatRss(Percentiles.of(residentSetSizes, 50)));
+        }
+    }
+
+    private static Measurement measure(final List<String> command, final URI firstRequest) throws Exception {
+        long start = System.nanoTime();
+        Process process = ApplicationLauncher.start(command);
+
+        try {
+            ApplicationLauncher.awaitReady(process, firstRequest, STARTUP_TIMEOUT);
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            return new Measurement(elapsedMillis, residentSetSizeKb(process.pid()));
+        } finally {
+            ApplicationLauncher.stop(process);
+        }
+    }
+
+    private static long residentSetSizeKb(final long pid) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D+", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not available on this platform
+        }
+        return -1;
+    }
+
+    private static String formatRss(final long residentSetSizeKb) {
+        return residentSetSizeKb < 0 ? "n/a" : Long.toString(residentSetSizeKb / 1024);
+    }
+
+    private record Scenario(String name, List<String> command) {
+    }
+
+    private record Measurement(long timeToFirstRequestMillis, long residentSetSizeKb) {
+    }
+}
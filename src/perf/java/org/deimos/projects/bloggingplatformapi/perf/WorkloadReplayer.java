@@ -0,0 +1,375 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a configurable workload against the post endpoints of an application serving a dataset seeded by
+ * {@link DatasetSeeder}, and reports the latency percentiles of every operation.
+ * <p>
+ * The application is either already running at {@code --base-url}, or launched from {@code --boot-jar} against
+ * the seeded database, whose tables are kept, and trusting the {@code X-Tenant-Id} header the replayer selects
+ * the tenant with, as a gateway would. The range of post ids is read from that database beforehand. The
+ * workload is a mix of operations ({@code --mix=read,search,list,create,update} percentages, 70,5,15,5,5 by
+ * default):
+ * <ul>
+ * <li> read - {@code GET /posts/{postId}}, recent posts being the most popular (Zipf over the ids).
+ * <li> search - {@code GET /posts?term=...}, a two-word phrase of the content vocabulary.
+ * <li> list - {@code GET /posts?category=...&tags=...&sort=createdAt,desc}, popular categories and tags first.
+ * <li> create - {@code POST /posts} with a post drawn like the seeded ones.
+ * <li> update - {@code PUT /posts/{postId}} of a popular post.
+ * </ul>
+ * Without {@code --rate}, a fixed number of virtual users send requests back to back (closed model). With
+ * {@code --rate}, the users send requests on a fixed schedule totalling that many requests per second (open
+ * model), and latencies are measured from the scheduled start, so a stalled server is charged for the requests
+ * it delayed instead of hiding them. A read or an update of a missing post, e.g. one of another tenant, counts as
+ * a 404, not as an error. With {@code --report}, the results are also written to that CSV file.
+ * <p>
+ * Usage: {@code ./gradlew replayWorkload [-Pmix=70,5,15,5,5] [-Pusers=32] [-Prate=500] [-Pduration=60]}
+ */
+public final class WorkloadReplayer {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private WorkloadReplayer() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        Map<String, String> options = BenchmarkOptions.parse(args);
+        String dbUrl = options.getOrDefault("db-url", DatasetSeeder.DEFAULT_H2_URL);
+        String dbUser = options.getOrDefault("db-user", DatasetSeeder.isMySql(dbUrl) ? "root" : "sa");
+        String dbPassword = options.getOrDefault("db-password", "");
+        String tenant = options.getOrDefault("tenant", "default");
+        int users = Integer.parseInt(options.getOrDefault("users", "32"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", "70,5,15,5,5"));
+        PostGenerator generator = new PostGenerator(
+                Integer.parseInt(options.getOrDefault("categories", "50")),
+                Integer.parseInt(options.getOrDefault("tags", "2000")),
+                Double.parseDouble(options.getOrDefault("zipf-exponent", "1.1")),
+                Integer.parseInt(options.getOrDefault("median-content-length", "2500")));
+
+        long[] idRange = idRange(dbUrl, dbUser, dbPassword, tenant);
+        Workload workload = new Workload(generator, idRange[0],
+                new ZipfDistribution((int) Math.min(Integer.MAX_VALUE, idRange[1] - idRange[0] + 1), 1.0), mix,
+                tenant);
+
+        Process process = null;
+        URI postsUri;
+        if (options.containsKey("boot-jar")) {
+            List<String> command = ApplicationLauncher.command(List.of(ApplicationLauncher.java(), "-jar",
+                    options.get("boot-jar")), port, ApplicationLauncher.seededDatasource(dbUrl, dbUser, dbPassword));
+            command.add("--blog.tenancy.trust-tenant-header=true");
+            postsUri = URI.create("http://localhost:" + port + ApplicationLauncher.POSTS_PATH);
+            process = ApplicationLauncher.start(command);
+        } else {
+            postsUri = URI.create(options.getOrDefault("base-url", "http://localhost:8080")
+                    + ApplicationLauncher.POSTS_PATH);
+        }
+
+        try {
+            if (process != null) {
+                ApplicationLauncher.awaitReady(process, URI.create(postsUri + "?ids=" + idRange[1]), STARTUP_TIMEOUT);
+            }
+            System.out.printf("Replaying %s on posts %d..%d of tenant %s, %s%n", mix, idRange[0], idRange[1],
+                    tenant, rate > 0 ? "%.0f req/s".formatted(rate) : users + " users back to back");
+
+            Recorder[] recorders = run(postsUri, workload, users, rate, warmup, duration);
+            report(recorders, duration, options.get("report"));
+        } finally {
+            if (process != null) {
+                ApplicationLauncher.stop(process);
+            }
+        }
+    }
+
+    /**
+     * @return the lowest and the highest id of the posts of the tenant
+     */
+    private static long[] idRange(final String url, final String user, final String password, final String tenant)
+            throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             PreparedStatement query = connection.prepareStatement(
+                     "SELECT MIN(ID), MAX(ID) FROM BLOG_POST WHERE TENANT_ID = ? AND DELETED = FALSE")) {
+            query.setString(1, tenant);
+            try (ResultSet range = query.executeQuery()) {
+                range.next();
+                if (range.getObject(1) == null) {
+                    throw new IllegalStateException("No post of tenant " + tenant + " in " + url
+                            + ", run ./gradlew seedDataset first");
+                }
+                return new long[]{range.getLong(1), range.getLong(2)};
+            }
+        }
+    }
+
+    private static Recorder[] run(final URI postsUri, final Workload workload, final int users, final double rate,
+                                  final Duration warmup, final Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+        long intervalNanos = rate > 0 ? Math.round(users * 1e9 / rate) : 0;
+
+        List<Future<Recorder[]>> userRecorders = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                // Spreads the users over the interval, so the open model sends evenly spaced requests
+                long firstStart = System.nanoTime() + intervalNanos * user / users;
+                userRecorders.add(executor.submit(() ->
+                        runUser(client, postsUri, workload, firstStart, intervalNanos, measureStart, measureEnd)));
+            }
+        }
+
+        Recorder[] recorders = Recorder.forEachOperation();
+        for (Future<Recorder[]> user : userRecorders) {
+            Recorder[] userRecorder = user.get();
+            for (Operation operation : Operation.values()) {
+                recorders[operation.ordinal()].addAll(userRecorder[operation.ordinal()]);
+            }
+        }
+        return recorders;
+    }
+
+    private static Recorder[] runUser(final HttpClient client, final URI postsUri, final Workload workload,
+                                      final long firstStart, final long intervalNanos, final long measureStart,
+                                      final long measureEnd) {
+        Recorder[] recorders = Recorder.forEachOperation();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intendedStart = firstStart;
+
+        while (true) {
+            long start;
+            if (intervalNanos > 0) {
+                LockSupport.parkNanos(intendedStart - System.nanoTime());
+                start = intendedStart;
+                intendedStart += intervalNanos;
+            } else {
+                start = System.nanoTime();
+            }
+            if (start >= measureEnd) {
+                return recorders;
+            }
+
+            Operation operation = workload.nextOperation(random);
+            int status;
+            try {
+                status = client.send(workload.request(operation, postsUri, random),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception e) {
+                status = -1;
+            }
+            long end = System.nanoTime();
+
+            if (start >= measureStart) {
+                recorders[operation.ordinal()].record(status, (end - start) / 1_000);
+            }
+        }
+    }
+
+    private static void report(final Recorder[] recorders, final Duration duration, final String reportPath)
+            throws IOException {
+        Recorder total = new Recorder();
+        for (Recorder recorder : recorders) {
+            total.addAll(recorder);
+        }
+
+        List<String> csv = new ArrayList<>();
+        csv.add("operation,requests,req_per_s,not_found,errors,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms");
+        System.out.printf("%-8s %10s %10s %8s %8s %9s %9s %9s %9s %9s%n", "op", "requests", "req/s", "404",
+                "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            csv.add(print(operation.label(), recorders[operation.ordinal()], duration));
+        }
+        csv.add(print("total", total, duration));
+
+        if (reportPath != null) {
+            Path path = Path.of(reportPath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+                csv.forEach(writer::println);
+            }
+            System.out.println("Report written to " + path.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Prints the row of the operation and returns it as a CSV line.
+     */
+    private static String print(final String label, final Recorder recorder, final Duration duration) {
+        long[] latencies = recorder.latenciesMicros();
+        String[] percentiles = {
+                millis(Percentiles.of(latencies, 50)), millis(Percentiles.of(latencies, 90)),
+                millis(Percentiles.of(latencies, 99)), millis(Percentiles.of(latencies, 99.9)),
+                millis(Percentiles.max(latencies))};
+        double throughput = latencies.length / (double) duration.toSeconds();
+
+        System.out.printf("%-8s %10d %10.0f %8d %8d %9s %9s %9s %9s %9s%n", label, latencies.length, throughput,
+                recorder.notFound, recorder.errors, percentiles[0], percentiles[1], percentiles[2], percentiles[3],
+                percentiles[4]);
+        return String.join(",", label, String.valueOf(latencies.length), "%.1f".formatted(throughput),
+                String.valueOf(recorder.notFound), String.valueOf(recorder.errors), String.join(",", percentiles));
+    }
+
+    private static String millis(final long micros) {
+        return String.format("%.2f", micros / 1_000.0);
+    }
+
+    private enum Operation {
+        READ, SEARCH, LIST, CREATE, UPDATE;
+
+        String label() {
+            return name().toLowerCase();
+        }
+
+        /**
+         * @return whether the operation targets a single post, which may be missing
+         */
+        boolean targetsPost() {
+            return this == READ || this == UPDATE;
+        }
+    }
+
+    /**
+     * Draws the operations and builds their requests. Ids are ranked from the most recent post, so the rank drawn
+     * from the Zipf distribution makes recent posts the most requested.
+     */
+    private record Workload(PostGenerator generator, long firstId, ZipfDistribution idRanks, Mix mix,
+                            String tenant) {
+
+        Operation nextOperation(final ThreadLocalRandom random) {
+            int roll = random.nextInt(100);
+            int[] percentages = mix.percentages();
+            for (Operation operation : Operation.values()) {
+                roll -= percentages[operation.ordinal()];
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return Operation.READ;
+        }
+
+        HttpRequest request(final Operation operation, final URI postsUri, final ThreadLocalRandom random) {
+            URI postUri = URI.create(postsUri + "/" + (firstId + idRanks.size() - 1 - idRanks.sample(random)));
+            HttpRequest.Builder request = switch (operation) {
+                case READ -> HttpRequest.newBuilder(postUri).GET();
+                case SEARCH -> HttpRequest.newBuilder(URI.create(postsUri + "?term="
+                        + encode(generator.word(random) + " " + generator.word(random)))).GET();
+                case LIST -> HttpRequest.newBuilder(URI.create(postsUri + "?category=" + generator.category(random)
+                        + "&tags=" + generator.tag(random) + "&sort=createdAt,desc")).GET();
+                case CREATE -> HttpRequest.newBuilder(postsUri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(generator.next(random).toJson()));
+                case UPDATE -> HttpRequest.newBuilder(postUri)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(generator.next(random).toJson()));
+            };
+            return request.header("X-Tenant-Id", tenant).timeout(REQUEST_TIMEOUT).build();
+        }
+
+        private static String encode(final String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Latencies of the answered requests of an operation, 404s included, with the counts of 404s and errors.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long notFound;
+        private long errors;
+
+        static Recorder[] forEachOperation() {
+            Recorder[] recorders = new Recorder[Operation.values().length];
+            Arrays.setAll(recorders, i -> new Recorder());
+            return recorders;
+        }
+
+        void record(final int status, final long latencyMicros) {
+            if (status == 404) {
+                notFound++;
+            } else if (status < 200 || status >= 400) {
+                errors++;
+                return;
+            }
+            add(latencyMicros);
+        }
+
+        void addAll(final Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            notFound += other.notFound;
+            errors += other.errors;
+        }
+
+        long[] latenciesMicros() {
+            return Arrays.copyOf(latencies, count);
+        }
+
+        private void add(final long latencyMicros) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyMicros;
+        }
+    }
+
+    /**
+     * Percentages of reads, searches, lists, creates and updates; they must add up to 100.
+     */
+    private record Mix(int[] percentages) {
+
+        static Mix parse(final String mix) {
+            String[] parts = mix.split(",");
+            if (parts.length != Operation.values().length) {
+                throw new IllegalArgumentException("Expected read,search,list,create,update percentages: " + mix);
+            }
+
+            int[] percentages = Arrays.stream(parts).mapToInt(part -> Integer.parseInt(part.trim())).toArray();
+            if (Arrays.stream(percentages).sum() != 100) {
+                throw new IllegalArgumentException("The mix percentages must add up to 100: " + mix);
+            }
+            return new Mix(percentages);
+        }
+
+        @Override
+        public String toString() {
+            return "read %d%%, search %d%%, list %d%%, create %d%%, update %d%%".formatted(percentages[0],
+                    percentages[1], percentages[2], percentages[3], percentages[4]);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.deimos.projects.bloggingplatformapi.perf;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over the ranks {@code 0..size-1}: rank {@code k} is drawn with a probability proportional to
+ * {@code 1 / (k + 1)^exponent}, so a few ranks are very popular and most are rare.
+ * <p>
+ * Sampling is a binary search in the precomputed cumulative distribution, {@code O(log size)} per draw.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(final int size, final double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The distribution needs at least one rank");
+        }
+
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(final RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+}
@@ -0,0 +1,322 @@
+package org.deimos.projects.bloggingplatformapi.cache;
+
+import org.deimos.projects.bloggingplatformapi.configuration.DiskCacheProperties;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostVersion;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DiskPostCacheTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-05-01T10:15:30Z");
+    private static final String TENANT = "acme";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    private DiskCacheProperties properties;
+    private DiskPostCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DiskCacheProperties();
+        properties.setPath(tempDir.resolve("posts.segment"));
+        properties.setCapacity(DataSize.ofMegabytes(1));
+        properties.setCompactionMinSize(DataSize.ofBytes(0));
+        cache = new DiskPostCache(properties, blogRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        cache.close();
+    }
+
+    @Test
+    void get_ReturnsCachedPost() {
+        // Given
+        cache.put(post(1L, "Title 1"));
+
+        // When
+        BlogPostResponse result = cache.get(TENANT, 1L).orElseThrow();
+
+        // Then
+        assertEquals("Title 1", result.getTitle());
+        assertEquals(Set.of("Tag1", "Tag2"), result.getTags());
+        assertEquals(UPDATED_AT, result.getUpdatedAt());
+        assertEquals(TENANT, result.getTenantId());
+    }
+
+    @Test
+    void get_MissesPostOfAnotherTenant() throws IOException {
+        // Given
+        cache.put(post(1L, "Title 1"));
+        mockVersions(new BlogPostVersion(1L, UPDATED_AT));
+
+        // When & Then
+        assertTrue(cache.get("globex", 1L).isEmpty());
+        reopen();
+        cache.validateRecoveredEntries();
+        assertTrue(cache.get("globex", 1L).isEmpty(), "The tenant of recovered entries is read from disk");
+        assertEquals("Title 1", cache.get(TENANT, 1L).orElseThrow().getTitle());
+    }
+
+    @Test
+    void evict_RemovesPost() {
+        // Given
+        cache.put(post(1L, "Title 1"));
+
+        // When
+        cache.evict(1L);
+
+        // Then
+        assertTrue(cache.get(TENANT, 1L).isEmpty());
+    }
+
+    @Test
+    void reopen_RecoversValidatedEntriesOnly() throws IOException {
+        // Given
+        cache.put(post(1L, "Title 1"));
+        cache.put(post(2L, "Title 2"));
+        cache.put(post(3L, "Title 3"));
+        cache.evict(3L);
+        mockVersions(new BlogPostVersion(1L, UPDATED_AT), new BlogPostVersion(2L, UPDATED_AT.plusSeconds(1)));
+
+        // When
+        reopen();
+
+        // Then
+        assertTrue(cache.get(TENANT, 1L).isEmpty(), "Entries must not be served before being validated");
+        cache.validateRecoveredEntries();
+        assertEquals("Title 1", cache.get(TENANT, 1L).orElseThrow().getTitle());
+        assertTrue(cache.get(TENANT, 2L).isEmpty(), "Entries modified in the database must be dropped");
+        assertTrue(cache.get(TENANT, 3L).isEmpty(), "Evicted entries must not be recovered");
+    }
+
+    @Test
+    void reopen_DropsTornRecord() throws IOException {
+        // Given
+        cache.put(post(1L, "Title 1"));
+        cache.put(post(2L, "Title 2"));
+        long endOfFirstRecord = recordEnd(1L);
+        cache.close();
+        try (RandomAccessFile file = new RandomAccessFile(properties.getPath().toFile(), "rw")) {
+            file.setLength(endOfFirstRecord + 10);
+        }
+        mockVersions(new BlogPostVersion(1L, UPDATED_AT), new BlogPostVersion(2L, UPDATED_AT));
+
+        // When
+        reopen();
+        cache.validateRecoveredEntries();
+
+        // Then
+        assertTrue(cache.get(TENANT, 1L).isPresent());
+        assertTrue(cache.get(TENANT, 2L).isEmpty());
+    }
+
+    @Test
+    void reopen_DropsCorruptedRecordAndEverythingAfterIt() throws IOException {
+        // Given
+        cache.put(post(1L, "Title 1"));
+        long endOfFirstRecord = recordEnd(1L);
+        cache.put(post(2L, "Title 2"));
+        cache.put(post(3L, "Title 3"));
+        cache.close();
+        corruptByte(endOfFirstRecord + 40);
+        mockVersions(new BlogPostVersion(1L, UPDATED_AT), new BlogPostVersion(3L, UPDATED_AT));
+
+        // When
+        reopen();
+        cache.validateRecoveredEntries();
+
+        // Then
+        assertTrue(cache.get(TENANT, 1L).isPresent());
+        assertTrue(cache.get(TENANT, 2L).isEmpty());
+        assertTrue(cache.get(TENANT, 3L).isEmpty());
+    }
+
+    @Test
+    void reopen_AppendsAfterTornRecordAreRecovered() throws IOException {
+        // Given
+        cache.put(post(1L, "Title 1"));
+        cache.put(post(2L, "A much longer title, so the torn record spans past the next one"));
+        long endOfFirstRecord = recordEnd(1L);
+        cache.close();
+        corruptByte(endOfFirstRecord + 40);
+        reopen();
+        cache.put(post(4L, "T4"));
+        mockVersions(new BlogPostVersion(1L, UPDATED_AT), new BlogPostVersion(2L, UPDATED_AT),
+                new BlogPostVersion(4L, UPDATED_AT));
+
+        // When
+        reopen();
+        cache.validateRecoveredEntries();
+
+        // Then
+        assertTrue(cache.get(TENANT, 1L).isPresent());
+        assertTrue(cache.get(TENANT, 2L).isEmpty());
+        assertEquals("T4", cache.get(TENANT, 4L).orElseThrow().getTitle());
+    }
+
+    @Test
+    void compact_KeepsLivePostsOnly() throws IOException {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            cache.put(post(1L, "Version " + i));
+        }
+        cache.put(post(2L, "Title 2"));
+        cache.evict(2L);
+
+        // When
+        cache.compact();
+
+        // Then
+        assertEquals("Version 9", cache.get(TENANT, 1L).orElseThrow().getTitle());
+        assertTrue(cache.get(TENANT, 2L).isEmpty());
+        mockVersions(new BlogPostVersion(1L, UPDATED_AT));
+        reopen();
+        cache.validateRecoveredEntries();
+        assertEquals("Version 9", cache.get(TENANT, 1L).orElseThrow().getTitle());
+    }
+
+    @Test
+    void put_CountsPostsDroppedWhenSegmentIsFull() throws IOException {
+        // Given
+        properties.setCapacity(DataSize.ofKilobytes(16));
+        reopenEmpty();
+
+        // When
+        long cached = fillSegment(1L);
+
+        // Then
+        assertEquals(1, cache.droppedPuts());
+        assertTrue(cache.get(TENANT, 1L).isPresent());
+        assertTrue(cache.get(TENANT, cached + 1).isEmpty());
+    }
+
+    @Test
+    void compact_SkipsFullSegmentOfLivePosts() throws IOException {
+        // Given
+        properties.setCapacity(DataSize.ofKilobytes(16));
+        properties.setCompactionMinReclaimable(DataSize.ofKilobytes(1));
+        reopenEmpty();
+        fillSegment(1L);
+        Object segmentFile = Files.readAttributes(properties.getPath(), BasicFileAttributes.class).fileKey();
+
+        // When
+        cache.compact();
+
+        // Then
+        assertEquals(segmentFile, Files.readAttributes(properties.getPath(), BasicFileAttributes.class).fileKey(),
+                "Rewriting live posts only would not make room for new ones");
+    }
+
+    @Test
+    void compact_FreesFullSegmentOfSupersededRecords() throws IOException {
+        // Given
+        properties.setCapacity(DataSize.ofKilobytes(16));
+        properties.setCompactionThreshold(0.99);
+        properties.setCompactionMinReclaimable(DataSize.ofKilobytes(1));
+        reopenEmpty();
+        for (int i = 0; i < 20; i++) {
+            cache.put(post(1L, "Version " + i));
+        }
+        long last = fillSegment(2L);
+
+        // When
+        cache.compact();
+        cache.put(post(last + 1, "Title"));
+
+        // Then
+        assertEquals("Version 19", cache.get(TENANT, 1L).orElseThrow().getTitle());
+        assertTrue(cache.get(TENANT, last + 1).isPresent());
+    }
+
+    /**
+     * Puts posts from the given id until one is dropped.
+     *
+     * @return the id of the last post cached
+     */
+    private long fillSegment(final long firstId) {
+        long droppedBefore = cache.droppedPuts();
+        long id = firstId;
+        while (cache.droppedPuts() == droppedBefore) {
+            cache.put(post(id++, "Title"));
+        }
+        return id - 2;
+    }
+
+    private void reopenEmpty() {
+        try {
+            cache.close();
+            Files.deleteIfExists(properties.getPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        cache = new DiskPostCache(properties, blogRepository);
+    }
+
+    private void reopen() throws IOException {
+        cache.close();
+        cache = new DiskPostCache(properties, blogRepository);
+    }
+
+    private void corruptByte(final long position) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(properties.getPath().toFile(), "rw")) {
+            file.seek(position);
+            int value = file.read();
+            file.seek(position);
+            file.write(~value);
+        }
+    }
+
+    private long recordEnd(final Long id) {
+        DiskPostCache.Entry entry = cache.indexEntry(id);
+        return entry.offset() + entry.length();
+    }
+
+    private void mockVersions(final BlogPostVersion... versions) {
+        when(blogRepository.findVersionsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return List.of(versions).stream().filter(version -> ids.contains(version.id())).toList();
+        });
+    }
+
+    private BlogPostResponse post(final Long id, final String title) {
+        BlogPostResponse post = new BlogPostResponse();
+        post.setId(id);
+        post.setTenantId(TENANT);
+        post.setTitle(title);
+        post.setContent("Content of post " + id);
+        post.setCategory("Category");
+        post.setTags(Set.of("Tag1", "Tag2"));
+        post.setCreatedAt(UPDATED_AT);
+        post.setUpdatedAt(UPDATED_AT);
+        return post;
+    }
+}
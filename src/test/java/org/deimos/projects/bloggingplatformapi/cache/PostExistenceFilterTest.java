@@ -0,0 +1,142 @@
+package org.deimos.projects.bloggingplatformapi.cache;
+
+import org.deimos.projects.bloggingplatformapi.configuration.NotFoundCacheProperties;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.stream.LongStream;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostExistenceFilterTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    private NotFoundCacheProperties properties;
+    private PostExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotFoundCacheProperties();
+        properties.setLoadBatchSize(BATCH_SIZE);
+        filter = new PostExistenceFilter(blogRepository, properties);
+    }
+
+    @Test
+    void mightExist_BeforeFirstBuild() {
+        // When & Then
+        assertTrue(filter.mightExist(DEFAULT_TENANT, 1L));
+        assertTrue(filter.mightExist(DEFAULT_TENANT, 1_000L));
+    }
+
+    @Test
+    void mightExist_AfterRebuild() {
+        // Given
+        // Even ids from 2 to 500 exist, posts up to 400 are old enough to be trusted
+        mockIds(LongStream.rangeClosed(1, 250).map(i -> i * 2).toArray(), 400L);
+
+        // When
+        filter.rebuild();
+
+        // Then
+        for (long id = 2; id <= 500; id += 2) {
+            assertTrue(filter.mightExist(DEFAULT_TENANT, id), "Existing post " + id + " must be looked up");
+        }
+        long shortCircuited = LongStream.rangeClosed(0, 199).map(i -> i * 2 + 1)
+                .filter(id -> !filter.mightExist(DEFAULT_TENANT, id))
+                .count();
+        assertTrue(shortCircuited >= 190, "Most missing ids must be short-circuited: " + shortCircuited);
+        assertTrue(filter.mightExist(DEFAULT_TENANT, 401L), "Ids above the watermark must be looked up");
+    }
+
+    @Test
+    void recordMissing_ShortCircuitsNextLookup() {
+        // Given
+        mockIds(new long[]{1, 2, 3}, 3L);
+        filter.rebuild();
+
+        // When
+        filter.recordMissing(DEFAULT_TENANT, 2L);
+
+        // Then
+        assertFalse(filter.mightExist(DEFAULT_TENANT, 2L));
+        assertTrue(filter.mightExist(DEFAULT_TENANT, 1L));
+    }
+
+    @Test
+    void recordMissing_IsolatedPerTenant() {
+        // Given
+        mockIds(new long[]{1, 2, 3}, 3L);
+        filter.rebuild();
+
+        // When
+        filter.recordMissing("acme", 2L);
+
+        // Then
+        assertFalse(filter.mightExist("acme", 2L));
+        assertTrue(filter.mightExist(DEFAULT_TENANT, 2L), "A post missing for a tenant may exist for another");
+    }
+
+    @Test
+    void recordMissing_IgnoresIdsAboveWatermark() {
+        // Given
+        mockIds(new long[]{1, 2, 3}, 3L);
+        filter.rebuild();
+
+        // When
+        filter.recordMissing(DEFAULT_TENANT, 4L);
+
+        // Then
+        assertTrue(filter.mightExist(DEFAULT_TENANT, 4L));
+    }
+
+    @Test
+    void recordPublished_ForgetsMissingPost() {
+        // Given
+        mockIds(new long[]{1, 2, 3}, 3L);
+        filter.rebuild();
+        filter.recordMissing(DEFAULT_TENANT, 2L);
+
+        // When
+        filter.recordPublished(DEFAULT_TENANT, 2L);
+
+        // Then
+        assertTrue(filter.mightExist(DEFAULT_TENANT, 2L));
+    }
+
+    @Test
+    void mightExist_Disabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        filter.rebuild();
+        filter.recordMissing(DEFAULT_TENANT, 2L);
+
+        // Then
+        assertTrue(filter.mightExist(DEFAULT_TENANT, 2L));
+    }
+
+    private void mockIds(final long[] ids, final Long watermark) {
+        when(blogRepository.findMaxIdCreatedBefore(any(Instant.class))).thenReturn(watermark);
+        when(blogRepository.count()).thenReturn((long) ids.length);
+        when(blogRepository.findIdsAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return LongStream.of(ids).filter(id -> id > afterId).limit(BATCH_SIZE).boxed().toList();
+        });
+    }
+}
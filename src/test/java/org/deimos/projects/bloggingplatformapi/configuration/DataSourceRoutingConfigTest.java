@@ -0,0 +1,134 @@
+package org.deimos.projects.bloggingplatformapi.configuration;
+
+import org.deimos.projects.bloggingplatformapi.datasource.ReadYourWritesFilter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.CLIENT_ID_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Distinct primary and replica databases, each holding its own name, so a query tells which one served it
+class DataSourceRoutingConfigTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    DataSourceTransactionManagerAutoConfiguration.class, TransactionAutoConfiguration.class))
+            .withUserConfiguration(DataSourceRoutingConfig.class, DatabaseNameReaderConfig.class)
+            .withPropertyValues(
+                    "blog.datasource.routing.enabled=true",
+                    "blog.datasource.routing.stickiness-window=1m",
+                    "spring.datasource.url=" + PRIMARY_URL,
+                    "spring.datasource.username=sa",
+                    "blog.datasource.routing.replicas[0].name=replica",
+                    "blog.datasource.routing.replicas[0].url=" + REPLICA_URL,
+                    "blog.datasource.routing.replicas[0].username=sa");
+
+    @BeforeAll
+    static void createDatabases() throws SQLException {
+        createDatabase(PRIMARY_URL, "primary");
+        createDatabase(REPLICA_URL, "replica");
+    }
+
+    @Test
+    void dataSource_RoutesReadOnlyTransactionsToReplica() {
+        contextRunner.run(context -> {
+            // Given
+            DatabaseNameReader reader = context.getBean(DatabaseNameReader.class);
+
+            // When & Then
+            assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+            assertEquals("replica", reader.readOnly());
+            assertEquals("primary", reader.readWrite());
+        });
+    }
+
+    @Test
+    void dataSource_KeepsClientOnPrimaryAfterWrite() {
+        contextRunner.run(context -> {
+            // Given
+            DatabaseNameReader reader = context.getBean(DatabaseNameReader.class);
+            ReadYourWritesFilter filter = context.getBean(ReadYourWritesFilter.class);
+            AtomicReference<String> readByWriter = new AtomicReference<>();
+            AtomicReference<String> readByOther = new AtomicReference<>();
+
+            // When
+            filter.doFilter(request("POST", "writer"), new MockHttpServletResponse(), (request, response) -> { });
+            filter.doFilter(request("GET", "writer"), new MockHttpServletResponse(),
+                    (request, response) -> readByWriter.set(reader.readOnly()));
+            filter.doFilter(request("GET", "reader"), new MockHttpServletResponse(),
+                    (request, response) -> readByOther.set(reader.readOnly()));
+
+            // Then
+            assertEquals("primary", readByWriter.get(), "The writer reads its own write");
+            assertEquals("replica", readByOther.get());
+        });
+    }
+
+    private static MockHttpServletRequest request(final String method, final String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/posts");
+        request.addHeader(CLIENT_ID_HEADER, clientId);
+        return request;
+    }
+
+    private static void createDatabase(final String url, final String name) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS DATABASE_NAME (NAME VARCHAR(20) PRIMARY KEY)");
+            statement.execute("MERGE INTO DATABASE_NAME KEY (NAME) VALUES ('" + name + "')");
+        }
+    }
+
+    @Configuration
+    static class DatabaseNameReaderConfig {
+
+        @Bean
+        DatabaseNameReader databaseNameReader(final DataSource dataSource) {
+            return new DatabaseNameReader(new JdbcTemplate(dataSource));
+        }
+    }
+
+    static class DatabaseNameReader {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        DatabaseNameReader(final JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Transactional(readOnly = true)
+        public String readOnly() {
+            return read();
+        }
+
+        @Transactional
+        public String readWrite() {
+            return read();
+        }
+
+        private String read() {
+            return jdbcTemplate.queryForObject("SELECT NAME FROM DATABASE_NAME", String.class);
+        }
+    }
+}
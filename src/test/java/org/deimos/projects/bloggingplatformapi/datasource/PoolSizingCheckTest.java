@@ -0,0 +1,39 @@
+package org.deimos.projects.bloggingplatformapi.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSizingCheckTest {
+
+    @Test
+    void check_ConsistentSizes() {
+        // When
+        List<String> warnings = PoolSizingCheck.check("primary", 20, 200, 3, 20);
+
+        // Then
+        assertTrue(warnings.isEmpty(), warnings::toString);
+    }
+
+    @Test
+    void check_PoolLargerThanItsUsers() {
+        // When
+        List<String> warnings = PoolSizingCheck.check("primary", 100, 50, 3, 20);
+
+        // Then
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).contains("maximum-pool-size to 53"), warnings.get(0));
+    }
+
+    @Test
+    void check_TooManyServerThreadsPerConnection() {
+        // When
+        List<String> warnings = PoolSizingCheck.check("primary", 5, 200, 3, 20);
+
+        // Then
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).contains("server.tomcat.threads.max to 100"), warnings.get(0));
+    }
+}
@@ -0,0 +1,113 @@
+package org.deimos.projects.bloggingplatformapi.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaPoolTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaA;
+
+    @Mock
+    private DataSource replicaB;
+
+    private ReadYourWritesTracker readYourWritesTracker;
+    private ReplicaPool replicaPool;
+
+    @BeforeEach
+    void setUp() {
+        readYourWritesTracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        replicaPool = new ReplicaPool(primary, List.of(
+                new ReplicaPool.Replica("replica-a", replicaA, 1),
+                new ReplicaPool.Replica("replica-b", replicaB, 0)),
+                readYourWritesTracker, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        readYourWritesTracker.unbindClient();
+    }
+
+    @Test
+    void selectDataSource_UsesWeightedReplica() {
+        // When & Then
+        for (int i = 0; i < 20; i++) {
+            assertSame(replicaA, replicaPool.selectDataSource());
+        }
+    }
+
+    @Test
+    void selectDataSource_StickyClientUsesPrimary() {
+        // Given
+        readYourWritesTracker.bindClient("client");
+        readYourWritesTracker.recordWrite("client");
+
+        // When
+        DataSource selected = replicaPool.selectDataSource();
+
+        // Then
+        assertSame(primary, selected);
+    }
+
+    @Test
+    void selectDataSource_OtherClientsStillUseReplicas() {
+        // Given
+        readYourWritesTracker.recordWrite("writer");
+        readYourWritesTracker.bindClient("reader");
+
+        // When
+        DataSource selected = replicaPool.selectDataSource();
+
+        // Then
+        assertSame(replicaA, selected);
+    }
+
+    @Test
+    void checkHealth_UnhealthyReplicasFallBackToPrimary() throws SQLException {
+        // Given
+        when(replicaA.getConnection()).thenThrow(new SQLException("Connection refused"));
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(replicaB.getConnection()).thenReturn(connection);
+
+        // When
+        replicaPool.checkHealth();
+
+        // Then
+        assertSame(primary, replicaPool.selectDataSource());
+    }
+
+    @Test
+    void checkHealth_RecoveredReplicaIsUsedAgain() throws SQLException {
+        // Given
+        Connection connection = mock(Connection.class);
+        when(replicaA.getConnection()).thenThrow(new SQLException("Connection refused")).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(replicaB.getConnection()).thenReturn(connection);
+
+        // When
+        replicaPool.checkHealth();
+        replicaPool.checkHealth();
+
+        // Then
+        assertSame(replicaA, replicaPool.selectDataSource());
+    }
+}
@@ -0,0 +1,45 @@
+package org.deimos.projects.bloggingplatformapi.feed;
+
+import org.deimos.projects.bloggingplatformapi.model.BlogPostVersion;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedFragmentCacheTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-03-01T10:00:00Z");
+
+    @Test
+    void get_OnlyReturnsFragmentOfSameTenantAndVersion() {
+        // Given
+        FeedFragmentCache cache = new FeedFragmentCache(10);
+        byte[] fragment = {1};
+        cache.put(DEFAULT_TENANT, new BlogPostVersion(1L, UPDATED_AT), fragment);
+
+        // When & Then
+        assertSame(fragment, cache.get(DEFAULT_TENANT, new BlogPostVersion(1L, UPDATED_AT)));
+        assertNull(cache.get(DEFAULT_TENANT, new BlogPostVersion(1L, UPDATED_AT.plusMillis(1))));
+        assertNull(cache.get("acme", new BlogPostVersion(1L, UPDATED_AT)));
+    }
+
+    @Test
+    void put_EvictsOldestPostsWhenFull() {
+        // Given
+        FeedFragmentCache cache = new FeedFragmentCache(2);
+
+        // When
+        for (long id = 1; id <= 3; id++) {
+            cache.put(DEFAULT_TENANT, new BlogPostVersion(id, UPDATED_AT), new byte[]{(byte) id});
+        }
+        cache.put(DEFAULT_TENANT, new BlogPostVersion(3L, UPDATED_AT.plusSeconds(1)), new byte[]{4});
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNull(cache.get(DEFAULT_TENANT, new BlogPostVersion(1L, UPDATED_AT)));
+        assertNotNull(cache.get(DEFAULT_TENANT, new BlogPostVersion(2L, UPDATED_AT)));
+        assertNotNull(cache.get(DEFAULT_TENANT, new BlogPostVersion(3L, UPDATED_AT.plusSeconds(1))));
+    }
+}
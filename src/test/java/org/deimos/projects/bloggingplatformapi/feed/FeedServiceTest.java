@@ -0,0 +1,324 @@
+package org.deimos.projects.bloggingplatformapi.feed;
+
+import org.deimos.projects.bloggingplatformapi.configuration.FeedProperties;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostVersion;
+import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapper;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FeedServiceTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-03-01T10:00:00Z");
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private BlogPostMapper blogPostMapper;
+
+    private FeedProperties properties;
+    private FeedService feedService;
+    private Map<Long, BlogPostData> posts;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FeedProperties();
+        properties.setBaseUrl("https://blog.example.com/v1/blogging-platform/");
+        properties.setSitemapMaxAge(Duration.ZERO);
+        feedService = new FeedService(blogRepository, blogPostMapper, properties);
+        posts = new LinkedHashMap<>();
+    }
+
+    @Test
+    void getAtomFeed_RendersMostRecentPostsNewestFirst() throws Exception {
+        // Given
+        stubFeed();
+        store(1L, "First post", "Hello");
+        store(2L, "Second & last", "<b>bold</b>\u0001");
+        posts.get(1L).setPublishedAt(CREATED_AT.plusSeconds(3600));
+
+        // When
+        XmlDocument feed = feedService.getAtomFeed();
+
+        // Then
+        String xml = text(feed);
+        Document document = parse(xml);
+        assertEquals("feed", document.getDocumentElement().getTagName());
+        assertEquals(FeedRenderer.ATOM_NAMESPACE, document.getDocumentElement().getNamespaceURI());
+        assertEquals(2, document.getElementsByTagName("entry").getLength());
+        assertEquals("Second & last", document.getElementsByTagName("title").item(1).getTextContent());
+        assertTrue(xml.contains("&lt;b&gt;bold&lt;/b&gt;</content>"), "Content is escaped, invalid characters dropped");
+        assertTrue(xml.contains("<link href=\"https://blog.example.com/v1/blogging-platform/posts/2\""));
+        assertTrue(xml.contains("<category term=\"Java\""));
+        assertTrue(xml.contains("<published>" + CREATED_AT.plusSeconds(3600) + "</published>"),
+                "A scheduled post is dated by its publication, not its creation");
+        assertEquals(CREATED_AT.plusSeconds(2), feed.lastModified());
+    }
+
+    @Test
+    void getAtomFeed_RendersChangedEntriesOnly() throws Exception {
+        // Given
+        stubFeed();
+        store(1L, "First post", "Hello");
+        store(2L, "Second post", "World");
+        XmlDocument before = feedService.getAtomFeed();
+
+        // When
+        BlogPostData updated = posts.get(2L);
+        updated.setTitle("Second post, revised");
+        updated.setUpdatedAt(updated.getUpdatedAt().plusSeconds(60));
+        XmlDocument after = feedService.getAtomFeed();
+
+        // Then
+        verify(blogRepository).findAllByTenantIdAndIdInAndPublishedTrue(DEFAULT_TENANT, List.of(2L, 1L));
+        verify(blogRepository).findAllByTenantIdAndIdInAndPublishedTrue(DEFAULT_TENANT, List.of(2L));
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(text(after).contains("Second post, revised"));
+        assertTrue(text(after).contains("First post"));
+        assertEquals(feedService.getAtomFeed().etag(), after.etag(), "The version only depends on the posts");
+    }
+
+    @Test
+    void getAtomFeed_DeletionMovesLastModified() {
+        // Given
+        stubFeed();
+        store(1L, "First post", "Hello");
+        store(2L, "Second post", "World");
+        XmlDocument before = feedService.getAtomFeed();
+
+        // When
+        posts.remove(2L);
+        when(blogRepository.findLastDeletedAt(DEFAULT_TENANT)).thenReturn(CREATED_AT.plusSeconds(60));
+        XmlDocument after = feedService.getAtomFeed();
+
+        // Then
+        assertEquals(CREATED_AT.plusSeconds(2), before.lastModified());
+        assertEquals(CREATED_AT.plusSeconds(60), after.lastModified(), "Not the older updatedAt of the first post");
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void getAtomFeed_PublicationMovesLastModified() throws Exception {
+        // Given
+        stubFeed();
+        store(2L, "Second post", "World");
+        store(3L, "Third post", "!");
+        XmlDocument before = feedService.getAtomFeed();
+
+        // When
+        store(1L, "Scheduled post", "Hello");
+        posts.get(1L).setPublishedAt(CREATED_AT.plusSeconds(60));
+        posts.get(1L).setUpdatedAt(CREATED_AT.plusSeconds(60));
+        XmlDocument after = feedService.getAtomFeed();
+
+        // Then
+        assertEquals(CREATED_AT.plusSeconds(3), before.lastModified());
+        assertEquals(CREATED_AT.plusSeconds(60), after.lastModified());
+        assertEquals("Scheduled post", parse(text(after)).getElementsByTagName("title").item(1).getTextContent());
+    }
+
+    @Test
+    void getSitemap_ListsPostsInSingleSitemap() throws Exception {
+        // Given
+        stubSitemap();
+        store(1L, "First", "");
+        store(2L, "Second", "");
+        store(3L, "Third", "");
+
+        // When
+        XmlDocument sitemap = feedService.getSitemap(null).orElseThrow();
+
+        // Then
+        Document document = parse(text(sitemap));
+        assertEquals("urlset", document.getDocumentElement().getTagName());
+        assertEquals(3, document.getElementsByTagName("url").getLength());
+        assertEquals("https://blog.example.com/v1/blogging-platform/posts/3",
+                document.getElementsByTagName("loc").item(2).getTextContent());
+        assertEquals("2024-03-01T10:00:03Z", document.getElementsByTagName("lastmod").item(2).getTextContent());
+        assertSame(sitemap, feedService.getSitemap(1).orElseThrow());
+        assertTrue(feedService.getSitemap(2).isEmpty());
+    }
+
+    @Test
+    void getSitemap_SplitsIntoIndexAboveMaxUrls() throws Exception {
+        // Given
+        properties.setMaxUrlsPerSitemap(2);
+        properties.setCursorBatchSize(3);
+        stubSitemap();
+        for (long id = 1; id <= 5; id++) {
+            store(id, "Post " + id, "");
+        }
+
+        // When
+        XmlDocument index = feedService.getSitemap(null).orElseThrow();
+
+        // Then
+        Document document = parse(text(index));
+        assertEquals("sitemapindex", document.getDocumentElement().getTagName());
+        assertEquals(3, document.getElementsByTagName("sitemap").getLength());
+        assertEquals("https://blog.example.com/v1/blogging-platform/sitemap.xml?page=3",
+                document.getElementsByTagName("loc").item(2).getTextContent());
+        assertEquals(CREATED_AT.plusSeconds(5), index.lastModified());
+
+        Document lastPage = parse(text(feedService.getSitemap(3).orElseThrow()));
+        assertEquals(1, lastPage.getElementsByTagName("url").getLength());
+        assertTrue(feedService.getSitemap(4).isEmpty());
+    }
+
+    @Test
+    void getSitemap_RendersChangedPagesOnly() {
+        // Given
+        properties.setMaxUrlsPerSitemap(2);
+        stubSitemap();
+        for (long id = 1; id <= 5; id++) {
+            store(id, "Post " + id, "");
+        }
+        List<XmlDocument> before = List.of(feedService.getSitemap(1).orElseThrow(),
+                feedService.getSitemap(2).orElseThrow(), feedService.getSitemap(3).orElseThrow());
+        XmlDocument indexBefore = feedService.getSitemap(null).orElseThrow();
+
+        // When
+        posts.get(3L).setUpdatedAt(CREATED_AT.plusSeconds(60));
+
+        // Then
+        assertSame(before.get(0), feedService.getSitemap(1).orElseThrow());
+        assertNotEquals(before.get(1).etag(), feedService.getSitemap(2).orElseThrow().etag());
+        assertSame(before.get(2), feedService.getSitemap(3).orElseThrow());
+        assertNotEquals(indexBefore.etag(), feedService.getSitemap(null).orElseThrow().etag());
+    }
+
+    @Test
+    void getSitemap_DeletionMovesLastModified() {
+        // Given
+        properties.setMaxUrlsPerSitemap(2);
+        stubSitemap();
+        for (long id = 1; id <= 4; id++) {
+            store(id, "Post " + id, "");
+        }
+        XmlDocument firstBefore = feedService.getSitemap(1).orElseThrow();
+        XmlDocument indexBefore = feedService.getSitemap(null).orElseThrow();
+
+        // When
+        posts.remove(4L);
+        when(blogRepository.findLastDeletedAt(DEFAULT_TENANT)).thenReturn(CREATED_AT.plusSeconds(60));
+        XmlDocument index = feedService.getSitemap(null).orElseThrow();
+
+        // Then
+        assertEquals(CREATED_AT.plusSeconds(4), indexBefore.lastModified());
+        assertEquals(CREATED_AT.plusSeconds(60), feedService.getSitemap(2).orElseThrow().lastModified());
+        assertEquals(CREATED_AT.plusSeconds(60), index.lastModified());
+        assertSame(firstBefore, feedService.getSitemap(1).orElseThrow(), "An unchanged page keeps its date");
+    }
+
+    @Test
+    void evictIdleSitemaps_DropsSitemapsNotRescannedSinceTimeout() {
+        // Given
+        stubSitemap();
+        store(1L, "First", "");
+        feedService.getSitemap(null);
+
+        // When
+        feedService.evictIdleSitemaps();
+        int keptSitemaps = feedService.cachedSitemaps();
+        properties.setSitemapIdleTimeout(Duration.ZERO);
+        feedService.evictIdleSitemaps();
+
+        // Then
+        assertEquals(1, keptSitemaps);
+        assertEquals(0, feedService.cachedSitemaps());
+    }
+
+    @Test
+    void getSitemap_DoesNotKeepSitemapWithoutPosts() throws Exception {
+        // Given
+        stubSitemap();
+
+        // When
+        XmlDocument sitemap = feedService.getSitemap(null).orElseThrow();
+
+        // Then
+        assertEquals(0, parse(text(sitemap)).getElementsByTagName("url").getLength());
+        assertEquals(0, feedService.cachedSitemaps());
+    }
+
+    private void stubFeed() {
+        when(blogRepository.findLatestPublishedVersions(eq(DEFAULT_TENANT), any(Pageable.class)))
+                .thenAnswer(invocation -> versions().reversed());
+        when(blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(eq(DEFAULT_TENANT), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(1).stream()
+                        .map(posts::get)
+                        .toList());
+        when(blogPostMapper.mapJSONStringToSet(anyString())).thenReturn(Set.of("spring"));
+    }
+
+    private void stubSitemap() {
+        when(blogRepository.findPublishedVersionsAfter(eq(DEFAULT_TENANT), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> versions().stream()
+                        .filter(version -> version.id() > invocation.<Long>getArgument(1))
+                        .limit(invocation.<Pageable>getArgument(2).getPageSize())
+                        .toList());
+    }
+
+    private void store(final long id, final String title, final String content) {
+        BlogPostData post = new BlogPostData();
+        post.setId(id);
+        post.setTitle(title);
+        post.setContent(content);
+        post.setCategory("Java");
+        post.setTags("[\"spring\"]");
+        post.setCreatedAt(CREATED_AT.plusSeconds(id));
+        post.setUpdatedAt(CREATED_AT.plusSeconds(id));
+        post.setPublishedAt(CREATED_AT.plusSeconds(id));
+        posts.put(id, post);
+    }
+
+    private List<BlogPostVersion> versions() {
+        List<BlogPostVersion> versions = new ArrayList<>();
+        posts.values().forEach(post -> versions.add(new BlogPostVersion(post.getId(), post.getUpdatedAt())));
+        return versions;
+    }
+
+    private static String text(final XmlDocument document) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        document.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Document parse(final String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,206 @@
+package org.deimos.projects.bloggingplatformapi.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.deimos.projects.bloggingplatformapi.exceptions.InvalidBlogPostQueryException;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostMetadata;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostQuery;
+import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapper;
+import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapperImpl;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostMetadataIndexTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-05-01T10:15:30Z");
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    private PostMetadataIndex index;
+
+    @BeforeEach
+    void setUp() {
+        BlogPostMapper blogPostMapper = new BlogPostMapperImpl();
+        ReflectionTestUtils.setField(blogPostMapper, "objectMapper", new ObjectMapper());
+        index = new PostMetadataIndex(blogRepository, blogPostMapper);
+
+        index.upsert(post(1L, "Java", "[\"jvm\",\"gc\"]", 30));
+        index.upsert(post(2L, "Java", "[\"jvm\"]", 10));
+        index.upsert(post(3L, "Go", "[\"gc\"]", 20));
+    }
+
+    @Test
+    void select_IntersectsCategoryAndTags() {
+        // When
+        long[] result = index.select(DEFAULT_TENANT, new BlogPostQuery("Java", Set.of("jvm", "gc"), Sort.unsorted()));
+
+        // Then
+        assertArrayEquals(new long[]{1L}, result);
+    }
+
+    @Test
+    void select_UnknownTagMatchesNothing() {
+        // When
+        long[] result = index.select(DEFAULT_TENANT, new BlogPostQuery(null, Set.of("rust"), Sort.unsorted()));
+
+        // Then
+        assertEquals(0, result.length);
+    }
+
+    @Test
+    void select_SortsByUpdatedAt() {
+        // When
+        long[] ascending = index.select(DEFAULT_TENANT, new BlogPostQuery(null, Set.of(), Sort.by("updatedAt")));
+        long[] descending = index.select(DEFAULT_TENANT,
+                new BlogPostQuery(null, Set.of(), Sort.by(Sort.Direction.DESC, "updatedAt")));
+
+        // Then
+        assertArrayEquals(new long[]{2L, 3L, 1L}, ascending);
+        assertArrayEquals(new long[]{1L, 3L, 2L}, descending);
+    }
+
+    @Test
+    void select_UnsupportedSort() {
+        // When & Then
+        assertThrows(InvalidBlogPostQueryException.class,
+                () -> index.select(DEFAULT_TENANT, new BlogPostQuery(null, Set.of(), Sort.by("title"))));
+    }
+
+    @Test
+    void select_IsolatesTenants() {
+        // Given
+        BlogPostData otherTenantPost = post(4L, "Java", "[\"jvm\"]", 50);
+        otherTenantPost.setTenantId("acme");
+
+        // When
+        index.upsert(otherTenantPost);
+
+        // Then
+        assertArrayEquals(new long[]{1L, 2L},
+                index.select(DEFAULT_TENANT, new BlogPostQuery("Java", Set.of(), Sort.unsorted())));
+        assertArrayEquals(new long[]{4L}, index.select("acme", new BlogPostQuery("Java", Set.of(), Sort.unsorted())));
+        assertEquals(0, index.select("unknown", new BlogPostQuery(null, Set.of(), Sort.unsorted())).length);
+    }
+
+    @Test
+    void upsert_ReplacesPreviousMetadata() {
+        // When
+        index.upsert(post(1L, "Go", "[\"gc\"]", 40));
+
+        // Then
+        assertArrayEquals(new long[]{2L},
+                index.select(DEFAULT_TENANT, new BlogPostQuery("Java", Set.of(), Sort.unsorted())));
+        assertArrayEquals(new long[]{1L, 3L},
+                index.select(DEFAULT_TENANT, new BlogPostQuery("Go", Set.of("gc"), Sort.unsorted())));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_ExcludesPost() {
+        // When
+        Optional<PostMetadataIndex.IndexedPost> removed = index.remove(1L);
+
+        // Then
+        assertEquals(Optional.of(new PostMetadataIndex.IndexedPost(DEFAULT_TENANT, "Java", Set.of("jvm", "gc"))),
+                removed);
+        assertTrue(index.remove(1L).isEmpty());
+        assertArrayEquals(new long[]{3L},
+                index.select(DEFAULT_TENANT, new BlogPostQuery(null, Set.of("gc"), Sort.unsorted())));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void rebuild_LoadsAllBatches() {
+        // Given
+        List<BlogPostMetadata> firstBatch = new ArrayList<>();
+        for (long id = 1; id <= PostMetadataIndex.LOAD_BATCH_SIZE; id++) {
+            firstBatch.add(new BlogPostMetadata(id, DEFAULT_TENANT, "Java", "[]", CREATED_AT, CREATED_AT));
+        }
+        long lastId = PostMetadataIndex.LOAD_BATCH_SIZE + 1L;
+        when(blogRepository.findMetadataAfter(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        when(blogRepository.findMetadataAfter(eq((long) PostMetadataIndex.LOAD_BATCH_SIZE), any(Pageable.class)))
+                .thenReturn(List.of(
+                        new BlogPostMetadata(lastId, DEFAULT_TENANT, "Go", "[\"gc\"]", CREATED_AT, CREATED_AT)));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(PostMetadataIndex.LOAD_BATCH_SIZE + 1, index.size());
+        assertArrayEquals(new long[]{lastId},
+                index.select(DEFAULT_TENANT, new BlogPostQuery(null, Set.of("gc"), Sort.unsorted())));
+    }
+
+    @Test
+    void rebuild_KeepsWritesMadeDuringTheScan() {
+        // Given
+        when(blogRepository.findMetadataAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            index.upsert(post(4L, "Rust", "[\"borrow\"]", 0));
+            index.upsert(post(2L, "Go", "[]", 10));
+            index.remove(3L);
+            return List.of(
+                    new BlogPostMetadata(1L, DEFAULT_TENANT, "Java", "[\"jvm\"]", CREATED_AT, CREATED_AT),
+                    new BlogPostMetadata(2L, DEFAULT_TENANT, "Java", "[\"jvm\"]", CREATED_AT, CREATED_AT),
+                    new BlogPostMetadata(3L, DEFAULT_TENANT, "Go", "[\"gc\"]", CREATED_AT, CREATED_AT));
+        });
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(3, index.size());
+        assertArrayEquals(new long[]{4L},
+                index.select(DEFAULT_TENANT, new BlogPostQuery("Rust", Set.of(), Sort.unsorted())));
+        assertArrayEquals(new long[]{2L},
+                index.select(DEFAULT_TENANT, new BlogPostQuery("Go", Set.of(), Sort.unsorted())));
+        assertArrayEquals(new long[]{1L},
+                index.select(DEFAULT_TENANT, new BlogPostQuery(null, Set.of("jvm"), Sort.unsorted())));
+    }
+
+    @Test
+    void rebuild_StopsLoggingWritesWhenScanFails() {
+        // Given
+        when(blogRepository.findMetadataAfter(eq(0L), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        // When
+        assertThrows(IllegalStateException.class, index::rebuild);
+        index.upsert(post(4L, "Rust", "[]", 0));
+
+        // Then
+        assertEquals(4, index.size());
+        assertArrayEquals(new long[]{1L, 2L},
+                index.select(DEFAULT_TENANT, new BlogPostQuery("Java", Set.of(), Sort.unsorted())));
+    }
+
+    private BlogPostData post(final Long id, final String category, final String tags, final long updatedAfterSeconds) {
+        BlogPostData post = new BlogPostData();
+        post.setId(id);
+        post.setCategory(category);
+        post.setTags(tags);
+        post.setCreatedAt(CREATED_AT);
+        post.setUpdatedAt(CREATED_AT.plusSeconds(updatedAfterSeconds));
+        return post;
+    }
+}
@@ -1,11 +1,15 @@
 package org.deimos.projects.bloggingplatformapi.model.mapper;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -93,6 +97,31 @@ class BlogPostDataMapperTest {
         assertEquals(0, tags.size());
     }
 
+    @Test
+    void testMapToBlogPostList_ParallelKeepsOrder() {
+        // Given
+        List<BlogPostData> posts = LongStream.rangeClosed(1, 5_000).mapToObj(id -> {
+            BlogPostData post = new BlogPostData();
+            post.setId(id);
+            post.setTags("[\"Tag" + id + "\"]");
+            return post;
+        }).toList();
+
+        // When
+        List<BlogPostResponse> responses;
+        try (ListMappingExecutor listMappingExecutor = new ListMappingExecutor(100, 4, 16)) {
+            blogPostMapper.listMappingExecutor = listMappingExecutor;
+            responses = blogPostMapper.mapToBlogPostList(posts);
+        }
+
+        // Then
+        assertEquals(posts.size(), responses.size());
+        for (int i = 0; i < posts.size(); i++) {
+            assertEquals(posts.get(i).getId(), responses.get(i).getId());
+            assertEquals(Set.of("Tag" + (i + 1)), responses.get(i).getTags());
+        }
+    }
+
     @Test
     void testMapJSONStringToSet_NullString() {
         // Given
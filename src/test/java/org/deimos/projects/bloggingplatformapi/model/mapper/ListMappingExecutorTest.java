@@ -0,0 +1,78 @@
+package org.deimos.projects.bloggingplatformapi.model.mapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListMappingExecutorTest {
+
+    private static final int THRESHOLD = 100;
+
+    private ListMappingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ListMappingExecutor(THRESHOLD, 4, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void map_SmallListOnCallingThread() {
+        // Given
+        List<Integer> source = IntStream.range(0, THRESHOLD - 1).boxed().toList();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // When
+        List<Integer> result = executor.map(source, value -> {
+            threads.add(Thread.currentThread().getName());
+            return value * 2;
+        });
+
+        // Then
+        assertEquals(source.stream().map(value -> value * 2).toList(), result);
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    void map_LargeListInParallelKeepsOrder() {
+        // Given
+        List<Integer> source = IntStream.range(0, 10_000).boxed().toList();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // When
+        List<String> result = executor.map(source, value -> {
+            threads.add(Thread.currentThread().getName());
+            return "post-" + value;
+        });
+
+        // Then
+        assertEquals(source.stream().map(value -> "post-" + value).toList(), result);
+        assertTrue(threads.stream().allMatch(thread -> thread.startsWith("post-mapping-")), threads::toString);
+        assertThrows(UnsupportedOperationException.class, () -> result.set(0, "modified"));
+    }
+
+    @Test
+    void map_PropagatesMappingFailure() {
+        // Given
+        List<Integer> source = IntStream.range(0, 1_000).boxed().toList();
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> executor.map(source, value -> {
+            if (value == 500) {
+                throw new IllegalStateException("Failed to map " + value);
+            }
+            return value;
+        }));
+    }
+}
@@ -0,0 +1,175 @@
+package org.deimos.projects.bloggingplatformapi.pipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.deimos.projects.bloggingplatformapi.configuration.PostPipelineProperties;
+import org.deimos.projects.bloggingplatformapi.model.PostEventData;
+import org.deimos.projects.bloggingplatformapi.model.PostEventType;
+import org.deimos.projects.bloggingplatformapi.repository.PostEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostEventPipelineTest {
+
+    @Mock
+    private PostEventRepository postEventRepository;
+
+    private PostPipelineProperties properties;
+    private PostEventPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PostPipelineProperties();
+        properties.setWorkers(2);
+        properties.setRetryBackoff(Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void dispatch_ProcessesEventsOfAPostInOrder() {
+        // Given
+        List<Long> processedIds = new CopyOnWriteArrayList<>();
+        pipeline = new PostEventPipeline(List.of(events -> events.forEach(event -> processedIds.add(event.getId()))),
+                postEventRepository, properties, new SimpleMeterRegistry());
+        pipeline.start();
+
+        // When
+        for (long id = 1; id <= 10; id++) {
+            pipeline.dispatch(event(id, 7L));
+        }
+
+        // Then
+        verify(postEventRepository, timeout(1000).atLeastOnce()).deleteAllByIdInBatch(any());
+        await(() -> processedIds.size() == 10);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), processedIds);
+    }
+
+    @Test
+    void dispatch_RetriesFailingBatch() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        PostEventProcessor flakyProcessor = events -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Index unavailable");
+            }
+        };
+        pipeline = new PostEventPipeline(List.of(flakyProcessor), postEventRepository, properties,
+                new SimpleMeterRegistry());
+        pipeline.start();
+
+        // When
+        pipeline.dispatch(event(1L, 1L));
+
+        // Then
+        verify(postEventRepository, timeout(1000)).deleteAllByIdInBatch(List.of(1L));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void dispatch_FailingBatchIsLeftInTheOutbox() {
+        // Given
+        properties.setMaxAttempts(2);
+        AtomicInteger attempts = new AtomicInteger();
+        PostEventProcessor failingProcessor = events -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Index unavailable");
+        };
+        pipeline = new PostEventPipeline(List.of(failingProcessor), postEventRepository, properties,
+                new SimpleMeterRegistry());
+        pipeline.start();
+
+        // When
+        pipeline.dispatch(event(1L, 1L));
+
+        // Then
+        await(() -> attempts.get() == 2);
+        verify(postEventRepository, timeout(1000)).recordFailedDelivery(List.of(1L));
+        verify(postEventRepository, after(100).never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void dispatch_PoisonEventOnlyHoldsBackItself() {
+        // Given
+        properties.setWorkers(1);
+        properties.setMaxAttempts(1);
+        PostEventProcessor poisonedProcessor = events -> {
+            if (events.stream().anyMatch(event -> event.getId() == 2L)) {
+                throw new IllegalStateException("Unreadable post");
+            }
+        };
+        pipeline = new PostEventPipeline(List.of(poisonedProcessor), postEventRepository, properties,
+                new SimpleMeterRegistry());
+        pipeline.dispatch(event(1L, 1L));
+        pipeline.dispatch(event(2L, 2L));
+        pipeline.dispatch(event(3L, 2L));
+        pipeline.dispatch(event(4L, 3L));
+
+        // When
+        pipeline.start();
+
+        // Then
+        verify(postEventRepository, timeout(1000)).recordFailedDelivery(List.of(2L));
+        verify(postEventRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(postEventRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(postEventRepository).deleteAllByIdInBatch(List.of(4L));
+    }
+
+    @Test
+    void constructor_RequiresWorker() {
+        // Given
+        properties.setWorkers(0);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostEventPipeline(List.of(), postEventRepository, properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void redeliver_SkipsParkedEvents() {
+        // Given
+        properties.setMaxDeliveries(4);
+        pipeline = new PostEventPipeline(List.of(), postEventRepository, properties, new SimpleMeterRegistry());
+        pipeline.start();
+
+        // When
+        pipeline.redeliver();
+
+        // Then
+        verify(postEventRepository).findByCreatedAtBeforeAndFailedDeliveriesLessThanOrderByIdAsc(any(), eq(4), any());
+    }
+
+    private PostEventData event(final Long id, final Long postId) {
+        PostEventData event = new PostEventData(postId, PostEventType.UPDATED);
+        event.setId(id);
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+
+    private void await(final BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
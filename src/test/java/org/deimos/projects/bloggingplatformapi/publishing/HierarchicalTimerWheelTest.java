@@ -0,0 +1,102 @@
+package org.deimos.projects.bloggingplatformapi.publishing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimerWheelTest {
+
+    private static final Instant START = Instant.parse("2024-05-01T10:00:00Z");
+
+    private HierarchicalTimerWheel wheel;
+    private List<String> fired;
+
+    @BeforeEach
+    void setUp() {
+        // 10 ms ticks, 8 slots per level, 3 levels: 5.12 s of range
+        wheel = new HierarchicalTimerWheel(Duration.ofMillis(10), 8, 3, START);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void advanceTo_FiresTasksInDeadlineOrder() {
+        // Given
+        schedule("late", 2_000);
+        schedule("early", 50);
+        schedule("middle", 700);
+
+        // When
+        wheel.advanceTo(START.plusMillis(5_000));
+
+        // Then
+        assertEquals(List.of("early", "middle", "late"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceTo_NeverFiresBeforeTheDeadline() {
+        // Given
+        schedule("cascaded", 1_234);
+
+        // When
+        wheel.advanceTo(START.plusMillis(1_229));
+
+        // Then
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(START.plusMillis(1_240));
+        assertEquals(List.of("cascaded"), fired);
+    }
+
+    @Test
+    void advanceTo_FiresDeadlinesBeyondTheRange() {
+        // Given
+        schedule("far", 60_000);
+
+        // When
+        wheel.advanceTo(START.plusMillis(59_990));
+
+        // Then
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(START.plusMillis(60_000));
+        assertEquals(List.of("far"), fired);
+    }
+
+    @Test
+    void advanceTo_FiresPastDeadlinesOnTheNextTick() {
+        // Given
+        wheel.advanceTo(START.plusMillis(100));
+        schedule("past", 20);
+
+        // When
+        wheel.advanceTo(START.plusMillis(110));
+
+        // Then
+        assertEquals(List.of("past"), fired);
+    }
+
+    @Test
+    void cancel_RemovesTask() {
+        // Given
+        HierarchicalTimerWheel.Timeout timeout = schedule("cancelled", 300);
+
+        // When
+        boolean cancelled = timeout.cancel();
+
+        // Then
+        assertTrue(cancelled);
+        wheel.advanceTo(START.plusMillis(1_000));
+        assertTrue(fired.isEmpty());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    private HierarchicalTimerWheel.Timeout schedule(final String name, final long delayMillis) {
+        return wheel.schedule(START.plusMillis(delayMillis), () -> fired.add(name));
+    }
+}
@@ -0,0 +1,160 @@
+package org.deimos.projects.bloggingplatformapi.publishing;
+
+import org.deimos.projects.bloggingplatformapi.cache.PostExistenceFilter;
+import org.deimos.projects.bloggingplatformapi.configuration.PublishingProperties;
+import org.deimos.projects.bloggingplatformapi.index.PostMetadataIndex;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.PostPublicationData;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.deimos.projects.bloggingplatformapi.repository.PostPublicationRepository;
+import org.deimos.projects.bloggingplatformapi.statistics.PostStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Not transactional, so publications are committed and fire as they would between instances
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostPublicationSchedulerTest {
+
+    @Autowired
+    private PostPublicationRepository postPublicationRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final PostStatistics postStatistics = mock(PostStatistics.class);
+    private final List<PostPublicationScheduler> schedulers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        schedulers.forEach(PostPublicationScheduler::stop);
+        postPublicationRepository.deleteAll();
+        blogRepository.deleteAll();
+    }
+
+    @Test
+    void claimUpcoming_TakesOverExpiredLease() {
+        // Given
+        PostPublicationScheduler first = scheduler("first", Duration.ofMillis(100));
+        PostPublicationScheduler second = scheduler("second", Duration.ofMillis(100));
+        Instant publishAt = Instant.now().plusSeconds(60);
+        Long postId = scheduledPost(publishAt);
+        first.schedule(postId, publishAt);
+        expireLease(postId);
+
+        // When
+        second.claimUpcoming();
+        first.claimUpcoming();
+
+        // Then
+        assertEquals("second", postPublicationRepository.findById(postId).orElseThrow().getOwner());
+        assertEquals(1, second.pendingPublications());
+        assertEquals(0, first.pendingPublications(), "The former owner unloads the publication it lost");
+    }
+
+    @Test
+    void publish_PublishesPostOnceWithCompetingSchedulers() {
+        // Given
+        PostPublicationScheduler first = scheduler("first", Duration.ofMillis(100));
+        PostPublicationScheduler second = scheduler("second", Duration.ofMillis(100));
+        Instant publishAt = Instant.now().plusSeconds(60);
+        Long postId = scheduledPost(publishAt);
+        Instant draftedAt = blogRepository.findById(postId).orElseThrow().getUpdatedAt();
+        first.schedule(postId, publishAt);
+        expireLease(postId);
+        second.claimUpcoming();
+
+        // When
+        first.publish(postId, publishAt);
+        second.publish(postId, publishAt);
+        first.publish(postId, publishAt);
+
+        // Then
+        BlogPostData published = blogRepository.findById(postId).orElseThrow();
+        assertTrue(published.isPublished());
+        assertTrue(published.getUpdatedAt().isAfter(draftedAt), "Publishing a post modifies it");
+        assertTrue(postPublicationRepository.findById(postId).isEmpty());
+        verify(postStatistics, times(1)).recordCreated(any(BlogPostData.class));
+    }
+
+    @Test
+    void cancel_StopsPendingPublication() throws InterruptedException {
+        // Given
+        PostPublicationScheduler scheduler = scheduler("node", Duration.ofMillis(10));
+        Instant publishAt = Instant.now().plusMillis(200);
+        Long cancelledId = scheduledPost(publishAt);
+        Long publishedId = scheduledPost(publishAt);
+        scheduler.schedule(cancelledId, publishAt);
+        scheduler.schedule(publishedId, publishAt);
+
+        // When
+        scheduler.cancel(cancelledId);
+        scheduler.start();
+
+        // Then
+        assertEquals(1, scheduler.pendingPublications());
+        awaitPublished(publishedId);
+        Thread.sleep(100);
+        assertFalse(blogRepository.findById(cancelledId).orElseThrow().isPublished());
+        assertEquals(0, scheduler.pendingPublications());
+        verify(postStatistics, times(1)).recordCreated(any(BlogPostData.class));
+    }
+
+    private PostPublicationScheduler scheduler(final String nodeId, final Duration tick) {
+        PublishingProperties properties = new PublishingProperties();
+        properties.setNodeId(nodeId);
+        properties.setTick(tick);
+        PostPublicationScheduler scheduler = new PostPublicationScheduler(postPublicationRepository, blogRepository,
+                mock(PostMetadataIndex.class), mock(PostExistenceFilter.class), postStatistics,
+                new TransactionTemplate(transactionManager), properties);
+        schedulers.add(scheduler);
+        return scheduler;
+    }
+
+    private Long scheduledPost(final Instant publishAt) {
+        BlogPostData post = new BlogPostData();
+        post.setTitle("Scheduled post");
+        post.setPublishAt(publishAt);
+        post.setPublished(false);
+        return blogRepository.save(post).getId();
+    }
+
+    /**
+     * Lets the lease of the publication lapse, as when its owner stopped renewing it.
+     */
+    private void expireLease(final Long postId) {
+        PostPublicationData publication = postPublicationRepository.findById(postId).orElseThrow();
+        publication.setLeaseExpiresAt(Instant.now().minusSeconds(1));
+        postPublicationRepository.save(publication);
+    }
+
+    private void awaitPublished(final Long postId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!blogRepository.findById(postId).orElseThrow().isPublished()) {
+            assertTrue(System.nanoTime() < deadline, "Post " + postId + " was not published in time");
+            Thread.sleep(20);
+        }
+    }
+}
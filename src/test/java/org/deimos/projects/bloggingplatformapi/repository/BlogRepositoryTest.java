@@ -0,0 +1,131 @@
+package org.deimos.projects.bloggingplatformapi.repository;
+
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BlogRepositoryTest {
+
+    private static final String ACME = "acme";
+    private static final String GLOBEX = "globex";
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private BlogPostData acmePost;
+    private BlogPostData acmeDraft;
+    private BlogPostData globexPost;
+
+    @BeforeEach
+    void setUp() {
+        acmePost = persist(ACME, "Spring tips", true);
+        acmeDraft = persist(ACME, "Spring draft", false);
+        globexPost = persist(GLOBEX, "Spring news", true);
+        entityManager.clear();
+    }
+
+    @Test
+    void readerQueries_OnlyReturnPublishedPostsOfTenant() {
+        // When & Then
+        assertEquals(List.of(acmePost.getId()), ids(blogRepository.findAllByTenantIdAndPublishedTrue(ACME)));
+        assertEquals(List.of(globexPost.getId()), ids(blogRepository.findAllByTenantIdAndPublishedTrue(GLOBEX)));
+        assertEquals(List.of(acmePost.getId()), ids(blogRepository.findBySearchTerm(ACME, "%Spring%")));
+        assertTrue(blogRepository.findByTenantIdAndIdAndPublishedTrue(ACME, globexPost.getId()).isEmpty());
+        assertTrue(blogRepository.findByTenantIdAndIdAndPublishedTrue(ACME, acmeDraft.getId()).isEmpty());
+        assertTrue(blogRepository.findByTenantIdAndId(GLOBEX, acmeDraft.getId()).isEmpty());
+        assertEquals(2, blogRepository.countByTenantId(ACME));
+        assertEquals(1, blogRepository.countByTenantId(GLOBEX));
+    }
+
+    @Test
+    void findAllByTenantIdAndIdInAndPublishedTrue_SkipsIdsOfOtherTenant() {
+        // When
+        List<BlogPostData> posts = blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(ACME,
+                List.of(acmePost.getId(), acmeDraft.getId(), globexPost.getId()));
+
+        // Then
+        assertEquals(List.of(acmePost.getId()), ids(posts));
+        assertEquals(List.of(globexPost.getId()), ids(blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(
+                GLOBEX, List.of(acmePost.getId(), globexPost.getId()))));
+    }
+
+    @Test
+    void publishedVersions_OnlyListPostsOfTenant() {
+        // When
+        List<BlogPostVersion> after = blogRepository.findPublishedVersionsAfter(ACME, 0L, PageRequest.of(0, 10));
+        List<BlogPostVersion> latest = blogRepository.findLatestPublishedVersions(GLOBEX, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of(acmePost.getId()), after.stream().map(BlogPostVersion::id).toList());
+        assertEquals(List.of(globexPost.getId()), latest.stream().map(BlogPostVersion::id).toList());
+    }
+
+    @Test
+    void findLatestPublishedVersions_OrdersByPublicationTime() {
+        // Given
+        blogRepository.markPublished(acmeDraft.getId(), Instant.now().plusSeconds(60));
+        BlogPostData acmeLatest = persist(ACME, "Spring latest", true);
+        entityManager.clear();
+
+        // When
+        List<BlogPostVersion> latest = blogRepository.findLatestPublishedVersions(ACME, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of(acmeDraft.getId(), acmeLatest.getId(), acmePost.getId()),
+                latest.stream().map(BlogPostVersion::id).toList(), "A scheduled post is listed when it goes live");
+    }
+
+    @Test
+    void softDeleteById_OnlyDeletesPostOfTenant() {
+        // Given
+        Instant deletedAt = Instant.parse("2024-03-01T10:00:00Z");
+
+        // When
+        int deletedByOtherTenant = blogRepository.softDeleteById(GLOBEX, acmePost.getId(), Instant.now());
+        int deleted = blogRepository.softDeleteById(ACME, acmePost.getId(), deletedAt);
+        int deletedAgain = blogRepository.softDeleteById(ACME, acmePost.getId(), Instant.now());
+        entityManager.clear();
+
+        // Then
+        assertEquals(0, deletedByOtherTenant);
+        assertEquals(1, deleted);
+        assertEquals(0, deletedAgain, "A tombstone is not deleted twice");
+        assertTrue(blogRepository.findByTenantIdAndId(ACME, acmePost.getId()).isEmpty());
+        assertTrue(blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(ACME, List.of(acmePost.getId())).isEmpty());
+        assertEquals(1, blogRepository.countByTenantId(ACME));
+        assertEquals(List.of(globexPost.getId()), ids(blogRepository.findAllByTenantIdAndPublishedTrue(GLOBEX)));
+        assertEquals(deletedAt, blogRepository.findLastDeletedAt(ACME));
+        assertNull(blogRepository.findLastDeletedAt(GLOBEX));
+    }
+
+    private BlogPostData persist(final String tenantId, final String title, final boolean published) {
+        BlogPostData post = new BlogPostData();
+        post.setTenantId(tenantId);
+        post.setTitle(title);
+        post.setContent("Content of " + title);
+        post.setCategory("Java");
+        post.setTags("[\"spring\"]");
+        post.setPublished(published);
+        return entityManager.persistAndFlush(post);
+    }
+
+    private static List<Long> ids(final List<BlogPostData> posts) {
+        return posts.stream().map(BlogPostData::getId).sorted().toList();
+    }
+}
@@ -1,25 +1,45 @@
 package org.deimos.projects.bloggingplatformapi.service;
 
 import org.apache.commons.lang3.StringUtils;
+import org.deimos.projects.bloggingplatformapi.cache.PostCache;
+import org.deimos.projects.bloggingplatformapi.cache.PostExistenceFilter;
 import org.deimos.projects.bloggingplatformapi.exceptions.BlogPostNotFoundException;
+import org.deimos.projects.bloggingplatformapi.exceptions.InvalidBlogPostQueryException;
+import org.deimos.projects.bloggingplatformapi.exceptions.TenantQuotaExceededException;
+import org.deimos.projects.bloggingplatformapi.index.PostMetadataIndex;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostBatchResponse;
 import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostQuery;
 import org.deimos.projects.bloggingplatformapi.model.BlogPostRequest;
 import org.deimos.projects.bloggingplatformapi.model.BlogPostResponse;
+import org.deimos.projects.bloggingplatformapi.model.PostEventType;
 import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapper;
+import org.deimos.projects.bloggingplatformapi.pipeline.PostEventPublisher;
+import org.deimos.projects.bloggingplatformapi.publishing.PostPublicationScheduler;
 import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.deimos.projects.bloggingplatformapi.statistics.PostStatistics;
+import org.deimos.projects.bloggingplatformapi.tenant.TenantContext;
+import org.deimos.projects.bloggingplatformapi.tenant.TenantQuotas;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +51,27 @@ class BlogServiceTest {
     @Mock
     private BlogPostMapper blogPostMapper;
 
+    @Mock
+    private PostEventPublisher postEventPublisher;
+
+    @Mock
+    private PostCache postCache;
+
+    @Mock
+    private PostMetadataIndex postMetadataIndex;
+
+    @Mock
+    private PostPublicationScheduler postPublicationScheduler;
+
+    @Mock
+    private PostExistenceFilter postExistenceFilter;
+
+    @Mock
+    private PostStatistics postStatistics;
+
+    @Mock
+    private TenantQuotas tenantQuotas;
+
     @InjectMocks
     private BlogService blogService;
 
@@ -45,6 +86,12 @@ class BlogServiceTest {
         blogPostRequest = new BlogPostRequest();
         blogPostData = new BlogPostData();
         blogPostResponse = new BlogPostResponse();
+        blogPostResponse.setTenantId(DEFAULT_TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.unbind();
     }
 
     @Test
@@ -62,12 +109,62 @@ class BlogServiceTest {
         verify(blogPostMapper).mapRequestToBlogPostData(blogPostRequest);
         verify(blogRepository).save(blogPostData);
         verify(blogPostMapper).mapBlogPostDataToResponse(blogPostData);
+        verify(postEventPublisher).publish(blogPostData.getId(), PostEventType.CREATED);
+        assertEquals(DEFAULT_TENANT, blogPostData.getTenantId());
+    }
+
+    @Test
+    void createBlogPost_AssignsCurrentTenant() {
+        // Given
+        TenantContext.bind("acme");
+        when(blogPostMapper.mapRequestToBlogPostData(blogPostRequest)).thenReturn(blogPostData);
+        when(blogRepository.save(blogPostData)).thenReturn(blogPostData);
+        when(blogPostMapper.mapBlogPostDataToResponse(blogPostData)).thenReturn(blogPostResponse);
+
+        // When
+        blogService.createBlogPost(blogPostRequest);
+
+        // Then
+        assertEquals("acme", blogPostData.getTenantId());
+    }
+
+    @Test
+    void createBlogPost_StorageQuotaExceeded() {
+        // Given
+        TenantContext.bind("acme");
+        when(tenantQuotas.reserveStorage(eq("acme"), any())).thenThrow(new TenantQuotaExceededException("quota"));
+
+        // When & Then
+        assertThrows(TenantQuotaExceededException.class, () -> blogService.createBlogPost(blogPostRequest));
+        verify(blogRepository, never()).save(any());
+        verifyNoInteractions(postEventPublisher);
+    }
+
+    @Test
+    void createBlogPost_ScheduledInTheFuture() {
+        // Given
+        Instant publishAt = Instant.now().plusSeconds(3600);
+        blogPostData.setId(blogId);
+        blogPostData.setPublishAt(publishAt);
+        when(blogPostMapper.mapRequestToBlogPostData(blogPostRequest)).thenReturn(blogPostData);
+        when(blogRepository.save(blogPostData)).thenReturn(blogPostData);
+        when(blogPostMapper.mapBlogPostDataToResponse(blogPostData)).thenReturn(blogPostResponse);
+
+        // When
+        blogService.createBlogPost(blogPostRequest);
+
+        // Then
+        assertFalse(blogPostData.isPublished());
+        verify(postPublicationScheduler).schedule(blogId, publishAt);
+        verify(postMetadataIndex, never()).upsert(any());
     }
 
     @Test
     void getBlogPostById_Success() {
         // Given
-        when(blogRepository.findById(blogId)).thenReturn(Optional.of(blogPostData));
+        when(postExistenceFilter.mightExist(DEFAULT_TENANT, blogId)).thenReturn(true);
+        when(blogRepository.findByTenantIdAndIdAndPublishedTrue(DEFAULT_TENANT, blogId))
+                .thenReturn(Optional.of(blogPostData));
         when(blogPostMapper.mapBlogPostDataToResponse(blogPostData)).thenReturn(blogPostResponse);
 
         // When
@@ -75,19 +172,63 @@ class BlogServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(blogRepository).findById(blogId);
+        verify(blogRepository).findByTenantIdAndIdAndPublishedTrue(DEFAULT_TENANT, blogId);
         verify(blogPostMapper).mapBlogPostDataToResponse(blogPostData);
+        verify(postCache).put(blogPostResponse);
+    }
+
+    @Test
+    void getBlogPostById_CacheHit() {
+        // Given
+        when(postExistenceFilter.mightExist(DEFAULT_TENANT, blogId)).thenReturn(true);
+        when(postCache.get(DEFAULT_TENANT, blogId)).thenReturn(Optional.of(blogPostResponse));
+
+        // When
+        BlogPostResponse result = blogService.getBlogPostById(blogId);
+
+        // Then
+        assertSame(blogPostResponse, result);
+        verify(blogRepository, never()).findByTenantIdAndIdAndPublishedTrue(any(), any());
+    }
+
+    @Test
+    void getBlogPostById_LooksUpCacheOfCurrentTenant() {
+        // Given
+        TenantContext.bind("acme");
+        when(postExistenceFilter.mightExist("acme", blogId)).thenReturn(true);
+        when(blogRepository.findByTenantIdAndIdAndPublishedTrue("acme", blogId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(BlogPostNotFoundException.class, () -> blogService.getBlogPostById(blogId));
+        verify(postCache).get("acme", blogId);
+        verify(postExistenceFilter).recordMissing("acme", blogId);
+        verify(postCache, never()).put(any());
     }
 
     @Test
     void getBlogPostById_NotFound() {
         // Given
-        when(blogRepository.findById(blogId)).thenReturn(Optional.empty());
+        when(postExistenceFilter.mightExist(DEFAULT_TENANT, blogId)).thenReturn(true);
+        when(blogRepository.findByTenantIdAndIdAndPublishedTrue(DEFAULT_TENANT, blogId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(BlogPostNotFoundException.class, () -> blogService.getBlogPostById(blogId));
-        verify(blogRepository).findById(blogId);
+        verify(blogRepository).findByTenantIdAndIdAndPublishedTrue(DEFAULT_TENANT, blogId);
         verify(blogPostMapper, never()).mapBlogPostDataToResponse(any());
+        verify(postExistenceFilter).recordMissing(DEFAULT_TENANT, blogId);
+    }
+
+    @Test
+    void getBlogPostById_ShortCircuitedByExistenceFilter() {
+        // Given
+        when(postExistenceFilter.mightExist(DEFAULT_TENANT, blogId)).thenReturn(false);
+
+        // When & Then
+        BlogPostNotFoundException exception =
+                assertThrows(BlogPostNotFoundException.class, () -> blogService.getBlogPostById(blogId));
+        assertEquals("Error: Post with ID {1} not found.", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(postCache, blogRepository);
     }
 
     @Test
@@ -95,23 +236,199 @@ class BlogServiceTest {
         // Given
         List<BlogPostData> blogPostDataList = Arrays.asList(blogPostData);
         List<BlogPostResponse> expectedResponses = Arrays.asList(blogPostResponse);
-        when(blogRepository.findAll()).thenReturn(blogPostDataList);
+        when(blogRepository.findAllByTenantIdAndPublishedTrue(DEFAULT_TENANT)).thenReturn(blogPostDataList);
         when(blogPostMapper.mapToBlogPostList(blogPostDataList)).thenReturn(expectedResponses);
 
         // When
-        List<BlogPostResponse> result = blogService.getBlogPosts(StringUtils.EMPTY);
+        List<BlogPostResponse> result = blogService.getBlogPosts(StringUtils.EMPTY, BlogPostQuery.UNFILTERED);
 
         // Then
         assertNotNull(result);
         assertEquals(expectedResponses, result);
-        verify(blogRepository).findAll();
+        verify(blogRepository).findAllByTenantIdAndPublishedTrue(DEFAULT_TENANT);
         verify(blogPostMapper).mapToBlogPostList(blogPostDataList);
+        verifyNoInteractions(postMetadataIndex);
+    }
+
+    @Test
+    void getFilteredBlogPosts_KeepsIndexOrder() {
+        // Given
+        BlogPostQuery query = new BlogPostQuery("Category", Set.of("Tag1"), Sort.by(Sort.Direction.DESC, "updatedAt"));
+        BlogPostData firstPost = post(1L, "Category", "[\"Tag1\"]");
+        BlogPostData secondPost = post(2L, "Category", "[\"Tag1\",\"Tag2\"]");
+        List<BlogPostResponse> expectedResponses = Arrays.asList(blogPostResponse);
+        when(postMetadataIndex.select(DEFAULT_TENANT, query)).thenReturn(new long[]{2L, 1L});
+        when(blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(DEFAULT_TENANT, List.of(2L, 1L)))
+                .thenReturn(List.of(firstPost, secondPost));
+        when(blogPostMapper.mapJSONStringToSet("[\"Tag1\"]")).thenReturn(Set.of("Tag1"));
+        when(blogPostMapper.mapJSONStringToSet("[\"Tag1\",\"Tag2\"]")).thenReturn(Set.of("Tag1", "Tag2"));
+        when(blogPostMapper.mapToBlogPostList(List.of(secondPost, firstPost))).thenReturn(expectedResponses);
+
+        // When
+        List<BlogPostResponse> result = blogService.getBlogPosts(StringUtils.EMPTY, query);
+
+        // Then
+        assertEquals(expectedResponses, result);
+        verify(blogRepository, never()).findAllByTenantIdAndPublishedTrue(any());
+    }
+
+    @Test
+    void getFilteredBlogPosts_DropsPostsChangedSinceIndexed() {
+        // Given
+        BlogPostQuery query = new BlogPostQuery("Category", Set.of("Tag1"), Sort.unsorted());
+        BlogPostData matchingPost = post(1L, "Category", "[\"Tag1\"]");
+        BlogPostData recategorizedPost = post(2L, "Other", "[\"Tag1\"]");
+        BlogPostData retaggedPost = post(3L, "Category", "[\"Tag2\"]");
+        List<BlogPostResponse> expectedResponses = Arrays.asList(blogPostResponse);
+        when(postMetadataIndex.select(DEFAULT_TENANT, query)).thenReturn(new long[]{1L, 2L, 3L});
+        when(blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(DEFAULT_TENANT, List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(matchingPost, recategorizedPost, retaggedPost));
+        when(blogPostMapper.mapJSONStringToSet("[\"Tag1\"]")).thenReturn(Set.of("Tag1"));
+        when(blogPostMapper.mapJSONStringToSet("[\"Tag2\"]")).thenReturn(Set.of("Tag2"));
+        when(blogPostMapper.mapToBlogPostList(List.of(matchingPost))).thenReturn(expectedResponses);
+
+        // When
+        List<BlogPostResponse> result = blogService.getBlogPosts(StringUtils.EMPTY, query);
+
+        // Then
+        assertEquals(expectedResponses, result);
+    }
+
+    @Test
+    void getSortedBlogPosts_RunsSingleOrderedQuery() {
+        // Given
+        Sort sort = Sort.by(Sort.Direction.DESC, "updatedAt");
+        List<BlogPostData> blogPostDataList = List.of(blogPostData);
+        List<BlogPostResponse> expectedResponses = List.of(blogPostResponse);
+        when(blogRepository.findAllByTenantIdAndPublishedTrue(DEFAULT_TENANT, sort)).thenReturn(blogPostDataList);
+        when(blogPostMapper.mapToBlogPostList(blogPostDataList)).thenReturn(expectedResponses);
+
+        // When
+        List<BlogPostResponse> result =
+                blogService.getBlogPosts(StringUtils.EMPTY, new BlogPostQuery(null, null, sort));
+
+        // Then
+        assertEquals(expectedResponses, result);
+        verifyNoInteractions(postMetadataIndex);
+    }
+
+    @Test
+    void getSortedBlogPosts_UnsupportedSort() {
+        // Given
+        BlogPostQuery query = new BlogPostQuery(null, null, Sort.by("title"));
+
+        // When & Then
+        assertThrows(InvalidBlogPostQueryException.class, () -> blogService.getBlogPosts(StringUtils.EMPTY, query));
+        verifyNoInteractions(blogRepository, postMetadataIndex);
+    }
+
+    @Test
+    void getFilteredBlogPosts_LoadsBroadSelectionWithSingleQuery() {
+        // Given
+        BlogPostQuery query = new BlogPostQuery("Category", Set.of(), Sort.unsorted());
+        int tenantPosts = 3 * BlogService.ID_QUERY_CHUNK_SIZE;
+        List<BlogPostData> allPosts = LongStream.rangeClosed(1, tenantPosts)
+                .mapToObj(id -> post(id, id % 3 == 0 ? "Other" : "Category", "[]"))
+                .toList();
+        long[] selectedIds = LongStream.rangeClosed(1, tenantPosts).filter(id -> id % 3 != 0).toArray();
+        List<BlogPostData> selectedPosts = allPosts.stream().filter(post -> post.getId() % 3 != 0).toList();
+        List<BlogPostResponse> expectedResponses = List.of(blogPostResponse);
+        when(postMetadataIndex.select(DEFAULT_TENANT, query)).thenReturn(selectedIds);
+        when(postMetadataIndex.count(DEFAULT_TENANT)).thenReturn(tenantPosts);
+        when(blogRepository.findAllByTenantIdAndPublishedTrue(DEFAULT_TENANT)).thenReturn(allPosts);
+        when(blogPostMapper.mapToBlogPostList(selectedPosts)).thenReturn(expectedResponses);
+
+        // When
+        List<BlogPostResponse> result = blogService.getBlogPosts(StringUtils.EMPTY, query);
+
+        // Then
+        assertEquals(expectedResponses, result);
+        verify(blogRepository, never()).findAllByTenantIdAndIdInAndPublishedTrue(any(), any());
+    }
+
+    @Test
+    void getBlogPostsByIds_CacheFirstAndReportsMissing() {
+        // Given
+        BlogPostResponse cachedPost = new BlogPostResponse();
+        cachedPost.setId(1L);
+        cachedPost.setTenantId(DEFAULT_TENANT);
+        BlogPostResponse loadedPost = new BlogPostResponse();
+        loadedPost.setId(3L);
+        List<BlogPostData> loadedPostData = List.of(blogPostData);
+        when(postExistenceFilter.mightExist(eq(DEFAULT_TENANT), any())).thenReturn(true);
+        when(postCache.get(DEFAULT_TENANT, 1L)).thenReturn(Optional.of(cachedPost));
+        when(blogRepository.findAllByTenantIdAndIdInAndPublishedTrue(DEFAULT_TENANT, List.of(3L, 2L)))
+                .thenReturn(loadedPostData);
+        when(blogPostMapper.mapToBlogPostList(loadedPostData)).thenReturn(List.of(loadedPost));
+
+        // When
+        BlogPostBatchResponse result = blogService.getBlogPostsByIds(List.of(3L, 1L, 2L));
+
+        // Then
+        assertEquals(List.of(loadedPost, cachedPost), result.getPosts());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(postCache).put(loadedPost);
+        verify(postExistenceFilter).recordMissing(DEFAULT_TENANT, 2L);
+    }
+
+    @Test
+    void getBlogPostsByIds_LoadsMissesInChunks() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, BlogService.ID_QUERY_CHUNK_SIZE + 1).boxed().toList();
+        when(postExistenceFilter.mightExist(eq(DEFAULT_TENANT), any())).thenReturn(true);
+        when(blogPostMapper.mapToBlogPostList(any())).thenReturn(List.of());
+
+        // When
+        BlogPostBatchResponse result = blogService.getBlogPostsByIds(ids);
+
+        // Then
+        assertEquals(ids, result.getMissingIds());
+        verify(blogRepository).findAllByTenantIdAndIdInAndPublishedTrue(DEFAULT_TENANT,
+                ids.subList(0, BlogService.ID_QUERY_CHUNK_SIZE));
+        verify(blogRepository).findAllByTenantIdAndIdInAndPublishedTrue(DEFAULT_TENANT,
+                List.of((long) BlogService.ID_QUERY_CHUNK_SIZE + 1));
+    }
+
+    @Test
+    void getBlogPostsByIds_LoadsRepeatedMissOnce() {
+        // Given
+        when(postExistenceFilter.mightExist(eq(DEFAULT_TENANT), any())).thenReturn(true);
+        when(blogPostMapper.mapToBlogPostList(any())).thenReturn(List.of());
+
+        // When
+        BlogPostBatchResponse result = blogService.getBlogPostsByIds(List.of(2L, 1L, 2L));
+
+        // Then
+        assertEquals(List.of(2L, 1L, 2L), result.getMissingIds());
+        verify(postCache, times(1)).get(DEFAULT_TENANT, 2L);
+        verify(blogRepository).findAllByTenantIdAndIdInAndPublishedTrue(DEFAULT_TENANT, List.of(2L, 1L));
+        verify(postExistenceFilter, times(1)).recordMissing(DEFAULT_TENANT, 2L);
+    }
+
+    @Test
+    void getBlogPostsByIds_TooManyIds() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 1_000).boxed().toList();
+
+        // When & Then
+        assertThrows(InvalidBlogPostQueryException.class, () -> blogService.getBlogPostsByIds(ids));
+        verifyNoInteractions(postCache, blogRepository);
+    }
+
+    @Test
+    void getBlogPostsByIds_EmptyId() {
+        // Given
+        List<Long> ids = Arrays.asList(1L, null, 2L);
+
+        // When & Then
+        assertThrows(InvalidBlogPostQueryException.class, () -> blogService.getBlogPostsByIds(ids));
+        verifyNoInteractions(postExistenceFilter, postCache, blogRepository);
     }
 
     @Test
     void updateBlogPost_Success() {
         // Given
-        when(blogRepository.findById(blogId)).thenReturn(Optional.of(blogPostData));
+        when(blogRepository.findByTenantIdAndId(DEFAULT_TENANT, blogId)).thenReturn(Optional.of(blogPostData));
         when(blogPostMapper.mapRequestToBlogPostData(blogPostRequest)).thenReturn(blogPostData);
         when(blogPostMapper.mapUpdatedBlogPostData(blogPostData, blogPostData)).thenReturn(blogPostData);
         when(blogRepository.save(blogPostData)).thenReturn(blogPostData);
@@ -122,31 +439,126 @@ class BlogServiceTest {
 
         // Then
         assertNotNull(result);
-        verify(blogRepository).findById(blogId);
+        verify(blogRepository).findByTenantIdAndId(DEFAULT_TENANT, blogId);
         verify(blogPostMapper).mapRequestToBlogPostData(blogPostRequest);
         verify(blogPostMapper).mapUpdatedBlogPostData(blogPostData, blogPostData);
         verify(blogRepository).save(blogPostData);
         verify(blogPostMapper).mapBlogPostDataToResponse(blogPostData);
+        verify(postEventPublisher).publish(blogId, PostEventType.UPDATED);
+        verify(postCache).evict(blogId);
+        verify(postStatistics).recordUpdated(null, null, blogPostData);
+    }
+
+    @Test
+    void updateBlogPost_PublishesDuePost() {
+        // Given
+        TenantContext.bind("acme");
+        blogPostData.setId(blogId);
+        blogPostData.setTenantId("acme");
+        blogPostData.setPublished(false);
+        blogPostData.setPublishAt(Instant.now().minusSeconds(60));
+        when(blogRepository.findByTenantIdAndId("acme", blogId)).thenReturn(Optional.of(blogPostData));
+        when(blogPostMapper.mapRequestToBlogPostData(blogPostRequest)).thenReturn(blogPostData);
+        when(blogPostMapper.mapUpdatedBlogPostData(blogPostData, blogPostData)).thenReturn(blogPostData);
+        when(blogRepository.save(blogPostData)).thenReturn(blogPostData);
+        when(blogPostMapper.mapBlogPostDataToResponse(blogPostData)).thenReturn(blogPostResponse);
+
+        // When
+        blogService.updateBlogPost(blogPostRequest, blogId);
+
+        // Then
+        assertTrue(blogPostData.isPublished());
+        verify(postPublicationScheduler).cancel(blogId);
+        verify(postExistenceFilter).recordPublished("acme", blogId);
+        verify(postMetadataIndex).upsert(blogPostData);
+        verify(postStatistics).recordCreated(blogPostData);
     }
 
     @Test
     void updateBlogPost_NotFound() {
         // Given
-        when(blogRepository.findById(blogId)).thenReturn(Optional.empty());
+        when(blogRepository.findByTenantIdAndId(DEFAULT_TENANT, blogId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(BlogPostNotFoundException.class, () -> blogService.updateBlogPost(blogPostRequest, blogId));
-        verify(blogRepository).findById(blogId);
+        verify(blogRepository).findByTenantIdAndId(DEFAULT_TENANT, blogId);
         verify(blogPostMapper, never()).mapUpdatedBlogPostData(any(), any());
         verify(blogRepository, never()).save(any());
+        verify(postEventPublisher, never()).publish(any(), any());
     }
 
     @Test
     void deleteBlogPost_Success() {
+        // Given
+        when(blogRepository.softDeleteById(eq(DEFAULT_TENANT), eq(blogId), any(Instant.class))).thenReturn(1);
+
+        // When
+        blogService.deleteBlogPost(blogId);
+
+        // Then
+        verify(blogRepository, never()).findById(any());
+        verify(blogRepository, never()).deleteById(any());
+        verify(postEventPublisher).publish(blogId, PostEventType.DELETED);
+        verify(postCache).evict(blogId);
+        verify(postMetadataIndex).remove(blogId);
+    }
+
+    @Test
+    void deleteBlogPost_UpdatesStatistics() {
+        // Given
+        PostMetadataIndex.IndexedPost indexedPost =
+                new PostMetadataIndex.IndexedPost(DEFAULT_TENANT, "Category", Set.of("Tag1"));
+        when(blogRepository.softDeleteById(eq(DEFAULT_TENANT), eq(blogId), any(Instant.class))).thenReturn(1);
+        when(postMetadataIndex.remove(blogId)).thenReturn(Optional.of(indexedPost));
+
+        // When
+        blogService.deleteBlogPost(blogId);
+
+        // Then
+        verify(postStatistics).recordDeleted(DEFAULT_TENANT, "Category", Set.of("Tag1"));
+        verifyNoMoreInteractions(blogRepository);
+    }
+
+    @Test
+    void deleteBlogPost_UnpublishedPostIsNotUncounted() {
+        // Given
+        when(blogRepository.softDeleteById(eq(DEFAULT_TENANT), eq(blogId), any(Instant.class))).thenReturn(1);
+        when(postMetadataIndex.remove(blogId)).thenReturn(Optional.empty());
+
         // When
         blogService.deleteBlogPost(blogId);
 
         // Then
-        verify(blogRepository).deleteById(blogId);
+        verifyNoInteractions(postStatistics);
+    }
+
+    @Test
+    void deleteBlogPost_NotFound() {
+        // Given
+        when(blogRepository.softDeleteById(any(), eq(blogId), any(Instant.class))).thenReturn(0);
+
+        // When & Then
+        assertThrows(BlogPostNotFoundException.class, () -> blogService.deleteBlogPost(blogId));
+        verifyNoInteractions(postEventPublisher, postCache, postMetadataIndex, postStatistics);
+    }
+
+    @Test
+    void deleteBlogPost_PostOfAnotherTenant() {
+        // Given
+        TenantContext.bind("acme");
+        when(blogRepository.softDeleteById(eq("acme"), eq(blogId), any(Instant.class))).thenReturn(0);
+
+        // When & Then
+        assertThrows(BlogPostNotFoundException.class, () -> blogService.deleteBlogPost(blogId));
+        verify(blogRepository, never()).softDeleteById(eq(DEFAULT_TENANT), any(), any());
+        verifyNoInteractions(postCache, postMetadataIndex);
+    }
+
+    private static BlogPostData post(final Long id, final String category, final String tags) {
+        BlogPostData post = new BlogPostData();
+        post.setId(id);
+        post.setCategory(category);
+        post.setTags(tags);
+        return post;
     }
 } 
\ No newline at end of file
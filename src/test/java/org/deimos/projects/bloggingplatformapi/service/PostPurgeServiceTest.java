@@ -0,0 +1,81 @@
+package org.deimos.projects.bloggingplatformapi.service;
+
+import org.deimos.projects.bloggingplatformapi.configuration.PostPurgeProperties;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostPurgeServiceTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    private PostPurgeProperties properties;
+    private PostPurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PostPurgeProperties();
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(3);
+        purgeService = new PostPurgeService(blogRepository, properties);
+    }
+
+    @Test
+    void purge_DeletesBatchesUntilNoTombstoneIsLeft() {
+        // Given
+        when(blogRepository.findTombstoneIds(any(Instant.class), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(blogRepository.purgeByIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).size());
+
+        // When
+        int purged = purgeService.purge();
+
+        // Then
+        assertEquals(3, purged);
+        verify(blogRepository).purgeByIdIn(List.of(1L, 2L));
+        verify(blogRepository).purgeByIdIn(List.of(3L));
+        verify(blogRepository, times(2)).findTombstoneIds(any(Instant.class), eq(2));
+    }
+
+    @Test
+    void purge_StopsAfterMaxBatchesPerRun() {
+        // Given
+        when(blogRepository.findTombstoneIds(any(Instant.class), eq(2))).thenReturn(List.of(1L, 2L));
+        when(blogRepository.purgeByIdIn(anyCollection())).thenReturn(2);
+
+        // When
+        int purged = purgeService.purge();
+
+        // Then
+        assertEquals(6, purged);
+        verify(blogRepository, times(3)).purgeByIdIn(anyCollection());
+    }
+
+    @Test
+    void purge_NothingToPurge() {
+        // Given
+        when(blogRepository.findTombstoneIds(any(Instant.class), eq(2))).thenReturn(List.of());
+
+        // When
+        int purged = purgeService.purge();
+
+        // Then
+        assertEquals(0, purged);
+        verify(blogRepository, never()).purgeByIdIn(anyCollection());
+    }
+}
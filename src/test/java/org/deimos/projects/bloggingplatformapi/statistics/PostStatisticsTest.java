@@ -0,0 +1,141 @@
+package org.deimos.projects.bloggingplatformapi.statistics;
+
+import org.deimos.projects.bloggingplatformapi.configuration.PostStatisticsProperties;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostData;
+import org.deimos.projects.bloggingplatformapi.model.BlogPostMetadata;
+import org.deimos.projects.bloggingplatformapi.model.PostStatisticsResponse;
+import org.deimos.projects.bloggingplatformapi.model.mapper.BlogPostMapper;
+import org.deimos.projects.bloggingplatformapi.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostStatisticsTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private BlogPostMapper blogPostMapper;
+
+    private PostStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        PostStatisticsProperties properties = new PostStatisticsProperties();
+        properties.setSnapshotMaxAge(Duration.ZERO);
+        statistics = new PostStatistics(blogRepository, blogPostMapper, properties);
+
+        // Tags are comma-separated in these tests
+        when(blogPostMapper.mapJSONStringToSet(anyString()))
+                .thenAnswer(invocation -> Set.of(invocation.<String>getArgument(0).split(",")));
+    }
+
+    @Test
+    void getStatistics_CountsCreatedPosts() {
+        // Given
+        statistics.recordCreated(post("Java", "spring,jpa"));
+        statistics.recordCreated(post("Java", "spring"));
+        statistics.recordCreated(post("Go", "grpc"));
+
+        // When
+        PostStatisticsResponse result = statistics.getStatistics(DEFAULT_TENANT, 2);
+
+        // Then
+        assertEquals(3, result.getTotalPosts());
+        assertEquals(List.of(Map.entry("Java", 2L), Map.entry("Go", 1L)),
+                List.copyOf(result.getPostsPerCategory().entrySet()));
+        assertEquals(List.of(Map.entry("spring", 2L), Map.entry("grpc", 1L)),
+                List.copyOf(result.getTopTags().entrySet()));
+    }
+
+    @Test
+    void getStatistics_IsolatedPerTenant() {
+        // Given
+        statistics.recordCreated(post("Java", "spring"));
+        BlogPostData otherTenantPost = post("Go", "grpc");
+        otherTenantPost.setTenantId("acme");
+        statistics.recordCreated(otherTenantPost);
+
+        // When
+        PostStatisticsResponse result = statistics.getStatistics(DEFAULT_TENANT, 10);
+        PostStatisticsResponse otherTenantResult = statistics.getStatistics("acme", 10);
+
+        // Then
+        assertEquals(Map.of("Java", 1L), result.getPostsPerCategory());
+        assertEquals(Map.of("Go", 1L), otherTenantResult.getPostsPerCategory());
+        assertEquals(0, statistics.getStatistics("unknown", 10).getTotalPosts());
+    }
+
+    @Test
+    void recordUpdated_MovesPostBetweenCategoriesAndTags() {
+        // Given
+        statistics.recordCreated(post("Java", "spring,jpa"));
+
+        // When
+        statistics.recordUpdated("Java", "spring,jpa", post("Kotlin", "spring,coroutines"));
+
+        // Then
+        PostStatisticsResponse result = statistics.getStatistics(DEFAULT_TENANT, 10);
+        assertEquals(1, result.getTotalPosts());
+        assertEquals(Map.of("Kotlin", 1L), result.getPostsPerCategory());
+        assertEquals(Map.of("spring", 1L, "coroutines", 1L), result.getTopTags());
+    }
+
+    @Test
+    void recordDeleted_UncountsPost() {
+        // Given
+        statistics.recordCreated(post("Java", "spring"));
+        statistics.recordCreated(post("Java", "jpa"));
+
+        // When
+        statistics.recordDeleted(DEFAULT_TENANT, "Java", Set.of("spring"));
+
+        // Then
+        PostStatisticsResponse result = statistics.getStatistics(DEFAULT_TENANT, 10);
+        assertEquals(1, result.getTotalPosts());
+        assertEquals(Map.of("Java", 1L), result.getPostsPerCategory());
+        assertEquals(Map.of("jpa", 1L), result.getTopTags());
+    }
+
+    @Test
+    void reconcile_ReplacesDriftedCounters() {
+        // Given
+        statistics.recordCreated(post("Stale", "stale"));
+        when(blogRepository.findMetadataAfter(anyLong(), any(Pageable.class))).thenReturn(List.of(
+                new BlogPostMetadata(1L, DEFAULT_TENANT, "Java", "spring", null, null),
+                new BlogPostMetadata(2L, DEFAULT_TENANT, "Go", "grpc,spring", null, null)));
+
+        // When
+        statistics.reconcile();
+
+        // Then
+        PostStatisticsResponse result = statistics.getStatistics(DEFAULT_TENANT, 10);
+        assertEquals(2, result.getTotalPosts());
+        assertEquals(Map.of("Java", 1L, "Go", 1L), result.getPostsPerCategory());
+        assertEquals(Map.of("spring", 2L, "grpc", 1L), result.getTopTags());
+    }
+
+    private BlogPostData post(final String category, final String tags) {
+        BlogPostData post = new BlogPostData();
+        post.setCategory(category);
+        post.setTags(tags);
+        return post;
+    }
+}
@@ -0,0 +1,154 @@
+package org.deimos.projects.bloggingplatformapi.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.deimos.projects.bloggingplatformapi.configuration.TenancyProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.DEFAULT_TENANT;
+import static org.deimos.projects.bloggingplatformapi.utils.Constants.TENANT_ID_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantFilterTest {
+
+    private TenancyProperties properties;
+    private TenantFilter filter;
+    private List<String> servedTenants;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenancyProperties();
+        properties.setTrustTenantHeader(true);
+        filter = new TenantFilter(new TenantQuotas(properties), properties, new ObjectMapper());
+        servedTenants = new ArrayList<>();
+        chain = (request, response) -> servedTenants.add(TenantContext.currentTenant());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_BindsTenantOfHeader() throws Exception {
+        // When
+        MockHttpServletResponse response = serve(request("acme"));
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(List.of("acme"), servedTenants);
+        assertEquals(DEFAULT_TENANT, TenantContext.currentTenant(), "The tenant must be unbound after the request");
+    }
+
+    @Test
+    void doFilter_DefaultTenantWithoutHeader() throws Exception {
+        // When
+        serve(request(null));
+
+        // Then
+        assertEquals(List.of(DEFAULT_TENANT), servedTenants);
+    }
+
+    @Test
+    void doFilter_RejectsInvalidTenant() throws Exception {
+        // When
+        MockHttpServletResponse response = serve(request("../Acme"));
+
+        // Then
+        assertEquals(400, response.getStatus());
+        assertTrue(servedTenants.isEmpty());
+    }
+
+    @Test
+    void doFilter_PrincipalTenantTakesPrecedence() throws Exception {
+        // Given
+        authenticate("TENANT_acme");
+
+        // When
+        serve(request(null));
+        MockHttpServletResponse mismatch = serve(request("globex"));
+
+        // Then
+        assertEquals(List.of("acme"), servedTenants);
+        assertEquals(403, mismatch.getStatus());
+    }
+
+    @Test
+    void doFilter_RejectsHeaderUnlessTrusted() throws Exception {
+        // Given
+        properties.setTrustTenantHeader(false);
+
+        // When
+        MockHttpServletResponse rejected = serve(request("acme"));
+        MockHttpServletResponse withoutHeader = serve(request(null));
+
+        // Then
+        assertEquals(403, rejected.getStatus());
+        assertEquals(200, withoutHeader.getStatus());
+        assertEquals(List.of(DEFAULT_TENANT), servedTenants);
+    }
+
+    @Test
+    void doFilter_RejectsHeaderOfPrincipalWithoutTenant() throws Exception {
+        // Given
+        authenticate("ROLE_USER");
+
+        // When
+        MockHttpServletResponse rejected = serve(request("acme"));
+        MockHttpServletResponse withoutHeader = serve(request(null));
+
+        // Then
+        assertEquals(403, rejected.getStatus());
+        assertEquals(200, withoutHeader.getStatus());
+        assertEquals(List.of(DEFAULT_TENANT), servedTenants);
+    }
+
+    @Test
+    void doFilter_ThrottlesHeavyTenantOnly() throws Exception {
+        // Given
+        properties.getDefaults().setRequestsPerSecond(1);
+        properties.getDefaults().setBurst(2);
+        serve(request("heavy"));
+        serve(request("heavy"));
+
+        // When
+        MockHttpServletResponse throttled = serve(request("heavy"));
+        MockHttpServletResponse other = serve(request("light"));
+
+        // Then
+        assertEquals(429, throttled.getStatus());
+        assertEquals("1", throttled.getHeader("Retry-After"));
+        assertEquals(200, other.getStatus());
+        assertEquals(List.of("heavy", "heavy", "light"), servedTenants);
+    }
+
+    private MockHttpServletResponse serve(final MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletRequest request(final String tenantId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts");
+        if (tenantId != null) {
+            request.addHeader(TENANT_ID_HEADER, tenantId);
+        }
+        return request;
+    }
+
+    private void authenticate(final String... authorities) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, AuthorityUtils.createAuthorityList(authorities)));
+    }
+}
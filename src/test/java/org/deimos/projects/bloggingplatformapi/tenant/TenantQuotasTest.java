@@ -0,0 +1,162 @@
+package org.deimos.projects.bloggingplatformapi.tenant;
+
+import org.deimos.projects.bloggingplatformapi.configuration.TenancyProperties;
+import org.deimos.projects.bloggingplatformapi.exceptions.TenantQuotaExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantQuotasTest {
+
+    private TenancyProperties properties;
+    private TenantQuotas quotas;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenancyProperties();
+        quotas = new TenantQuotas(properties);
+    }
+
+    @Test
+    void admit_RateLimitedPerTenant() {
+        // Given
+        properties.getDefaults().setRequestsPerSecond(1);
+        properties.getDefaults().setBurst(3);
+        for (int i = 0; i < 3; i++) {
+            quotas.admit("heavy").close();
+        }
+
+        // When & Then
+        assertThrows(TenantQuotaExceededException.class, () -> quotas.admit("heavy"));
+        assertDoesNotThrow(() -> quotas.admit("light").close(), "Other tenants keep their own budget");
+    }
+
+    @Test
+    void admit_ConcurrencyLimitedPerTenant() {
+        // Given
+        properties.getDefaults().setMaxConcurrentRequests(2);
+        TenantQuotas.Admission first = quotas.admit("heavy");
+        quotas.admit("heavy");
+
+        // When & Then
+        assertThrows(TenantQuotaExceededException.class, () -> quotas.admit("heavy"));
+        assertDoesNotThrow(() -> quotas.admit("light").close());
+        first.close();
+        assertDoesNotThrow(() -> quotas.admit("heavy").close(), "Completed requests free their slot");
+    }
+
+    @Test
+    void admit_UsesTenantOverride() {
+        // Given
+        properties.getDefaults().setMaxConcurrentRequests(1);
+        TenancyProperties.Quota premium = new TenancyProperties.Quota();
+        premium.setMaxConcurrentRequests(2);
+        properties.getTenants().put("premium", premium);
+        quotas.admit("premium");
+
+        // When & Then
+        assertDoesNotThrow(() -> quotas.admit("premium"));
+        assertThrows(TenantQuotaExceededException.class, () -> quotas.admit("premium"));
+    }
+
+    @Test
+    void reserveStorage_RejectsPostsOverQuota() {
+        // Given
+        properties.getDefaults().setMaxPosts(3);
+        AtomicInteger counts = new AtomicInteger();
+        LongSupplier storedPosts = () -> {
+            counts.incrementAndGet();
+            return 1;
+        };
+        quotas.reserveStorage("acme", storedPosts);
+        TenantQuotas.StorageReservation last = quotas.reserveStorage("acme", storedPosts);
+
+        // When & Then
+        assertThrows(TenantQuotaExceededException.class, () -> quotas.reserveStorage("acme", storedPosts));
+        last.cancel();
+        assertDoesNotThrow(() -> quotas.reserveStorage("acme", storedPosts), "Cancelled reservations free their slot");
+        quotas.releaseStorage("acme");
+        assertDoesNotThrow(() -> quotas.reserveStorage("acme", storedPosts), "Deleted posts free their slot");
+        assertEquals(1, counts.get(), "Posts are only counted on the first reservation");
+    }
+
+    @Test
+    void reserveStorage_ConcurrentReservationsStayWithinQuota() throws Exception {
+        // Given
+        properties.getDefaults().setMaxPosts(100);
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 50; j++) {
+                        quotas.reserveStorage("acme", () -> 0);
+                        reserved.incrementAndGet();
+                    }
+                } catch (TenantQuotaExceededException | InterruptedException e) {
+                    // Over quota
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(100, reserved.get());
+    }
+
+    @Test
+    void recountStorage_CountsPostsAgain() {
+        // Given
+        properties.getDefaults().setMaxPosts(10);
+        quotas.reserveStorage("acme", () -> 9);
+
+        // When
+        quotas.recountStorage();
+
+        // Then
+        assertDoesNotThrow(() -> quotas.reserveStorage("acme", () -> 5), "Posts deleted elsewhere are picked up");
+        quotas.recountStorage();
+        assertThrows(TenantQuotaExceededException.class, () -> quotas.reserveStorage("acme", () -> 10));
+    }
+
+    @Test
+    void reserveStorage_UnlimitedTenantIsNotCounted() {
+        // When
+        quotas.reserveStorage("acme", () -> {
+            throw new AssertionError("Posts must not be counted without a quota");
+        }).cancel();
+
+        // Then
+        assertDoesNotThrow(() -> quotas.releaseStorage("acme"));
+    }
+
+    @Test
+    void evictIdle_KeepsTenantsWithRequestsInFlight() {
+        // Given
+        properties.getDefaults().setMaxConcurrentRequests(1);
+        quotas.admit("busy");
+        quotas.admit("idle").close();
+
+        // When
+        quotas.evictIdle();
+
+        // Then
+        assertEquals(1, quotas.trackedTenants());
+        assertThrows(TenantQuotaExceededException.class, () -> quotas.admit("busy"));
+    }
+}